@@ -1,13 +1,31 @@
 package me.prism3.suicide;
 
 import com.jeff_media.updatechecker.UpdateChecker;
+import me.prism3.suicide.broadcast.BroadcastAggregator;
+import me.prism3.suicide.broadcast.Broadcaster;
+import me.prism3.suicide.cooldown.CooldownManager;
+import me.prism3.suicide.effects.FireworkLimiter;
+import me.prism3.suicide.effects.ProtectedFireworks;
+import me.prism3.suicide.heatmap.Heatmap;
+import me.prism3.suicide.monitoring.MetricsMBean;
+import me.prism3.suicide.monitoring.PluginMetrics;
+import me.prism3.suicide.monitoring.PrometheusEndpoint;
+import me.prism3.suicide.scheduler.TaskScheduler;
+import me.prism3.suicide.session.CountdownManager;
+import me.prism3.suicide.session.SessionManager;
+import me.prism3.suicide.session.SuicideRegistry;
+import me.prism3.suicide.stats.StatsManager;
+import me.prism3.suicide.utils.ConfigSource;
 import me.prism3.suicide.utils.Data;
 import me.prism3.suicide.utils.Metrics;
+import me.prism3.suicide.utils.MetricsSpool;
+import me.prism3.suicide.utils.PluginLifecycle;
+import me.prism3.suicide.utils.Settings;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import java.util.Set;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
 
 
 /**
@@ -17,24 +35,100 @@ import java.util.concurrent.ConcurrentHashMap;
  * @author Prism3
  * @since 1.0
  */
-public class Suicide extends JavaPlugin {
+public class Suicide extends JavaPlugin implements ConfigSource {
 
     /**
-     * Thread-safe collection tracking players who recently used the suicide command
+     * Scheduler matching the server's threading model, Folia or single threaded
      */
-    private Set<UUID> players;
+    private final TaskScheduler scheduler = TaskScheduler.create(this);
+
+    /**
+     * Sends broadcasts to their configured audience
+     */
+    private final Broadcaster broadcaster = new Broadcaster(this);
+
+    /**
+     * Collects broadcasts when many players suicide at once
+     */
+    private final BroadcastAggregator broadcasts = new BroadcastAggregator(this);
+
+    /**
+     * Operational counters and latency histograms
+     */
+    private final PluginMetrics metrics = new PluginMetrics();
+
+    /**
+     * JMX view of the metrics, null when disabled
+     */
+    private MetricsMBean metricsBean;
+
+    /**
+     * Prometheus endpoint, null when disabled
+     */
+    private PrometheusEndpoint prometheus;
+
+    /**
+     * Suicides already reported to bStats, only touched by the submit task
+     */
+    private long reportedSuicides;
+
+    /**
+     * Per-world suicide location heatmap
+     */
+    private final Heatmap heatmap = new Heatmap(this);
+
+    /**
+     * Registry tracking players who recently used the suicide command
+     */
+    private final SuicideRegistry suicides = new SuicideRegistry();
 
     /**
      * Central configuration manager instance
      */
     private Data data;
 
+    /**
+     * Listener and command registration manager
+     */
+    private PluginLifecycle lifecycle;
+
+    /**
+     * Command cooldown tracker
+     */
+    private CooldownManager cooldowns;
+
+    /**
+     * Suicide statistics with write-behind persistence
+     */
+    private StatsManager stats;
+
+    /**
+     * Per-chunk firework spawn budget
+     */
+    private final FireworkLimiter fireworkLimiter = new FireworkLimiter();
+
+    /**
+     * Entity ids of harmless fireworks spawned by the plugin
+     */
+    private final ProtectedFireworks protectedFireworks = new ProtectedFireworks();
+
+    /**
+     * Cached per-player permission and world state
+     */
+    private final SessionManager sessions = new SessionManager();
+
+    /**
+     * Pending confirmation countdowns and their shared ticker
+     */
+    private final CountdownManager countdowns = new CountdownManager(this);
+
     /**
      * Handles plugin initialization and startup procedures
      */
     @Override
     public void onEnable() {
         this.initializeCoreComponents();
+        this.setupMonitoring();
         this.setupMetrics();
         this.pluginUpdateChecker();
 
@@ -45,7 +139,16 @@ public class Suicide extends JavaPlugin {
      * Handles plugin shutdown and cleanup operations
      */
     @Override
-    public void onDisable() { this.getLogger().info("Plugin Disabled!"); }
+    public void onDisable() {
+        this.stopMonitoring();
+        if (this.lifecycle != null) this.lifecycle.disable();
+        if (this.cooldowns != null) this.cooldowns.stop();
+        if (this.stats != null) this.stats.stop();
+        this.countdowns.stop();
+        this.scheduler.cancelAll();
+
+        this.getLogger().info("Plugin Disabled!");
+    }
 
     // endregion
 
@@ -55,15 +158,12 @@ public class Suicide extends JavaPlugin {
      * Initializes core plugin components
      */
     private void initializeCoreComponents() {
-        this.initializePlayerTracking();
         this.setupConfiguration();
+        this.setupCooldowns();
+        this.setupStats();
+        this.setupLifecycle();
     }
 
-    /**
-     * Creates thread-safe collection for player tracking
-     */
-    private void initializePlayerTracking() { this.players = ConcurrentHashMap.newKeySet(); }
-
     /**
      * Loads configuration files and data manager
      */
@@ -73,14 +173,172 @@ public class Suicide extends JavaPlugin {
     }
 
     /**
-     * Sets up bStats metrics integration
+     * Creates the cooldown tracker and starts its sweeper
+     */
+    private void setupCooldowns() {
+        this.cooldowns = new CooldownManager(this);
+        this.cooldowns.start();
+    }
+
+    /**
+     * Loads the suicide statistics and starts their write-behind task
+     */
+    private void setupStats() {
+        this.stats = new StatsManager(this);
+        this.stats.start();
+    }
+
+    /**
+     * Registers listeners and the command executor once
+     */
+    private void setupLifecycle() {
+        this.lifecycle = new PluginLifecycle(this);
+        this.lifecycle.enable();
+    }
+
+    /**
+     * Registers the metric gauges and starts the configured exporters
+     */
+    private void setupMonitoring() {
+        this.metrics.gauge("cooldown_entries", "Cooldowns in memory", () -> this.cooldowns.size());
+        this.metrics.gauge("cooldown_log_dropped", "Cooldowns the log had no room for",
+                () -> this.cooldowns.getLogDropped());
+        this.metrics.gauge("sessions", "Open player sessions", () -> this.sessions.size());
+        this.metrics.gauge("chunk_index_buckets", "Occupied chunks in the player index",
+                () -> this.sessions.getIndex().size());
+        this.metrics.gauge("tracked_suicides", "Suicides awaiting their death event", () -> this.suicides.size());
+        this.metrics.gauge("tracked_expired", "Tracked suicides that expired without a death",
+                this.suicides::getExpired);
+        this.metrics.gauge("fireworks_spawned", "Fireworks spawned", this.fireworkLimiter::getSpawned);
+        this.metrics.gauge("fireworks_dropped_chunk", "Fireworks dropped by the per-chunk budget",
+                this.fireworkLimiter::getChunkDropped);
+        this.metrics.gauge("fireworks_suppressed", "Fireworks dropped by the per-tick budget",
+                this.fireworkLimiter::getSuppressed);
+        this.metrics.gauge("protected_fireworks", "Fireworks whose damage is cancelled",
+                () -> this.protectedFireworks.size());
+        this.metrics.gauge("stats_players", "Players with suicide stats", () -> this.stats.size());
+        this.metrics.gauge("stats_pending", "Players waiting for the stats write-behind",
+                () -> this.stats.getPendingCount());
+        this.metrics.gauge("heatmap_cells", "Chunks in the suicide heatmap", () -> this.heatmap.size());
+        this.metrics.gauge("countdowns_pending", "Confirmation countdowns in progress", () -> this.countdowns.size());
+
+        final Settings.MonitoringSettings settings = this.data.getSettings().monitoring();
+
+        if (settings.jmx()) {
+            try {
+                final MetricsMBean bean = new MetricsMBean(this.metrics);
+                bean.register();
+                this.metricsBean = bean;
+            } catch (final Exception e) {
+                this.getLogger().warning("Could not register the metrics MBean: " + e.getMessage());
+            }
+        }
+
+        if (settings.prometheus()) {
+            try {
+                final PrometheusEndpoint endpoint = new PrometheusEndpoint(this.metrics);
+                endpoint.start(settings.prometheusPort());
+                this.prometheus = endpoint;
+                this.getLogger().info("Serving metrics on http://127.0.0.1:" + settings.prometheusPort() + "/metrics");
+            } catch (final Exception e) {
+                this.getLogger().warning("Could not start the Prometheus endpoint: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Stops the metric exporters
      */
-    private void setupMetrics() { new Metrics(this, 11664); }
+    private void stopMonitoring() {
+        if (this.metricsBean != null) this.metricsBean.unregister();
+        if (this.prometheus != null) this.prometheus.stop();
+
+        this.metricsBean = null;
+        this.prometheus = null;
+    }
 
     /**
-     * Configures automatic update checking
+     * Reloads the config from disk and rebinds all components to it
+     */
+    public void reload() {
+        final long start = System.nanoTime();
+
+        this.reloadConfig();
+        this.data.load();
+        this.sessions.invalidateAll();
+        this.lifecycle.reload();
+        this.metrics.time(PluginMetrics.Stage.RELOAD, start);
+
+        this.getLogger().info("Config reloaded, " + this.lifecycle.getHandlerCount() + " event handlers registered");
+    }
+
+    /**
+     * Sets up bStats metrics integration, its spool and the plugin's custom charts
+     */
+    private void setupMetrics() {
+        final Settings.TelemetrySettings telemetry = this.data.getSettings().telemetry();
+        final MetricsSpool spool = telemetry.spool()
+                ? new MetricsSpool(new File(this.getDataFolder(), "telemetry-spool"),
+                        telemetry.maxBytes(), telemetry.maxAgeMillis())
+                : null;
+        final Metrics bStats = new Metrics(this, 11664, spool);
+
+        bStats.addCustomChart(new Metrics.SingleLineChart("suicides", this::suicidesSinceLastReport));
+        bStats.addCustomChart(new Metrics.AdvancedPie("features", this::enabledFeatures));
+        bStats.addCustomChart(new Metrics.SimplePie("broadcast_scope",
+                () -> this.data.getSettings().messages().scope().mode().name()));
+    }
+
+    /**
+     * Counts the suicides since the last bStats submission
+     *
+     * @return Suicides in the interval
+     */
+    private int suicidesSinceLastReport() {
+        final long total = this.metrics.getSuicides();
+        final long interval = total - this.reportedSuicides;
+
+        this.reportedSuicides = total;
+        return (int) Math.min(Integer.MAX_VALUE, interval);
+    }
+
+    /**
+     * Lists the features turned on in the current settings
+     *
+     * @return A count of 1 per enabled feature
+     */
+    private Map<String, Integer> enabledFeatures() {
+        final Settings settings = this.data.getSettings();
+        final Settings.EffectSettings effects = settings.effects().getBase();
+        final Map<String, Integer> features = new HashMap<>();
+
+        if (effects.broadcast()) features.put("Broadcast", 1);
+        if (effects.message()) features.put("Message", 1);
+        if (effects.coords()) features.put("Coords", 1);
+        if (effects.firework().enabled()) features.put("Firework", 1);
+        if (effects.sound().enabled()) features.put("Sound", 1);
+        if (settings.effects().size() > 0) features.put("Profiles", 1);
+        if (settings.cooldown().enabled()) features.put("Cooldown", 1);
+        if (settings.cooldown().sync().enabled()) features.put("Cooldown Sync", 1);
+        if (settings.messages().aggregation().enabled()) features.put("Aggregation", 1);
+        if (settings.monitoring().jmx()) features.put("JMX", 1);
+        if (settings.monitoring().prometheus()) features.put("Prometheus", 1);
+
+        return features;
+    }
+
+    /**
+     * Configures automatic update checking.
+     * Skipped on Folia, the update checker library schedules its checks and
+     * join notifications through the Bukkit scheduler, which Folia rejects.
      */
     private void pluginUpdateChecker() {
+
+        if (TaskScheduler.isFolia()) {
+            this.getLogger().info("Update checks are not available on Folia");
+            return;
+        }
+
         UpdateChecker.init(this, this.data.getResourceID())
                 .checkEveryXHours(4)
                 .setChangelogLink(this.data.getResourceID())
@@ -96,11 +354,53 @@ public class Suicide extends JavaPlugin {
     public static Suicide getInstance() { return JavaPlugin.getPlugin(Suicide.class); }
 
     /**
-     * Retrieves the collection of tracked players
+     * Retrieves the scheduler used for all plugin tasks
+     *
+     * @return Scheduler matching the server's threading model
+     */
+    public TaskScheduler getTaskScheduler() { return this.scheduler; }
+
+    /**
+     * Retrieves the broadcaster sending messages to their audience
+     *
+     * @return The broadcaster
+     */
+    public Broadcaster getBroadcaster() { return this.broadcaster; }
+
+    /**
+     * Retrieves the aggregator collecting mass suicide broadcasts
+     *
+     * @return The broadcast aggregator
+     */
+    public BroadcastAggregator getBroadcasts() { return this.broadcasts; }
+
+    /**
+     * Retrieves the suicide statistics
      *
-     * @return Set of player UUIDs being tracked
+     * @return The statistics manager
      */
-    public Set<UUID> getPlayers() { return this.players; }
+    public StatsManager getStats() { return this.stats; }
+
+    /**
+     * Retrieves the operational metrics
+     *
+     * @return The plugin metrics
+     */
+    public PluginMetrics getPluginMetrics() { return this.metrics; }
+
+    /**
+     * Retrieves the suicide location heatmap
+     *
+     * @return The heatmap
+     */
+    public Heatmap getHeatmap() { return this.heatmap; }
+
+    /**
+     * Retrieves the registry of tracked suicides
+     *
+     * @return Registry of players awaiting their suicide death
+     */
+    public SuicideRegistry getSuicides() { return this.suicides; }
 
     /**
      * Provides access to configuration data
@@ -108,4 +408,46 @@ public class Suicide extends JavaPlugin {
      * @return Initialized Data manager instance
      */
     public Data getData() { return this.data; }
+
+    /**
+     * Provides access to the component lifecycle manager
+     *
+     * @return Active lifecycle manager instance
+     */
+    public PluginLifecycle getLifecycle() { return this.lifecycle; }
+
+    /**
+     * Provides access to the cooldown tracker
+     *
+     * @return Active cooldown manager instance
+     */
+    public CooldownManager getCooldowns() { return this.cooldowns; }
+
+    /**
+     * Provides access to the firework spawn limiter
+     *
+     * @return Firework limiter instance
+     */
+    public FireworkLimiter getFireworkLimiter() { return this.fireworkLimiter; }
+
+    /**
+     * Provides access to the protected firework tracker
+     *
+     * @return Protected firework tracker instance
+     */
+    public ProtectedFireworks getProtectedFireworks() { return this.protectedFireworks; }
+
+    /**
+     * Provides access to the player session cache
+     *
+     * @return Session manager instance
+     */
+    public SessionManager getSessions() { return this.sessions; }
+
+    /**
+     * Provides access to the confirmation countdowns
+     *
+     * @return Countdown manager instance
+     */
+    public CountdownManager getCountdowns() { return this.countdowns; }
 }
@@ -0,0 +1,155 @@
+package me.prism3.suicide.broadcast;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.utils.ComponentTemplate;
+import me.prism3.suicide.utils.Settings;
+import me.prism3.suicide.utils.Settings.AggregationSettings;
+import org.bukkit.Bukkit;
+
+import java.util.Arrays;
+
+
+/**
+ * Collects suicide broadcasts that happen close together.
+ * The first broadcasts of a window go out as usual; past the threshold the
+ * names are held and announced in a single line once the window ends, so a
+ * mass suicide sends one chat packet per player instead of one per death.
+ * Offering a broadcast below the threshold only bumps a counter. Only server
+ * wide broadcasts are aggregated, scoped ones have an audience per death.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class BroadcastAggregator {
+
+    /**
+     * Main plugin instance reference
+     */
+    private final Suicide plugin;
+
+    /**
+     * Tick the current window started at
+     */
+    private long windowStart = Long.MIN_VALUE;
+
+    /**
+     * Broadcasts offered in the current window
+     */
+    private int offered;
+
+    /**
+     * Names held for the next aggregated line, only the first {@link #held} slots are used
+     */
+    private String[] names = new String[0];
+
+    /**
+     * Broadcasts held for the next aggregated line, may exceed the names kept
+     */
+    private int held;
+
+    /**
+     * Whether a flush is already scheduled for the held broadcasts
+     */
+    private boolean flushScheduled;
+
+    /**
+     * Initializes a new broadcast aggregator
+     *
+     * @param plugin Main plugin instance
+     */
+    public BroadcastAggregator(final Suicide plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Offers a suicide broadcast
+     *
+     * @param player   The name of the player who died
+     * @param settings The aggregation settings in use
+     * @return true if the caller should broadcast it now, false if it was held
+     */
+    public boolean offer(final String player, final AggregationSettings settings) {
+
+        if (!settings.enabled())
+            return true;
+
+        final long tick = Bukkit.getCurrentTick();
+        final long delay;
+
+        synchronized (this) {
+            if (tick - this.windowStart >= settings.windowTicks()) {
+                this.windowStart = tick;
+                this.offered = 0;
+            }
+
+            if (++this.offered <= settings.threshold())
+                return true;
+
+            if (this.names.length < settings.maxNames())
+                this.names = Arrays.copyOf(this.names, settings.maxNames());
+
+            if (this.held < settings.maxNames())
+                this.names[this.held] = player;
+
+            this.held++;
+
+            if (this.flushScheduled)
+                return false;
+
+            this.flushScheduled = true;
+            delay = this.windowStart + settings.windowTicks() - tick;
+        }
+
+        this.plugin.getTaskScheduler().runGlobalLater(this::flush, delay);
+        return false;
+    }
+
+    /**
+     * Announces every held broadcast in a single line
+     */
+    private void flush() {
+        final Settings.MessageSettings messages = this.plugin.getData().getSettings().messages();
+        final AggregationSettings settings = messages.aggregation();
+        final String players;
+        final int count;
+
+        synchronized (this) {
+            count = this.held;
+            players = settings.mode() == AggregationSettings.Mode.LIST ? this.joinNames(settings.maxNames()) : "";
+            Arrays.fill(this.names, 0, Math.min(this.held, this.names.length), null);
+            this.held = 0;
+            this.flushScheduled = false;
+        }
+
+        if (count == 0)
+            return;
+
+        final boolean list = settings.mode() == AggregationSettings.Mode.LIST;
+
+        if (messages.broadcastFormat() == ComponentTemplate.Format.LEGACY) {
+            this.plugin.getBroadcaster().send(null, messages.scope(),
+                    (list ? settings.list() : settings.summary()).renderGroup(players, count));
+        } else {
+            this.plugin.getBroadcaster().send(null, messages.scope(),
+                    (list ? settings.listComponent() : settings.summaryComponent()).renderGroup(players, count));
+        }
+    }
+
+    /**
+     * Joins the held names, appending how many were left out
+     */
+    private String joinNames(final int maxNames) {
+        final int listed = Math.min(Math.min(this.held, maxNames), this.names.length);
+        final StringBuilder builder = new StringBuilder(listed * 18);
+
+        for (int i = 0; i < listed; i++) {
+            if (i > 0) builder.append(", ");
+            builder.append(this.names[i]);
+        }
+
+        if (this.held > listed)
+            builder.append(" +").append(this.held - listed);
+
+        return builder.toString();
+    }
+}
@@ -0,0 +1,119 @@
+package me.prism3.suicide.broadcast;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.utils.Settings.ScopeSettings;
+import me.prism3.suicide.utils.WorldIndex;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/**
+ * Sends suicide broadcasts to their configured audience.
+ * Server wide broadcasts go through the server, world broadcasts through the
+ * world's own player list and radius broadcasts through the
+ * {@link me.prism3.suicide.session.ChunkPlayerIndex}, so the fan-out cost
+ * follows the size of the audience rather than the server.
+ *
+ * <p>Radius broadcasts reach every player indexed in a chunk that lies
+ * within the radius. They never read the recipients' locations, which on
+ * Folia belong to other region threads.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class Broadcaster {
+
+    /**
+     * Main plugin instance reference
+     */
+    private final Suicide plugin;
+
+    /**
+     * Initializes a new broadcaster
+     *
+     * @param plugin Main plugin instance
+     */
+    public Broadcaster(final Suicide plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Sends a legacy message to the audience of a death
+     *
+     * @param origin  Where the death happened, may be null for server wide broadcasts
+     * @param scope   The audience settings in use
+     * @param message The rendered message
+     */
+    public void send(final Location origin, final ScopeSettings scope, final String message) {
+
+        if (scope.mode() == ScopeSettings.Mode.SERVER || origin == null) {
+            if (scope.hasPermission()) {
+                Bukkit.broadcast(message, scope.permission());
+            } else {
+                Bukkit.broadcastMessage(message);
+            }
+            return;
+        }
+
+        Bukkit.getConsoleSender().sendMessage(message);
+        this.forEachRecipient(origin, scope, player -> player.sendMessage(message));
+    }
+
+    /**
+     * Sends a component to the audience of a death
+     *
+     * @param origin  Where the death happened, may be null for server wide broadcasts
+     * @param scope   The audience settings in use
+     * @param message The rendered component
+     */
+    public void send(final Location origin, final ScopeSettings scope, final Component message) {
+
+        if (scope.mode() == ScopeSettings.Mode.SERVER || origin == null) {
+            if (scope.hasPermission()) {
+                Bukkit.broadcast(message, scope.permission());
+            } else {
+                Bukkit.getServer().sendMessage(message);
+            }
+            return;
+        }
+
+        Bukkit.getConsoleSender().sendMessage(message);
+        this.forEachRecipient(origin, scope, player -> player.sendMessage(message));
+    }
+
+    /**
+     * Visits every player in a world or radius scope
+     */
+    private void forEachRecipient(final Location origin, final ScopeSettings scope, final Consumer<Player> action) {
+        final World world = origin.getWorld();
+
+        if (world == null)
+            return;
+
+        if (scope.mode() == ScopeSettings.Mode.WORLD) {
+            for (final Player player : world.getPlayers()) {
+                if (!scope.hasPermission() || player.hasPermission(scope.permission()))
+                    action.accept(player);
+            }
+            return;
+        }
+
+        final List<Player> nearby = new ArrayList<>();
+
+        // Chunk accurate from the indexed positions, the players may be owned by other regions
+        this.plugin.getSessions().getIndex().collectNear(WorldIndex.of(world.getName()),
+                origin.getBlockX(), origin.getBlockZ(), scope.radius(), nearby);
+
+        for (final Player player : nearby) {
+            if (!scope.hasPermission() || player.hasPermission(scope.permission()))
+                action.accept(player);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package me.prism3.suicide.commands;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.heatmap.Heatmap;
+import me.prism3.suicide.utils.Settings;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.util.Locale;
+
+
+/**
+ * Handles the {@code heatmap} subcommand.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class HeatmapCommand {
+
+    /**
+     * Reference to the main plugin instance
+     */
+    private final Suicide plugin;
+
+    /**
+     * Initializes a new heatmap subcommand handler
+     *
+     * @param plugin Main plugin instance
+     */
+    public HeatmapCommand(final Suicide plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Exports the heatmap of the named world, or the sender's world
+     *
+     * @param sender   The command sender
+     * @param args     Command arguments, {@code heatmap [world] [csv|png]}
+     * @param settings The settings snapshot in use
+     */
+    public void handleHeatmap(final CommandSender sender, final String[] args, final Settings settings) {
+
+        if (!sender.hasPermission(Settings.HEATMAP_PERMISSION)) {
+            sender.sendMessage(settings.messages().noPermission().render());
+            return;
+        }
+
+        final Heatmap.Format format = args.length == 3 ? this.parseFormat(args[2]) : Heatmap.Format.CSV;
+
+        if (format == null || (args.length == 1 && !(sender instanceof Player))) {
+            sender.sendMessage(settings.messages().invalidSyntax().render());
+            return;
+        }
+
+        final String world = args.length >= 2 ? args[1] : ((Player) sender).getWorld().getName();
+        final Settings.HeatmapMessages messages = settings.messages().heatmap();
+
+        // Only known worlds, the name ends up in the export file name
+        if (Bukkit.getWorld(world) == null) {
+            sender.sendMessage(messages.empty().renderWorld(world));
+            return;
+        }
+
+        final boolean started = this.plugin.getHeatmap().export(world, format, file -> this.reply(sender, file == null
+                ? messages.failed().render()
+                : messages.exported().renderFile(file.getPath())));
+
+        sender.sendMessage(started ? messages.exporting().renderWorld(world) : messages.empty().renderWorld(world));
+    }
+
+    /**
+     * Sends a message from the export thread on the thread owning the sender
+     *
+     * @param sender  The command sender
+     * @param message The message to send
+     */
+    private void reply(final CommandSender sender, final String message) {
+
+        if (sender instanceof Player player) {
+            this.plugin.getTaskScheduler().runFor(player, () -> player.sendMessage(message));
+            return;
+        }
+
+        this.plugin.getTaskScheduler().runGlobal(() -> sender.sendMessage(message));
+    }
+
+    private Heatmap.Format parseFormat(final String format) {
+        try {
+            return Heatmap.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (final IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package me.prism3.suicide.commands;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.utils.Settings;
+import org.bukkit.ChatColor;
+import org.bukkit.command.CommandSender;
+
+import java.util.Map;
+
+
+/**
+ * Handles the {@code metrics} subcommand.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class MetricsCommand {
+
+    /**
+     * Reference to the main plugin instance
+     */
+    private final Suicide plugin;
+
+    /**
+     * Initializes a new metrics subcommand handler
+     *
+     * @param plugin Main plugin instance
+     */
+    public MetricsCommand(final Suicide plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Lists every operational metric to the sender
+     *
+     * @param sender   The command sender
+     * @param settings The settings snapshot in use
+     */
+    public void handleMetrics(final CommandSender sender, final Settings settings) {
+
+        if (!sender.hasPermission(Settings.METRICS_PERMISSION)) {
+            sender.sendMessage(settings.messages().noPermission().render());
+            return;
+        }
+
+        final StringBuilder out = new StringBuilder(1024)
+                .append(ChatColor.GOLD).append("Suicide metrics");
+
+        for (final Map.Entry<String, Long> entry : this.plugin.getPluginMetrics().snapshot().entrySet()) {
+            out.append('\n')
+                    .append(ChatColor.GRAY).append(entry.getKey()).append(": ")
+                    .append(ChatColor.WHITE).append(entry.getValue());
+        }
+
+        sender.sendMessage(out.toString());
+    }
+}
@@ -0,0 +1,125 @@
+package me.prism3.suicide.commands;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.stats.PlayerStats;
+import me.prism3.suicide.utils.Settings;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+
+/**
+ * Handles the {@code stats} and {@code top} subcommands.
+ * Both read from memory only, the leaderboard is kept up to date as
+ * suicides are recorded.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class StatsCommand {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")
+            .withZone(ZoneId.systemDefault());
+
+    /**
+     * Reference to the main plugin instance
+     */
+    private final Suicide plugin;
+
+    /**
+     * Initializes a new stats subcommand handler
+     *
+     * @param plugin Main plugin instance
+     */
+    public StatsCommand(final Suicide plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Shows the stats of the sender or of the named player
+     *
+     * @param sender   The command sender
+     * @param args     Command arguments, {@code stats [player]}
+     * @param settings The settings snapshot in use
+     */
+    public void handleStats(final CommandSender sender, final String[] args, final Settings settings) {
+
+        if (args.length == 1 && !(sender instanceof Player)) {
+            sender.sendMessage(settings.messages().invalidSyntax().render());
+            return;
+        }
+
+        final boolean self = args.length == 1;
+
+        if (!sender.hasPermission(self ? Settings.STATS_PERMISSION : Settings.STATS_OTHERS_PERMISSION)) {
+            sender.sendMessage(settings.messages().noPermission().render());
+            return;
+        }
+
+        final String name = self ? sender.getName() : args[1];
+        final PlayerStats stats = self
+                ? this.plugin.getStats().get(((Player) sender).getUniqueId())
+                : this.plugin.getStats().find(name);
+
+        final Settings.StatsMessages messages = settings.messages().stats();
+
+        if (stats == null) {
+            sender.sendMessage(messages.none().renderPlayer(name));
+            return;
+        }
+
+        final PlayerStats.Snapshot snapshot = stats.snapshot();
+
+        sender.sendMessage(messages.header().renderPlayer(snapshot.name()));
+        sender.sendMessage(messages.count().renderGroup(snapshot.name(), snapshot.count()));
+        sender.sendMessage(messages.first().renderDate(DATE_FORMAT.format(Instant.ofEpochMilli(snapshot.first()))));
+        sender.sendMessage(messages.last().renderDate(DATE_FORMAT.format(Instant.ofEpochMilli(snapshot.last()))));
+        sender.sendMessage(messages.location().renderLocation(this.worldName(snapshot),
+                snapshot.x(), snapshot.y(), snapshot.z()));
+    }
+
+    /**
+     * Shows the leaderboard
+     *
+     * @param sender   The command sender
+     * @param settings The settings snapshot in use
+     */
+    public void handleTop(final CommandSender sender, final Settings settings) {
+
+        if (!sender.hasPermission(Settings.TOP_PERMISSION)) {
+            sender.sendMessage(settings.messages().noPermission().render());
+            return;
+        }
+
+        final Settings.StatsMessages messages = settings.messages().stats();
+        final List<PlayerStats.Snapshot> top = this.plugin.getStats().top();
+
+        if (top.isEmpty()) {
+            sender.sendMessage(messages.topEmpty().render());
+            return;
+        }
+
+        sender.sendMessage(messages.topHeader().render());
+
+        for (int i = 0; i < top.size(); i++)
+            sender.sendMessage(messages.topEntry().renderRank(i + 1, top.get(i).name(), top.get(i).count()));
+    }
+
+    /**
+     * Resolves the name of the world of the last suicide
+     */
+    private String worldName(final PlayerStats.Snapshot snapshot) {
+
+        if (snapshot.worldId() == null)
+            return "?";
+
+        final World world = Bukkit.getWorld(snapshot.worldId());
+        return world == null ? "?" : world.getName();
+    }
+}
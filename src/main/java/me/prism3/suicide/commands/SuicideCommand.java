@@ -1,19 +1,21 @@
 package me.prism3.suicide.commands;
 
 import me.prism3.suicide.Suicide;
+import me.prism3.suicide.monitoring.PluginMetrics;
+import me.prism3.suicide.session.PlayerSession;
+import me.prism3.suicide.utils.ComponentTemplate;
 import me.prism3.suicide.utils.Data;
+import me.prism3.suicide.utils.EffectProfiles;
+import me.prism3.suicide.utils.MessageTemplate;
+import me.prism3.suicide.utils.Settings;
 import org.bukkit.*;
-import org.bukkit.FireworkEffect.Type;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Firework;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.meta.FireworkMeta;
-import org.bukkit.metadata.FixedMetadataValue;
 
-import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
 
@@ -37,14 +39,24 @@ public class SuicideCommand implements CommandExecutor {
     private final Data data;
 
     /**
-     * Cooldown tracker storing player UUIDs and their cooldown end timestamps
-     * Key: Player UUID
-     * Value: Cooldown expiration time in milliseconds
+     * Handler of the stats and top subcommands
      */
-    private final Map<UUID, Long> cooldowns = new ConcurrentHashMap<>();
+    private final StatsCommand stats;
 
-    private static final String COORD_FORMAT = "&fYou suicided at: &cX: %d Y: %d Z: %d";
+    /**
+     * Handler of the heatmap subcommand
+     */
+    private final HeatmapCommand heatmap;
+
+    /**
+     * Handler of the metrics subcommand
+     */
+    private final MetricsCommand metricsCommand;
 
+    /**
+     * Operational metrics recorder
+     */
+    private final PluginMetrics metrics;
 
     /**
      * Initializes a new SuicideCommand instance
@@ -54,6 +66,11 @@ public class SuicideCommand implements CommandExecutor {
     public SuicideCommand(final Data data) {
         this.plugin = Suicide.getInstance();
         this.data = data;
+        this.stats = new StatsCommand(this.plugin);
+        this.heatmap = new HeatmapCommand(this.plugin);
+        this.metricsCommand = new MetricsCommand(this.plugin);
+        this.metrics = this.plugin.getPluginMetrics();
+        this.plugin.getCountdowns().onFinish(this::finishCountdown);
     }
 
     /**
@@ -67,174 +84,316 @@ public class SuicideCommand implements CommandExecutor {
      */
     @Override
     public boolean onCommand(final CommandSender sender, final Command cmd, final String label, final String[] args) {
+        final long start = System.nanoTime();
+        this.metrics.invocation();
+
+        try {
+            return this.handleCommand(sender, args);
+        } finally {
+            this.metrics.time(PluginMetrics.Stage.COMMAND, start);
+        }
+    }
+
+    /**
+     * Routes the command to its subcommand or runs the suicide
+     *
+     * @param sender The command sender
+     * @param args   Command arguments
+     * @return true if command was handled successfully, false otherwise
+     */
+    private boolean handleCommand(final CommandSender sender, final String[] args) {
+        // Grab a single settings snapshot for the whole command
+        final Settings settings = this.data.getSettings();
+
+        // Players use their cached session, other senders are checked directly
+        final PlayerSession session = sender instanceof Player target ? this.plugin.getSessions().get(target) : null;
+
         // Handle permission check
-        if (!sender.hasPermission(this.data.getSuicideCommand())) {
-            this.sendPermissionMessage(sender);
+        final long permissionStart = System.nanoTime();
+        final boolean permitted = this.hasCommandPermission(sender, session);
+        this.metrics.time(PluginMetrics.Stage.PERMISSION, permissionStart);
+
+        if (!permitted) {
+            this.metrics.deny(PluginMetrics.Denial.NO_PERMISSION);
+            this.sendPermissionMessage(sender, settings);
             return true;
         }
 
         // Handle reload subcommand
         if (args.length == 1 && args[0].equalsIgnoreCase("reload")) {
-            return this.handleReload(sender);
+            return this.handleReload(sender, settings);
+        }
+
+        // Handle statistics subcommands
+        if (args.length >= 1 && args.length <= 2 && args[0].equalsIgnoreCase("stats")) {
+            this.stats.handleStats(sender, args, settings);
+            return true;
+        }
+
+        if (args.length == 1 && args[0].equalsIgnoreCase("top")) {
+            this.stats.handleTop(sender, settings);
+            return true;
+        }
+
+        if (args.length >= 1 && args.length <= 3 && args[0].equalsIgnoreCase("heatmap")) {
+            this.heatmap.handleHeatmap(sender, args, settings);
+            return true;
+        }
+
+        if (args.length == 1 && args[0].equalsIgnoreCase("metrics")) {
+            this.metricsCommand.handleMetrics(sender, settings);
+            return true;
         }
 
         // Validate command syntax
         if (args.length != 0) {
-            this.sendInvalidSyntaxMessage(sender);
+            this.metrics.deny(PluginMetrics.Denial.INVALID_SYNTAX);
+            this.sendInvalidSyntaxMessage(sender, settings);
             return true;
         }
 
         // Verify sender is a player
         if (!(sender instanceof Player player)) {
+            this.metrics.deny(PluginMetrics.Denial.NOT_PLAYER);
             this.handleNonPlayerExecution();
             return true;
         }
 
         // Check disabled worlds
-        if (this.isInDisabledWorld(player)) {
-            this.sendDisabledWorldMessage(player);
+        if (settings.isWorldDisabled(session.getWorldIndex())) {
+            this.metrics.deny(PluginMetrics.Denial.DISABLED_WORLD);
+            this.sendDisabledWorldMessage(player, settings);
             return true;
         }
 
-        // Process cooldown checks
-        if (this.isOnCooldown(player))
+        // Wait for the countdown first, the cooldown starts when it ends
+        if (settings.countdown().enabled()) {
+            this.startCountdown(player, session, settings);
             return true;
+        }
+
+        // Process cooldown checks, starting a new cooldown when free
+        final long cooldownStart = System.nanoTime();
+        final boolean onCooldown = this.isOnCooldown(player, session, settings);
+        this.metrics.time(PluginMetrics.Stage.COOLDOWN, cooldownStart);
 
-        // Apply cooldown if enabled
-        this.applyCooldown(player);
+        if (onCooldown) {
+            this.metrics.deny(PluginMetrics.Denial.COOLDOWN);
+            return true;
+        }
 
         // Execute suicide sequence
-        this.executeSuicideSequence(player);
+        this.executeSuicideSequence(player, session, settings);
+        this.metrics.suicide();
 
         return true;
     }
 
     /**
-     * Handles the reload subcommand execution
+     * Starts the player's confirmation countdown, unless they are on cooldown
+     * or already counting down
      *
-     * @param sender The command sender
-     * @return true if reload was successful, false otherwise
+     * @param player   The player executing the command
+     * @param session  The player's cached session
+     * @param settings The settings snapshot in use
      */
-    private boolean handleReload(final CommandSender sender) {
+    private void startCountdown(final Player player, final PlayerSession session, final Settings settings) {
+        final Settings.CountdownMessages messages = settings.messages().countdown();
 
-        if (!sender.hasPermission(this.data.getSuicideReload())) {
-            this.sendPermissionMessage(sender);
-            return true;
+        if (settings.cooldown().enabled() && !session.canBypass(player)) {
+            final long remaining = this.plugin.getCooldowns().getRemaining(player.getUniqueId());
+
+            if (remaining > 0) {
+                this.metrics.deny(PluginMetrics.Denial.COOLDOWN);
+                this.sendCooldownMessage(player, settings, (remaining + 999) / 1000);
+                return;
+            }
         }
 
-        this.plugin.reloadConfig();
-        this.data.load();
-        sender.sendMessage(colorize(this.data.getReloadMessage()));
+        if (!this.plugin.getCountdowns().start(player, session, settings.countdown().seconds())) {
+            player.sendMessage(messages.pending().render());
+            return;
+        }
 
-        return true;
+        player.sendMessage(messages.start().renderTime(settings.countdown().seconds()));
     }
 
     /**
-     * Checks if player is in a disabled world
+     * Runs the suicide once the player's countdown ended, on the player's thread.
+     * The gates of the command are checked again against the current settings,
+     * the player may have lost the permission or changed worlds meanwhile.
      *
-     * @param player The player to check
-     * @return true if world is disabled, false otherwise
+     * @param player The player whose countdown ended
      */
-    private boolean isInDisabledWorld(final Player player) {
-        return this.data.getDisabledWorlds().contains(player.getWorld().getName());
+    private void finishCountdown(final Player player) {
+
+        if (!player.isOnline() || player.isDead())
+            return;
+
+        final Settings settings = this.data.getSettings();
+        final PlayerSession session = this.plugin.getSessions().get(player);
+
+        if (!session.canUse(player)) {
+            this.metrics.deny(PluginMetrics.Denial.NO_PERMISSION);
+            this.sendPermissionMessage(player, settings);
+            return;
+        }
+
+        if (settings.isWorldDisabled(session.getWorldIndex())) {
+            this.metrics.deny(PluginMetrics.Denial.DISABLED_WORLD);
+            this.sendDisabledWorldMessage(player, settings);
+            return;
+        }
+
+        // A cooldown may have started meanwhile, e.g. synced from another server
+        if (this.isOnCooldown(player, session, settings)) {
+            this.metrics.deny(PluginMetrics.Denial.COOLDOWN);
+            return;
+        }
+
+        this.executeSuicideSequence(player, session, settings);
+        this.metrics.suicide();
     }
 
     /**
-     * Checks and manages player cooldown status using atomic operations.
-     * Automatically cleans expired cooldowns during check.
+     * Checks the command permission, using the cached session for players
      *
-     * @param player The player to check
-     * @return true if player is currently on cooldown
+     * @param sender  The command sender
+     * @param session The player's session, null for other senders
+     * @return true if the sender may use the command
      */
-    private boolean isOnCooldown(final Player player) {
-
-        if (!data.isCooldownEnabled() || player.hasPermission(data.getSuicideBypass()))
-            return false;
-
-        final UUID playerId = player.getUniqueId();
-        final Long cooldownEnd = cooldowns.get(playerId);
-
-        if (cooldownEnd == null)
-            return false;
+    private boolean hasCommandPermission(final CommandSender sender, final PlayerSession session) {
+        return session != null
+                ? session.canUse((Player) sender)
+                : sender.hasPermission(Settings.COMMAND_PERMISSION);
+    }
 
-        final long remaining = (cooldownEnd - System.currentTimeMillis()) / 1000;
+    /**
+     * Handles the reload subcommand execution
+     *
+     * @param sender   The command sender
+     * @param settings The settings snapshot in use
+     * @return true if reload was successful, false otherwise
+     */
+    private boolean handleReload(final CommandSender sender, final Settings settings) {
 
-        if (remaining > 0) {
-            this.sendCooldownMessage(player, remaining);
+        if (!sender.hasPermission(Settings.RELOAD_PERMISSION)) {
+            this.sendPermissionMessage(sender, settings);
             return true;
         }
 
-        // Atomic removal of expired cooldown
-        cooldowns.remove(playerId, cooldownEnd);
-        return false;
+        // The command map is server wide state, owned by the global thread on Folia
+        this.plugin.getTaskScheduler().runGlobal(() -> {
+            this.plugin.reload();
+            sender.sendMessage(this.data.getSettings().messages().reload().render());
+        });
+
+        return true;
     }
 
     /**
-     * Applies cooldown using computeIfPresent for atomic updates
+     * Checks the player's cooldown and starts a new one in a single step.
+     * Players with the bypass permission are never put on cooldown.
      *
-     * @param player The player to apply cooldown to
+     * @param player   The player to check
+     * @param session  The player's cached session
+     * @param settings The settings snapshot in use
+     * @return true if player is currently on cooldown
      */
-    private void applyCooldown(final Player player) {
-
-        if (!data.isCooldownEnabled() || player.hasPermission(data.getSuicideBypass()))
-            return;
+    private boolean isOnCooldown(final Player player, final PlayerSession session, final Settings settings) {
 
-        final UUID playerId = player.getUniqueId();
-        final long newCooldownEnd = System.currentTimeMillis() + (data.getCoolDownTime() * 1000);
+        if (!settings.cooldown().enabled() || session.canBypass(player))
+            return false;
 
-        cooldowns.compute(playerId, (uuid, currentEnd) ->
-                (currentEnd == null || newCooldownEnd > currentEnd) ? newCooldownEnd : currentEnd
-        );
+        final long remaining = this.plugin.getCooldowns()
+                .tryAcquire(player.getUniqueId(), settings.cooldown().seconds() * 1000);
 
-        Bukkit.getScheduler().runTaskLater(plugin, () ->
-                        cooldowns.remove(playerId, newCooldownEnd),
-                data.getCoolDownTime() * 20L
-        );
+        if (remaining > 0) {
+            // Round up so the message never reports zero seconds
+            this.sendCooldownMessage(player, settings, (remaining + 999) / 1000);
+            return true;
+        }
+        return false;
     }
 
     /**
      * Executes full suicide sequence for player
      *
-     * @param player The player executing the command
+     * @param player   The player executing the command
+     * @param session  The player's cached session
+     * @param settings The settings snapshot in use
      */
-    private void executeSuicideSequence(final Player player) {
-        // Track player and kill
-        this.plugin.getPlayers().add(player.getUniqueId());
-        player.setHealth(0.0);
-
-        // Execute post-suicide effects
-        this.executePostSuicideEffects(player);
+    private void executeSuicideSequence(final Player player, final PlayerSession session, final Settings settings) {
+        // Track player, record stats and kill
+        final long start = System.nanoTime();
+        this.plugin.getSuicides().track(player.getUniqueId());
+        final Location location = player.getLocation();
+        this.plugin.getStats().record(player, location);
+        this.plugin.getHeatmap().record(location);
+        this.plugin.getTaskScheduler().runFor(player, () -> player.setHealth(0.0));
+        final long effectsStart = this.metrics.time(PluginMetrics.Stage.EXECUTE, start);
+
+        // Execute post-suicide effects of the player's world and tier
+        final EffectProfiles profiles = settings.effects();
+        final Settings.EffectSettings effects = profiles.get(session.getWorldIndex(),
+                profiles.hasTiers() ? session.getEffectTier(player, profiles) : 0);
+
+        this.executePostSuicideEffects(player, settings, effects);
+        this.metrics.time(PluginMetrics.Stage.EFFECTS, effectsStart);
     }
 
     /**
      * Executes all configured post-suicide effects
      *
-     * @param player The player who executed the command
+     * @param player   The player who executed the command
+     * @param settings The settings snapshot in use
+     * @param effects  The effects of the player's profile
      */
-    private void executePostSuicideEffects(final Player player) {
-        if (this.data.isBroadcastEnabled()) this.broadcast(player);
-        if (this.data.isMessageEnabled()) this.sendSuicideMessage(player);
-        if (this.data.isFireworkEnabled()) this.spawnFirework(player.getLocation());
-        if (this.data.isCoordsEnabled()) this.displayCoords(player);
-        if (this.data.isSoundEnabled()) this.playSound(player);
+    private void executePostSuicideEffects(final Player player, final Settings settings,
+                                           final Settings.EffectSettings effects) {
+        // Each timing ends where the next one starts
+        long start = System.nanoTime();
+
+        if (effects.broadcast()) {
+            this.broadcast(player, settings.messages());
+            start = this.metrics.time(PluginMetrics.Stage.BROADCAST, start);
+        }
+        if (effects.message()) {
+            this.sendSuicideMessage(player, settings);
+            start = this.metrics.time(PluginMetrics.Stage.MESSAGE, start);
+        }
+        if (effects.firework().enabled()) {
+            this.spawnFirework(player.getLocation(), effects.firework());
+            start = this.metrics.time(PluginMetrics.Stage.FIREWORK, start);
+        }
+        if (effects.coords()) {
+            this.displayCoords(player, settings);
+            start = this.metrics.time(PluginMetrics.Stage.COORDS, start);
+        }
+        if (effects.sound().enabled()) {
+            this.playSound(player, effects.sound());
+            this.metrics.time(PluginMetrics.Stage.SOUND, start);
+        }
     }
 
     /**
      * Sends permission error message to sender
      *
-     * @param sender The command sender
+     * @param sender   The command sender
+     * @param settings The settings snapshot in use
      */
-    private void sendPermissionMessage(final CommandSender sender) {
-        sender.sendMessage(colorize(this.data.getNoPermissionMessage()));
+    private void sendPermissionMessage(final CommandSender sender, final Settings settings) {
+        sender.sendMessage(settings.messages().noPermission().render());
     }
 
     /**
      * Sends invalid syntax message to sender
      *
-     * @param sender The command sender
+     * @param sender   The command sender
+     * @param settings The settings snapshot in use
      */
-    private void sendInvalidSyntaxMessage(final CommandSender sender) {
-        sender.sendMessage(colorize(this.data.getInvalidSyntaxMessage()));
+    private void sendInvalidSyntaxMessage(final CommandSender sender, final Settings settings) {
+        sender.sendMessage(settings.messages().invalidSyntax().render());
     }
 
     /**
@@ -247,132 +406,130 @@ public class SuicideCommand implements CommandExecutor {
     /**
      * Sends disabled world message to player
      *
-     * @param player The affected player
+     * @param player   The affected player
+     * @param settings The settings snapshot in use
      */
-    private void sendDisabledWorldMessage(final Player player) {
-        player.sendMessage(colorize(this.data.getDisabledWorldMessage()));
+    private void sendDisabledWorldMessage(final Player player, final Settings settings) {
+        player.sendMessage(settings.messages().disabledWorld().render());
     }
 
     /**
      * Sends cooldown message to player
      *
-     * @param player The affected player
-     * @param seconds Remaining cooldown time in seconds
+     * @param player   The affected player
+     * @param settings The settings snapshot in use
+     * @param seconds  Remaining cooldown time in seconds
      */
-    private void sendCooldownMessage(final Player player, final long seconds) {
-        final String message = this.data.getCoolDownMessage()
-                .replace("%time%", String.valueOf(seconds));
-        player.sendMessage(colorize(message));
+    private void sendCooldownMessage(final Player player, final Settings settings, final long seconds) {
+        player.sendMessage(settings.messages().cooldown().renderTime(seconds));
     }
 
     /**
      * Sends suicide confirmation message to player
      *
-     * @param player The affected player
+     * @param player   The affected player
+     * @param settings The settings snapshot in use
      */
-    private void sendSuicideMessage(final Player player) {
-        player.sendMessage(colorize(this.data.getSuicideMessage()));
+    private void sendSuicideMessage(final Player player, final Settings settings) {
+        player.sendMessage(settings.messages().suicide().render());
     }
 
     /**
      * Broadcasts suicide announcement using efficient random selection
      * - Uses ThreadLocalRandom for thread-safe randomization
      * - Avoids full list shuffling for better performance
+     * - Sends a pre-parsed component once when a component format is configured
+     * - Holds the broadcast for an aggregated line when many players suicide at once
+     * - Sends to the configured audience: server, world or radius
      *
-     * @param player The player who executed the command
+     * @param player   The player who executed the command
+     * @param messages The compiled messages in use
      */
-    private void broadcast(final Player player) {
+    private void broadcast(final Player player, final Settings.MessageSettings messages) {
 
-        final List<String> messages = this.data.getBroadcastMessages();
-
-        if (messages.isEmpty()) return;
+        if (messages.scope().mode() == Settings.ScopeSettings.Mode.SERVER
+                && !this.plugin.getBroadcasts().offer(player.getName(), messages.aggregation()))
+            return;
 
-        final int index = ThreadLocalRandom.current().nextInt(messages.size());
-        final String raw = messages.get(index)
-                .replace("%player%", player.getName());
+        if (messages.broadcastFormat() != ComponentTemplate.Format.LEGACY) {
+            this.broadcastComponent(player, messages.broadcastComponents(), messages.scope());
+            return;
+        }
 
-        Bukkit.broadcastMessage(colorize(raw));
+        this.broadcastLegacy(player, messages.broadcast(), messages.scope());
     }
 
     /**
-     * Spawns configured firework effect at location with safety checks
+     * Broadcasts a legacy coloured string to the configured audience
      *
-     * @param loc The location to spawn the firework
+     * @param player   The player who executed the command
+     * @param messages The possible broadcast messages
+     * @param scope    The audience settings in use
      */
-    private void spawnFirework(final Location loc) {
+    private void broadcastLegacy(final Player player, final List<MessageTemplate> messages,
+                                 final Settings.ScopeSettings scope) {
 
-        if (loc.getWorld() == null)
-            return;
+        if (messages.isEmpty()) return;
 
-        final Firework fw = loc.getWorld().spawn(loc, Firework.class);
+        final int index = ThreadLocalRandom.current().nextInt(messages.size());
 
-        try {
-            final FireworkMeta meta = fw.getFireworkMeta();
-            final FireworkEffect effect = FireworkEffect.builder()
-                    .with(Type.valueOf(data.getFireworkType()))
-                    .withColor(this.createColor(
-                            data.getFireworkColorRed(),
-                            data.getFireworkColorGreen(),
-                            data.getFireworkColorBlue()
-                    ))
-                    .withFade(this.createColor(
-                            data.getFireworkFadeColorRed(),
-                            data.getFireworkFadeColorGreen(),
-                            data.getFireworkFadeColorBlue()
-                    ))
-                    .trail(data.isFireworkTrail())
-                    .flicker(data.isFireworkFlicker())
-                    .build();
-
-            meta.addEffect(effect);
-            meta.setPower(Math.min(3, Math.max(0, data.getFireworkPower())));
-            fw.setFireworkMeta(meta);
-            fw.setMetadata("noDamage", new FixedMetadataValue(plugin, true));
-        } catch (final IllegalArgumentException e) {
-            this.plugin.getLogger().warning("Invalid firework config: " + e.getMessage());
-            fw.remove(); // Remove invalid firework to prevent visual glitch
-        }
+        this.plugin.getBroadcaster().send(player.getLocation(), scope,
+                messages.get(index).renderPlayer(player.getName()));
     }
 
     /**
-     * Creates a color from RGB values
+     * Broadcasts a pre-parsed component to the configured audience
      *
-     * @param r The red value
-     * @param g The green value
-     * @param b The blue value
-     * @return The created color
+     * @param player     The player who executed the command
+     * @param components The possible broadcast components
+     * @param scope      The audience settings in use
      */
-    private Color createColor(final int r, final int g, final int b) {
-        return Color.fromRGB(
-                this.clamp(r),
-                this.clamp(g),
-                this.clamp(b)
-        );
+    private void broadcastComponent(final Player player, final List<ComponentTemplate> components,
+                                    final Settings.ScopeSettings scope) {
+
+        if (components.isEmpty()) return;
+
+        final int index = ThreadLocalRandom.current().nextInt(components.size());
+
+        this.plugin.getBroadcaster().send(player.getLocation(), scope,
+                components.get(index).renderPlayer(player.getName()));
     }
 
     /**
-     * Clamps a value between 0 and 255
+     * Spawns the prebuilt firework at location if the spawn budget allows it.
+     * The meta is applied in the pre-spawn callback so the rocket is fully
+     * configured before its spawn packet is sent. The spawn runs on the
+     * thread owning the location.
      *
-     * @param value The value to clamp
-     * @return The clamped value
+     * @param loc      The location to spawn the firework
+     * @param firework The firework settings in use
      */
-    private int clamp(final int value) {
-        return Math.max(0, Math.min(255, value));
+    private void spawnFirework(final Location loc, final Settings.FireworkSettings firework) {
+
+        if (loc.getWorld() == null)
+            return;
+
+        if (!this.plugin.getFireworkLimiter().tryAcquire(loc, firework.limiter()))
+            return;
+
+        this.plugin.getTaskScheduler().runAt(loc, () -> loc.getWorld().spawn(loc, Firework.class, fw -> {
+            fw.setFireworkMeta(firework.template());
+            this.plugin.getProtectedFireworks().add(fw.getEntityId());
+        }));
     }
 
     /**
      * Displays suicide coordinates to player
      *
-     * @param player The player to display coordinates to
+     * @param player   The player to display coordinates to
+     * @param settings The settings snapshot in use
      */
-    private void displayCoords(final Player player) {
+    private void displayCoords(final Player player, final Settings settings) {
         final Location loc = player.getLocation();
-        player.sendMessage(colorize(
-                String.format(COORD_FORMAT,
-                        loc.getBlockX(),
-                        loc.getBlockY(),
-                        loc.getBlockZ()
-                )
+        player.sendMessage(settings.messages().coords().renderCoords(
+                loc.getBlockX(),
+                loc.getBlockY(),
+                loc.getBlockZ()
         ));
     }
 
@@ -380,56 +537,14 @@ public class SuicideCommand implements CommandExecutor {
      * Plays configured sound effect for player
      *
      * @param player The player to play sound for
+     * @param sound  The resolved sound settings in use
      */
-    private void playSound(final Player player) {
-
-        if (!this.data.isSoundEnabled())
-            return;
+    private void playSound(final Player player, final Settings.SoundSettings sound) {
 
-        final String rawSound = this.data.getPlayedSound();
-        final boolean isLegacy = Bukkit.getServer().getClass().getPackage().getName().contains("v1_12");
-
-        // Version-specific sound formatting
-        String soundName;
-
-        if (isLegacy) {
-            // Format for 1.12 and below
-            soundName = rawSound.toUpperCase()
-                    .replace("ENTITY_", "MOB_")
-                    .replace("ITEM_", "")
-                    .replace("BLOCK_", "")
-                    .replace(".", "_");
+        if (sound.sound() != null) {
+            player.playSound(player.getLocation(), sound.sound(), sound.volume(), sound.pitch());
         } else {
-            // Format for 1.13+
-            soundName = rawSound.toLowerCase()
-                    .replace("mob.", "entity.")
-                    .replace("_", ".");
+            player.playSound(player.getLocation(), sound.key(), sound.volume(), sound.pitch());
         }
-
-        final float volume = Math.max(0f, Math.min(1f, this.data.getSoundVolume() / 100f));
-        final float pitch = Math.max(0.5f, Math.min(2f, this.data.getSoundPitch() / 50f + 0.5f));
-
-        try {
-            player.playSound(player.getLocation(), soundName, volume, pitch);
-        } catch (final IllegalArgumentException e) {
-            this.plugin.getLogger().severe("Invalid sound configuration:");
-            this.plugin.getLogger().severe("Attempted sound: " + rawSound);
-            this.plugin.getLogger().severe("Formatted sound: " + soundName);
-            this.plugin.getLogger().severe("Version detected: " + (isLegacy ? "1.12-" : "1.13+"));
-            this.plugin.getLogger().severe("Valid examples:");
-            this.plugin.getLogger().severe(isLegacy ?
-                    "- MOB_ZOMBIE_HURT" :
-                    "- entity.zombie.hurt");
-        }
-    }
-
-    /**
-     * Colorizes text with color codes
-     *
-     * @param text The text to colorize
-     * @return The colorized text
-     */
-    private static String colorize(final String text) {
-        return ChatColor.translateAlternateColorCodes('&', text);
     }
 }
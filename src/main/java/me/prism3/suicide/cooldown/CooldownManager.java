@@ -0,0 +1,216 @@
+package me.prism3.suicide.cooldown;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.scheduler.TaskScheduler;
+import me.prism3.suicide.utils.Settings;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.UUID;
+
+
+/**
+ * Tracks command cooldowns in a primitive {@link CooldownTable}.
+ * Expiry is checked on every lookup, and a single periodic sweeper drops
+ * expired entries in bulk instead of scheduling a task per use.
+ * Started cooldowns are persisted to a {@link CooldownStore} so they
+ * survive reloads and restarts, and optionally shared with other servers.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class CooldownManager {
+
+    /**
+     * Ticks between two sweeps of expired entries
+     */
+    private static final long SWEEP_PERIOD_TICKS = 20L * 30;
+
+    /**
+     * Main plugin instance reference
+     */
+    private final Suicide plugin;
+
+    /**
+     * Player UUIDs mapped to their cooldown expiry in epoch millis
+     */
+    private final CooldownTable table = new CooldownTable();
+
+    /**
+     * Persistent cooldown log
+     */
+    private final CooldownStore store;
+
+    /**
+     * Cross-server sync, null when disabled
+     */
+    private volatile CooldownSyncService sync;
+
+    /**
+     * The running sweeper task, null when stopped
+     */
+    private TaskScheduler.Task sweeper;
+
+    /**
+     * Initializes a new cooldown manager
+     *
+     * @param plugin Main plugin instance
+     */
+    public CooldownManager(final Suicide plugin) {
+        this.plugin = plugin;
+        this.store = new CooldownStore(plugin.getDataFolder(), "cooldowns");
+    }
+
+    /**
+     * Loads persisted cooldowns and starts the periodic sweeper
+     */
+    public void start() {
+
+        if (this.sweeper != null)
+            return;
+
+        try {
+            final int loaded = this.store.open(this.table, System.currentTimeMillis());
+            this.plugin.getLogger().info("Loaded " + loaded + " active cooldown(s)");
+        } catch (final IOException e) {
+            this.plugin.getLogger().warning("Could not load saved cooldowns: " + e.getMessage());
+        }
+
+        this.startSync();
+
+        this.sweeper = this.plugin.getTaskScheduler().runTimerAsync(this::sweep, SWEEP_PERIOD_TICKS, SWEEP_PERIOD_TICKS);
+    }
+
+    /**
+     * Stops the periodic sweeper and flushes the persisted cooldowns
+     */
+    public void stop() {
+
+        if (this.sweeper == null)
+            return;
+
+        this.sweeper.cancel();
+        this.sweeper = null;
+
+        if (this.sync != null) {
+            this.sync.stop();
+            this.sync = null;
+        }
+
+        this.sweep();
+        this.store.compact(this.table);
+        this.store.close();
+    }
+
+    /**
+     * Starts a cooldown for the player unless one is already running.
+     * A player still on cooldown is answered from an optimistic read, only a
+     * free or expired entry takes the table's write lock.
+     *
+     * @param playerId       The player UUID
+     * @param durationMillis Cooldown length in milliseconds
+     * @return 0 if the cooldown was started, otherwise the remaining time in milliseconds
+     */
+    public long tryAcquire(final UUID playerId, final long durationMillis) {
+        final long now = System.currentTimeMillis();
+        final long current = this.table.get(playerId);
+
+        if (current > now)
+            return current - now;
+
+        final long end = now + durationMillis;
+        final long activeEnd = this.table.checkAndSet(playerId, now, end);
+
+        if (activeEnd != 0L)
+            return activeEnd - now;
+
+        this.store.append(playerId, end);
+
+        final CooldownSyncService sync = this.sync;
+        if (sync != null) sync.offer(playerId, end);
+
+        return 0L;
+    }
+
+    /**
+     * Replaces the cooldown sync transport, stopping the current one.
+     * Lets other plugins provide their own {@link CooldownSync} implementation.
+     *
+     * @param transport     The transport to use
+     * @param intervalTicks Ticks between two sync rounds
+     */
+    public void useSync(final CooldownSync transport, final long intervalTicks) {
+
+        if (this.sync != null)
+            this.sync.stop();
+
+        final CooldownSyncService service = new CooldownSyncService(this.plugin, this.table, transport);
+        this.sync = service.start(intervalTicks) ? service : null;
+    }
+
+    /**
+     * Starts the configured file based sync if enabled
+     */
+    private void startSync() {
+        final Settings.SyncSettings settings = this.plugin.getData().getSettings().cooldown().sync();
+
+        if (!settings.enabled())
+            return;
+
+        if (settings.serverId().isBlank()) {
+            this.plugin.getLogger().warning("Cooldown sync needs a unique Cooldown.Sync.Server-Id, sync disabled");
+            return;
+        }
+
+        this.useSync(new FileCooldownSync(new File(settings.directory()), settings.serverId()),
+                settings.intervalTicks());
+    }
+
+    /**
+     * Gets the remaining cooldown for a player
+     *
+     * @param playerId The player UUID
+     * @return Remaining time in milliseconds, 0 if not on cooldown
+     */
+    public long getRemaining(final UUID playerId) {
+        return Math.max(0L, this.table.get(playerId) - System.currentTimeMillis());
+    }
+
+    /**
+     * Removes every expired entry, compacts the log once it holds too many stale
+     * records and grows its mapping ahead of the appends
+     *
+     * @return Number of entries removed
+     */
+    public int sweep() {
+        final int removed = this.table.expire(System.currentTimeMillis());
+
+        if (this.store.needsCompaction(this.table.size()))
+            this.store.compact(this.table);
+
+        this.store.reserve();
+
+        return removed;
+    }
+
+    /**
+     * Gets the number of tracked cooldowns
+     *
+     * @return Entry count, including expired entries not yet swept
+     */
+    public int size() { return this.table.size(); }
+
+    /**
+     * Gets the number of cooldowns the log had no room for
+     *
+     * @return Dropped record count, those cooldowns are still kept in memory
+     */
+    public long getLogDropped() { return this.store.getDropped(); }
+
+    /**
+     * Gets the underlying cooldown table
+     *
+     * @return The primitive cooldown table
+     */
+    public CooldownTable getTable() { return this.table; }
+}
@@ -0,0 +1,411 @@
+package me.prism3.suicide.cooldown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+
+/**
+ * Append-only cooldown log backed by a memory-mapped file.
+ * Every started cooldown is appended as a fixed size record, so a write is a
+ * plain memory copy that never forces, remaps or waits on a compaction. The
+ * log is replayed into a {@link CooldownTable} on enable, grown ahead of time
+ * by {@link #reserve()} and compacted into a fresh generation once it holds
+ * too many stale records.
+ *
+ * <p>Logs are named {@code <name>-<generation>.dat}. File layout: an 8 byte
+ * header (magic, version) followed by 24 byte records (UUID most bits, UUID
+ * least bits, expiry). A record with an expiry of 0 marks the end of the log.
+ * The header is written last, so a generation whose compaction was cut short
+ * is skipped on load and the previous one is used.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class CooldownStore {
+
+    private static final int MAGIC = 0x53434431; // "SCD1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 24;
+
+    private static final String LOG_SUFFIX = ".dat";
+
+    /**
+     * Free records kept ahead of the log end, the mapping grows by twice this
+     * once fewer are left
+     */
+    private static final int HEADROOM_RECORDS = 16_384;
+
+    /**
+     * Stale records tolerated before a compaction, on top of twice the live count
+     */
+    private static final int COMPACTION_SLACK = 4_096;
+
+    /**
+     * Largest mapping a single buffer can address
+     */
+    private static final long MAX_MAPPING = Integer.MAX_VALUE - RECORD_SIZE;
+
+    private final File directory;
+    private final String name;
+
+    /**
+     * Serializes open, reserve, compact and close, append only takes the store's own monitor
+     */
+    private final Object maintenance = new Object();
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    /**
+     * Generation of the current log
+     */
+    private long generation = -1L;
+
+    /**
+     * Offset where the next record is written
+     */
+    private int position;
+
+    /**
+     * Number of records currently in the log
+     */
+    private int records;
+
+    /**
+     * Records that did not fit in the mapping, they are still in the table
+     * and written by the next compaction
+     */
+    private long dropped;
+
+    /**
+     * Initializes a new store
+     *
+     * @param directory The directory holding the logs, created if missing
+     * @param name      Log file name prefix
+     */
+    public CooldownStore(final File directory, final String name) {
+        this.directory = directory;
+        this.name = name;
+    }
+
+    /**
+     * Replays the newest complete log into the table and starts a fresh
+     * generation holding only the live entries
+     *
+     * @param table The table to fill
+     * @param now   Current time in epoch millis
+     * @return Number of live entries loaded
+     * @throws IOException If the directory or the new log cannot be created
+     */
+    public int open(final CooldownTable table, final long now) throws IOException {
+
+        synchronized (this.maintenance) {
+
+            if (!this.directory.exists() && !this.directory.mkdirs())
+                throw new IOException("Could not create " + this.directory);
+
+            final File[] logs = this.directory.listFiles();
+            long last = -1L;
+
+            if (logs != null) {
+                for (final File log : logs)
+                    last = Math.max(last, this.generationOf(log.getName()));
+            }
+
+            // Newest first, a generation without a valid header was never completed
+            for (long generation = last; generation >= 0L; generation--) {
+                final File log = this.logOf(generation);
+
+                if (log.exists() && this.replay(log, table, now))
+                    break;
+            }
+
+            this.generation = last;
+            this.rewrite(table);
+            return table.size();
+        }
+    }
+
+    /**
+     * Appends a cooldown record.
+     * The record is dropped when the mapping is full, the table still holds
+     * it and the next compaction writes it.
+     *
+     * @param id     The player UUID
+     * @param expiry Expiry in epoch millis
+     */
+    public synchronized void append(final UUID id, final long expiry) {
+
+        if (this.buffer == null)
+            return;
+
+        if (this.position + RECORD_SIZE > this.buffer.capacity()) {
+            this.dropped++;
+            return;
+        }
+
+        this.buffer.putLong(this.position, id.getMostSignificantBits());
+        this.buffer.putLong(this.position + 8, id.getLeastSignificantBits());
+        this.buffer.putLong(this.position + 16, expiry);
+        this.position += RECORD_SIZE;
+        this.records++;
+    }
+
+    /**
+     * Grows the mapping once fewer than {@link #HEADROOM_RECORDS} free records are left.
+     * Meant for the sweeper, so appends never have to remap.
+     */
+    public void reserve() {
+
+        synchronized (this.maintenance) {
+            final FileChannel channel;
+            final long size;
+
+            synchronized (this) {
+                if (this.buffer == null
+                        || this.buffer.capacity() - this.position >= HEADROOM_RECORDS * RECORD_SIZE)
+                    return;
+
+                channel = this.channel;
+                size = Math.min((long) this.position + 2L * HEADROOM_RECORDS * RECORD_SIZE, MAX_MAPPING);
+
+                if (size <= this.buffer.capacity())
+                    return;
+            }
+
+            final MappedByteBuffer grown;
+
+            try {
+                grown = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            } catch (final IOException e) {
+                return;
+            }
+
+            // Both mappings share the file's pages, records appended meanwhile are already in it
+            synchronized (this) {
+                this.buffer = grown;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the log holds enough stale records to be worth compacting
+     *
+     * @param liveEntries Number of live entries in the table
+     * @return true if {@link #compact(CooldownTable)} should run
+     */
+    public synchronized boolean needsCompaction(final int liveEntries) {
+        return this.records > liveEntries * 2 + COMPACTION_SLACK;
+    }
+
+    /**
+     * Writes the table's entries to a fresh generation and switches appends to it.
+     * The current log is kept if the new one cannot be written.
+     *
+     * @param table The table holding the live entries
+     */
+    public void compact(final CooldownTable table) {
+
+        synchronized (this.maintenance) {
+
+            synchronized (this) {
+                if (this.buffer == null)
+                    return;
+            }
+
+            try {
+                this.rewrite(table);
+            } catch (final IOException ignored) {
+                // Appends keep going to the current log, the next sweep tries again
+            }
+        }
+    }
+
+    /**
+     * Forces pending writes to disk and closes the log
+     */
+    public void close() {
+
+        synchronized (this.maintenance) {
+            final FileChannel channel;
+
+            synchronized (this) {
+                if (this.buffer == null)
+                    return;
+
+                this.buffer.force();
+                this.buffer = null;
+                channel = this.channel;
+                this.channel = null;
+            }
+
+            try {
+                channel.close();
+            } catch (final IOException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Gets the number of records in the log
+     *
+     * @return Record count, including stale records
+     */
+    public synchronized int getRecordCount() { return this.records; }
+
+    /**
+     * Gets the number of records that did not fit in the mapping
+     *
+     * @return Dropped record count
+     */
+    public synchronized long getDropped() { return this.dropped; }
+
+    /**
+     * Replays a log into the table
+     *
+     * @return false if the log has no valid header
+     */
+    private boolean replay(final File log, final CooldownTable table, final long now) throws IOException {
+
+        try (final FileChannel input = FileChannel.open(log.toPath(), StandardOpenOption.READ)) {
+            final long size = Math.min(input.size(), MAX_MAPPING);
+
+            if (size < HEADER_SIZE)
+                return false;
+
+            final MappedByteBuffer data = input.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (data.getInt(0) != MAGIC || data.getInt(4) != VERSION)
+                return false;
+
+            for (int offset = HEADER_SIZE; offset + RECORD_SIZE <= size; offset += RECORD_SIZE) {
+                final long expiry = data.getLong(offset + 16);
+
+                if (expiry == 0L)
+                    break;
+
+                if (expiry > now)
+                    table.merge(data.getLong(offset), data.getLong(offset + 8), expiry);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Writes the table to the next generation, copies the records appended
+     * while it was written and swaps it in. Must hold the maintenance monitor.
+     */
+    private void rewrite(final CooldownTable table) throws IOException {
+        final int mark;
+
+        synchronized (this) {
+            mark = this.position;
+        }
+
+        final long next = this.generation + 1;
+        final long size = Math.min(HEADER_SIZE + ((long) table.size() + 2L * HEADROOM_RECORDS) * RECORD_SIZE,
+                MAX_MAPPING);
+        final FileChannel output = FileChannel.open(this.logOf(next).toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final MappedByteBuffer fresh;
+
+        try {
+            fresh = output.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        } catch (final IOException e) {
+            output.close();
+            throw e;
+        }
+
+        fresh.position(HEADER_SIZE);
+
+        table.forEach((most, least, expiry) -> {
+            if (fresh.remaining() < RECORD_SIZE)
+                return;
+
+            fresh.putLong(most);
+            fresh.putLong(least);
+            fresh.putLong(expiry);
+        });
+
+        final FileChannel previous;
+
+        synchronized (this) {
+            // Cooldowns started during the rewrite went to the old log only
+            if (this.buffer != null) {
+                for (int offset = mark; offset < this.position && fresh.remaining() >= RECORD_SIZE;
+                     offset += RECORD_SIZE) {
+                    fresh.putLong(this.buffer.getLong(offset));
+                    fresh.putLong(this.buffer.getLong(offset + 8));
+                    fresh.putLong(this.buffer.getLong(offset + 16));
+                }
+            }
+
+            fresh.putInt(0, MAGIC);
+            fresh.putInt(4, VERSION);
+
+            previous = this.channel;
+            this.channel = output;
+            this.buffer = fresh;
+            this.generation = next;
+            this.position = fresh.position();
+            this.records = (this.position - HEADER_SIZE) / RECORD_SIZE;
+        }
+
+        if (previous != null) {
+            try {
+                previous.close();
+            } catch (final IOException ignored) {
+            }
+        }
+
+        this.deleteOlderGenerations();
+    }
+
+    private void deleteOlderGenerations() {
+        final File[] logs = this.directory.listFiles();
+
+        if (logs == null)
+            return;
+
+        for (final File log : logs) {
+            final long generation = this.generationOf(log.getName());
+
+            if (generation < 0L || generation >= this.generation)
+                continue;
+
+            try {
+                Files.deleteIfExists(log.toPath());
+            } catch (final IOException ignored) {
+                // Still mapped on some file systems, the next compaction tries again
+            }
+        }
+    }
+
+    private File logOf(final long generation) {
+        return new File(this.directory, this.name + "-" + generation + LOG_SUFFIX);
+    }
+
+    /**
+     * Reads the generation from a log file name
+     *
+     * @return The generation, or -1 if the file is not one of this store's logs
+     */
+    private long generationOf(final String fileName) {
+        final String prefix = this.name + "-";
+
+        if (!fileName.startsWith(prefix) || !fileName.endsWith(LOG_SUFFIX))
+            return -1L;
+
+        try {
+            return Long.parseLong(fileName.substring(prefix.length(), fileName.length() - LOG_SUFFIX.length()));
+        } catch (final NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
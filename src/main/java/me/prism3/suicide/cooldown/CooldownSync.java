@@ -0,0 +1,45 @@
+package me.prism3.suicide.cooldown;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.function.Consumer;
+
+
+/**
+ * Transport used to share started cooldowns between servers.
+ * Every method is called from the sync thread, never from a command, so
+ * implementations are free to block on I/O.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public interface CooldownSync {
+
+    /**
+     * Opens the transport
+     *
+     * @throws IOException If the transport cannot be reached
+     */
+    void open() throws IOException;
+
+    /**
+     * Sends a batch of cooldowns started on this server
+     *
+     * @param batch The updates to send, never empty
+     * @throws IOException If the batch could not be delivered
+     */
+    void publish(List<CooldownUpdate> batch) throws IOException;
+
+    /**
+     * Receives cooldowns started on other servers since the last poll
+     *
+     * @param sink Receives each remote update
+     * @throws IOException If the transport could not be read
+     */
+    void poll(Consumer<CooldownUpdate> sink) throws IOException;
+
+    /**
+     * Closes the transport
+     */
+    void close();
+}
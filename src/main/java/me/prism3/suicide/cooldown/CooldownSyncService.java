@@ -0,0 +1,205 @@
+package me.prism3.suicide.cooldown;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.scheduler.TaskScheduler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Propagates started cooldowns between servers through a {@link CooldownSync}.
+ * Commands only enqueue updates; a single asynchronous task publishes them
+ * in batches and merges remote updates into the local table, so local
+ * cooldown checks never wait on the transport.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class CooldownSyncService {
+
+    /**
+     * Maximum updates sent in a single batch
+     */
+    private static final int MAX_BATCH = 512;
+
+    /**
+     * Maximum updates kept while the transport is unavailable
+     */
+    private static final int MAX_PENDING = 65_536;
+
+    private final Suicide plugin;
+    private final CooldownTable table;
+    private final CooldownSync transport;
+
+    /**
+     * Updates waiting to be published
+     */
+    private final ConcurrentLinkedQueue<CooldownUpdate> outgoing = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Size of {@link #outgoing}, whose own size() walks the whole queue
+     */
+    private final AtomicInteger pending = new AtomicInteger();
+
+    private TaskScheduler.Task task;
+
+    /**
+     * Whether the last publish and poll errors have already been logged
+     */
+    private boolean publishFailing;
+    private boolean pollFailing;
+
+    /**
+     * Initializes a new sync service
+     *
+     * @param plugin    Main plugin instance
+     * @param table     The local cooldown table
+     * @param transport The transport to sync through
+     */
+    public CooldownSyncService(final Suicide plugin, final CooldownTable table, final CooldownSync transport) {
+        this.plugin = plugin;
+        this.table = table;
+        this.transport = transport;
+    }
+
+    /**
+     * Opens the transport and starts the sync task
+     *
+     * @param intervalTicks Ticks between two sync rounds
+     * @return true if the transport was opened
+     */
+    public boolean start(final long intervalTicks) {
+
+        try {
+            this.transport.open();
+        } catch (final IOException e) {
+            this.plugin.getLogger().warning("Could not open cooldown sync: " + e.getMessage());
+            return false;
+        }
+
+        this.task = this.plugin.getTaskScheduler().runTimerAsync(this::sync, intervalTicks, intervalTicks);
+        return true;
+    }
+
+    /**
+     * Stops the sync task, publishes what is left and closes the transport
+     */
+    public void stop() {
+
+        if (this.task == null)
+            return;
+
+        this.task.cancel();
+        this.task = null;
+
+        this.flush();
+        this.transport.close();
+    }
+
+    /**
+     * Queues a locally started cooldown for propagation, dropping it if
+     * {@value #MAX_PENDING} updates are already waiting
+     *
+     * @param playerId The player UUID
+     * @param expiry   Cooldown expiry in epoch millis
+     */
+    public void offer(final UUID playerId, final long expiry) {
+
+        if (this.pending.incrementAndGet() > MAX_PENDING) {
+            this.pending.decrementAndGet();
+            return;
+        }
+
+        this.outgoing.add(new CooldownUpdate(playerId.getMostSignificantBits(),
+                playerId.getLeastSignificantBits(), expiry));
+    }
+
+    /**
+     * Runs one sync round: publish queued updates, then apply remote ones
+     */
+    private synchronized void sync() {
+        this.flush();
+
+        final long now = System.currentTimeMillis();
+
+        try {
+            this.transport.poll(update -> {
+                if (update.expiry() > now)
+                    this.table.merge(update.most(), update.least(), update.expiry());
+            });
+            this.pollFailing = false;
+        } catch (final IOException e) {
+            this.pollFailing = this.logFailure(this.pollFailing, "Could not read remote cooldowns: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Publishes every queued update in batches
+     */
+    private synchronized void flush() {
+        final List<CooldownUpdate> batch = new ArrayList<>(Math.min(MAX_BATCH, this.pending.get()));
+        CooldownUpdate update;
+
+        while ((update = this.outgoing.poll()) != null) {
+            this.pending.decrementAndGet();
+            batch.add(update);
+
+            if (batch.size() == MAX_BATCH && !this.publish(batch))
+                return;
+        }
+
+        if (!batch.isEmpty())
+            this.publish(batch);
+    }
+
+    /**
+     * Sends a batch, re-queueing it when the transport is unavailable
+     */
+    private boolean publish(final List<CooldownUpdate> batch) {
+
+        try {
+            this.transport.publish(batch);
+            batch.clear();
+            this.publishFailing = false;
+            return true;
+        } catch (final IOException e) {
+            if (this.pending.get() + batch.size() <= MAX_PENDING) {
+                this.pending.addAndGet(batch.size());
+                this.outgoing.addAll(batch);
+            }
+
+            batch.clear();
+            this.publishFailing = this.logFailure(this.publishFailing,
+                    "Could not publish cooldowns: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Logs a transport error once until the failing path recovers,
+     * publishing and polling are tracked apart
+     *
+     * @param failing Whether the path is already failing
+     * @param message The error to log
+     * @return The new failing state, always true
+     */
+    private boolean logFailure(final boolean failing, final String message) {
+
+        if (!failing)
+            this.plugin.getLogger().warning(message);
+
+        return true;
+    }
+
+    /**
+     * Gets the number of updates waiting to be published
+     *
+     * @return Pending update count
+     */
+    public int getPendingCount() { return this.pending.get(); }
+}
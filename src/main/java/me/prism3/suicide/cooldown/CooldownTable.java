@@ -0,0 +1,365 @@
+package me.prism3.suicide.cooldown;
+
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+
+/**
+ * Open-addressing hash table mapping player UUIDs to cooldown expiry timestamps.
+ * Keys are stored as the UUID's two longs next to the expiry in one primitive
+ * array so lookups never box. Reads are optimistic and only fall back to a read lock
+ * when they race with a write.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class CooldownTable {
+
+    /**
+     * Expiry value marking an empty slot, real expiries are epoch millis
+     */
+    private static final long EMPTY = 0L;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Longs per slot: most significant bits, least significant bits, expiry
+     */
+    private static final int STRIDE = 3;
+
+    /**
+     * Slots scanned per write lock hold while expiring
+     */
+    private static final int EXPIRE_SLICE = 1024;
+
+    private final StampedLock lock = new StampedLock();
+
+    private long[] table;
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty table
+     */
+    public CooldownTable() { this.allocate(DEFAULT_CAPACITY); }
+
+    /**
+     * Gets the expiry timestamp stored for a player
+     *
+     * @param id The player UUID
+     * @return Expiry in epoch millis, or 0 if none
+     */
+    public long get(final UUID id) {
+        final long most = id.getMostSignificantBits();
+        final long least = id.getLeastSignificantBits();
+
+        long stamp = this.lock.tryOptimisticRead();
+        long expiry = this.find(most, least);
+
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                expiry = this.find(most, least);
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return expiry;
+    }
+
+    /**
+     * Atomically checks a player's cooldown and starts a new one if it has passed
+     *
+     * @param id     The player UUID
+     * @param now    Current time in epoch millis
+     * @param expiry New expiry to store when the player is free
+     * @return 0 if the cooldown was set, otherwise the still active expiry
+     */
+    public long checkAndSet(final UUID id, final long now, final long expiry) {
+        final long most = id.getMostSignificantBits();
+        final long least = id.getLeastSignificantBits();
+        final long stamp = this.lock.writeLock();
+
+        try {
+            final int slot = this.slotOf(most, least);
+            final long current = this.expiryAt(slot);
+
+            if (current > now)
+                return current;
+
+            this.store(slot, most, least, expiry);
+            return 0L;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Stores an expiry, keeping the later one if an entry already exists
+     *
+     * @param id     The player UUID
+     * @param expiry Expiry in epoch millis
+     */
+    public void merge(final UUID id, final long expiry) {
+        this.merge(id.getMostSignificantBits(), id.getLeastSignificantBits(), expiry);
+    }
+
+    /**
+     * Stores an expiry by raw UUID bits, keeping the later one if an entry already exists
+     *
+     * @param most   The UUID's most significant bits
+     * @param least  The UUID's least significant bits
+     * @param expiry Expiry in epoch millis
+     */
+    public void merge(final long most, final long least, final long expiry) {
+
+        if (expiry <= EMPTY)
+            return;
+
+        final long stamp = this.lock.writeLock();
+
+        try {
+            final int slot = this.slotOf(most, least);
+
+            if (this.expiryAt(slot) < expiry)
+                this.store(slot, most, least, expiry);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes a player's entry
+     *
+     * @param id The player UUID
+     * @return true if an entry was removed
+     */
+    public boolean remove(final UUID id) {
+        final long stamp = this.lock.writeLock();
+
+        try {
+            final int slot = this.slotOf(id.getMostSignificantBits(), id.getLeastSignificantBits());
+
+            if (this.expiryAt(slot) == EMPTY)
+                return false;
+
+            this.delete(slot);
+            return true;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes every entry that has expired.
+     * The table is scanned in slices of {@link #EXPIRE_SLICE} slots and the write lock
+     * is released between them, so lookups and check-and-sets never wait on a full scan.
+     * Entries moved by a resize during the scan are left for the next sweep.
+     *
+     * @param now Current time in epoch millis
+     * @return Number of entries removed
+     */
+    public int expire(final long now) {
+        int removed = 0;
+        int start = 0;
+
+        while (true) {
+            final long stamp = this.lock.writeLock();
+
+            try {
+                final int end = Math.min(start + EXPIRE_SLICE, this.capacity());
+
+                if (start >= end)
+                    return removed;
+
+                removed += this.expireSlice(start, end, now);
+                start = end;
+            } finally {
+                this.lock.unlockWrite(stamp);
+            }
+        }
+    }
+
+    /**
+     * Visits every live entry while holding the read lock
+     *
+     * @param visitor Receives the UUID bits and expiry of each entry
+     */
+    public void forEach(final EntryVisitor visitor) {
+        final long stamp = this.lock.readLock();
+
+        try {
+            for (int base = 0; base < this.table.length; base += STRIDE) {
+                if (this.table[base + 2] != EMPTY)
+                    visitor.visit(this.table[base], this.table[base + 1], this.table[base + 2]);
+            }
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Removes every entry
+     */
+    public void clear() {
+        final long stamp = this.lock.writeLock();
+
+        try {
+            this.allocate(DEFAULT_CAPACITY);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Gets the number of stored entries, including expired ones not yet swept
+     *
+     * @return Entry count
+     */
+    public int size() {
+        final long stamp = this.lock.readLock();
+
+        try {
+            return this.size;
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Receives table entries during iteration
+     */
+    @FunctionalInterface
+    public interface EntryVisitor {
+        void visit(long most, long least, long expiry);
+    }
+
+    private long find(final long most, final long least) {
+        // Read the array once so a concurrent resize cannot hand us mismatched state
+        final long[] table0 = this.table;
+        final int mask0 = (table0.length / STRIDE) - 1;
+
+        for (int slot = hash(most, least) & mask0, probes = 0; probes <= mask0; slot = (slot + 1) & mask0, probes++) {
+            final int base = slot * STRIDE;
+            final long expiry = table0[base + 2];
+
+            if (expiry == EMPTY)
+                return EMPTY;
+            if (table0[base] == most && table0[base + 1] == least)
+                return expiry;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Finds the slot holding the key, or the empty slot where it would be inserted
+     */
+    private int slotOf(final long most, final long least) {
+        int slot = hash(most, least) & this.mask;
+
+        while (this.expiryAt(slot) != EMPTY
+                && (this.table[slot * STRIDE] != most || this.table[slot * STRIDE + 1] != least)) {
+            slot = (slot + 1) & this.mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Removes the expired entries in a range of slots, the write lock must be held
+     */
+    private int expireSlice(final int start, final int end, final long now) {
+        int removed = 0;
+        int slot = start;
+
+        while (slot < end) {
+            final long expiry = this.expiryAt(slot);
+
+            if (expiry != EMPTY && expiry <= now) {
+                // The backward shift may move another entry into this slot, so check it again
+                this.delete(slot);
+                removed++;
+            } else {
+                slot++;
+            }
+        }
+        return removed;
+    }
+
+    private long expiryAt(final int slot) { return this.table[slot * STRIDE + 2]; }
+
+    private void store(final int slot, final long most, final long least, final long expiry) {
+        final int base = slot * STRIDE;
+
+        if (this.table[base + 2] != EMPTY) {
+            this.table[base + 2] = expiry;
+            return;
+        }
+
+        this.table[base] = most;
+        this.table[base + 1] = least;
+        this.table[base + 2] = expiry;
+
+        if (++this.size > this.capacity() >> 1)
+            this.resize(this.capacity() << 1);
+    }
+
+    /**
+     * Deletes a slot using backward shift so no tombstones are left behind
+     */
+    private void delete(int slot) {
+        this.size--;
+
+        int next = (slot + 1) & this.mask;
+
+        while (this.expiryAt(next) != EMPTY) {
+            final int home = hash(this.table[next * STRIDE], this.table[next * STRIDE + 1]) & this.mask;
+
+            // Move the entry back if its home is not between the hole and its current slot
+            if (((next - home) & this.mask) >= ((next - slot) & this.mask)) {
+                System.arraycopy(this.table, next * STRIDE, this.table, slot * STRIDE, STRIDE);
+                slot = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+
+        this.table[slot * STRIDE + 2] = EMPTY;
+    }
+
+    private void resize(final int capacity) {
+        final long[] old = this.table;
+        final long[] resized = new long[capacity * STRIDE];
+        final int resizedMask = capacity - 1;
+
+        for (int base = 0; base < old.length; base += STRIDE) {
+            if (old[base + 2] == EMPTY)
+                continue;
+
+            int slot = hash(old[base], old[base + 1]) & resizedMask;
+
+            while (resized[slot * STRIDE + 2] != EMPTY)
+                slot = (slot + 1) & resizedMask;
+
+            System.arraycopy(old, base, resized, slot * STRIDE, STRIDE);
+        }
+
+        // Publish the fully built array in one write for optimistic readers
+        this.mask = resizedMask;
+        this.table = resized;
+    }
+
+    private void allocate(final int capacity) {
+        this.table = new long[capacity * STRIDE];
+        this.mask = capacity - 1;
+        this.size = 0;
+    }
+
+    private int capacity() { return this.table.length / STRIDE; }
+
+    private static int hash(final long most, final long least) {
+        long h = most ^ Long.rotateLeft(least, 32);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
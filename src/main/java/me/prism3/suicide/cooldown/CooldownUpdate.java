@@ -0,0 +1,14 @@
+package me.prism3.suicide.cooldown;
+
+
+/**
+ * A cooldown started on one server, propagated to the others.
+ *
+ * @param most   The player UUID's most significant bits
+ * @param least  The player UUID's least significant bits
+ * @param expiry Cooldown expiry in epoch millis
+ * @author Prism3
+ * @since 1.5.2
+ */
+public record CooldownUpdate(long most, long least, long expiry) {
+}
@@ -0,0 +1,249 @@
+package me.prism3.suicide.cooldown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+
+/**
+ * Reference {@link CooldownSync} sharing cooldowns through a directory every
+ * server can reach, such as a network mount. Each server appends 24 byte
+ * records to its own {@code <server-id>-<generation>.log} and tails the logs
+ * of the others.
+ *
+ * <p>Logs are never truncated. A full log is rotated to the next generation,
+ * so readers finish the old one at their own offset while the new one fills.
+ * The owner deletes generations two rotations old, and readers forget the
+ * offsets of logs that are gone.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class FileCooldownSync implements CooldownSync {
+
+    private static final int RECORD_SIZE = 24;
+
+    /**
+     * Size at which the own log is rotated to the next generation
+     */
+    private static final long MAX_LOG_SIZE = 4L * 1024 * 1024;
+
+    private static final String LOG_SUFFIX = ".log";
+
+    private final File directory;
+    private final String serverId;
+
+    /**
+     * Read offsets of the other servers' logs
+     */
+    private final Map<String, Long> offsets = new HashMap<>();
+
+    private FileChannel output;
+
+    /**
+     * Generation of the own log being written
+     */
+    private long generation;
+
+    /**
+     * Initializes a new shared directory transport
+     *
+     * @param directory The shared directory
+     * @param serverId  Unique id of this server
+     */
+    public FileCooldownSync(final File directory, final String serverId) {
+        this.directory = directory;
+        this.serverId = serverId;
+    }
+
+    @Override
+    public void open() throws IOException {
+
+        if (!this.directory.exists() && !this.directory.mkdirs())
+            throw new IOException("Could not create " + this.directory);
+
+        final File[] logs = this.directory.listFiles();
+        long last = -1L;
+
+        if (logs != null) {
+            for (final File log : logs)
+                last = Math.max(last, this.generationOf(log.getName()));
+        }
+
+        // The single log written before generations, read by the others like a foreign one
+        Files.deleteIfExists(new File(this.directory, this.serverId + LOG_SUFFIX).toPath());
+
+        // Every run starts a fresh generation, so no reader holds an offset into it
+        this.generation = last;
+        this.rotate();
+    }
+
+    @Override
+    public void publish(final List<CooldownUpdate> batch) throws IOException {
+
+        if (this.output.size() + (long) batch.size() * RECORD_SIZE > MAX_LOG_SIZE && this.output.size() > 0)
+            this.rotate();
+
+        final ByteBuffer buffer = ByteBuffer.allocate(batch.size() * RECORD_SIZE);
+
+        for (final CooldownUpdate update : batch) {
+            buffer.putLong(update.most());
+            buffer.putLong(update.least());
+            buffer.putLong(update.expiry());
+        }
+
+        buffer.flip();
+
+        while (buffer.hasRemaining())
+            this.output.write(buffer);
+    }
+
+    @Override
+    public void poll(final Consumer<CooldownUpdate> sink) throws IOException {
+        final File[] logs = this.directory.listFiles((dir, name) ->
+                name.endsWith(LOG_SUFFIX) && this.generationOf(name) < 0L);
+
+        if (logs == null)
+            return;
+
+        final Set<String> names = new HashSet<>();
+
+        for (final File log : logs) {
+            names.add(log.getName());
+            this.tail(log, sink);
+        }
+
+        // Rotated away and deleted by their owner
+        this.offsets.keySet().retainAll(names);
+    }
+
+    /**
+     * Closes the own log and starts the next generation, deleting the ones
+     * readers have had a full rotation to finish
+     */
+    private void rotate() throws IOException {
+
+        if (this.output != null)
+            this.output.close();
+
+        this.generation++;
+        this.output = FileChannel.open(this.logOf(this.generation).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        final File[] logs = this.directory.listFiles();
+
+        if (logs == null)
+            return;
+
+        for (final File log : logs) {
+            final long generation = this.generationOf(log.getName());
+
+            if (generation < 0L || generation >= this.generation - 1)
+                continue;
+
+            try {
+                Files.deleteIfExists(log.toPath());
+            } catch (final IOException ignored) {
+                // Still open elsewhere on some file systems, the next rotation tries again
+            }
+        }
+    }
+
+    private File logOf(final long generation) {
+        return new File(this.directory, this.serverId + "-" + generation + LOG_SUFFIX);
+    }
+
+    /**
+     * Reads the generation from the name of an own log
+     *
+     * @return The generation, or -1 if the log belongs to another server
+     */
+    private long generationOf(final String name) {
+        final String prefix = this.serverId + "-";
+
+        if (!name.startsWith(prefix) || !name.endsWith(LOG_SUFFIX))
+            return -1L;
+
+        try {
+            return Long.parseLong(name.substring(prefix.length(), name.length() - LOG_SUFFIX.length()));
+        } catch (final NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Reads every complete record appended to a log since the last poll
+     */
+    private void tail(final File log, final Consumer<CooldownUpdate> sink) throws IOException {
+
+        final FileChannel channel;
+
+        try {
+            channel = FileChannel.open(log.toPath(), StandardOpenOption.READ);
+        } catch (final NoSuchFileException e) {
+            // Deleted by its owner since the listing
+            return;
+        }
+
+        try (channel) {
+            final long size = channel.size();
+            long offset = this.offsets.getOrDefault(log.getName(), 0L);
+
+            // Logs only grow, a shorter one was deleted and created again between two polls
+            if (size < offset)
+                offset = 0L;
+
+            final long end = offset + (size - offset) / RECORD_SIZE * RECORD_SIZE;
+
+            if (end == offset)
+                return;
+
+            final ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(end - offset, MAX_LOG_SIZE + RECORD_SIZE));
+            channel.position(offset);
+
+            while (offset < end) {
+                buffer.clear().limit((int) Math.min(buffer.capacity(), end - offset));
+
+                while (buffer.hasRemaining() && channel.read(buffer) > 0) {
+                    // Fill the buffer
+                }
+
+                buffer.flip();
+
+                // The log was restarted while reading
+                if (!buffer.hasRemaining())
+                    break;
+
+                offset += buffer.remaining();
+
+                while (buffer.remaining() >= RECORD_SIZE)
+                    sink.accept(new CooldownUpdate(buffer.getLong(), buffer.getLong(), buffer.getLong()));
+            }
+
+            this.offsets.put(log.getName(), offset);
+        }
+    }
+
+    @Override
+    public void close() {
+
+        if (this.output == null)
+            return;
+
+        try {
+            this.output.close();
+        } catch (final IOException ignored) {
+        }
+        this.output = null;
+    }
+}
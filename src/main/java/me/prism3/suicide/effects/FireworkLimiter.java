@@ -0,0 +1,174 @@
+package me.prism3.suicide.effects;
+
+import me.prism3.suicide.utils.Settings;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Limits how many suicide fireworks are spawned per chunk and per tick.
+ * Requests in a chunk that already got its rockets for the current window
+ * are dropped, and so are requests over the server wide per-tick budget.
+ *
+ * <p>Chunk counts live in a fixed size open-addressing table keyed by the
+ * packed chunk coordinates. Every slot is stamped with the window it was
+ * written in, so a new window starts empty without clearing anything. Slots
+ * start stamped with window -1, which no tick maps to.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class FireworkLimiter {
+
+    /**
+     * Chunks tracked per window, a power of two
+     */
+    private static final int CAPACITY = 1024;
+
+    /**
+     * Most chunks filled in one window before new chunks are refused
+     */
+    private static final int MAX_FILL = CAPACITY * 3 / 4;
+
+    private final long[] chunkKeys = new long[CAPACITY];
+    private final World[] worlds = new World[CAPACITY];
+    private final int[] counts = new int[CAPACITY];
+    private final long[] windows = new long[CAPACITY];
+
+    private long currentWindow = -1L;
+    private int filled;
+
+    private long currentTick = -1L;
+    private int spawnedThisTick;
+
+    private final LongAdder spawned = new LongAdder();
+    private final LongAdder chunkDropped = new LongAdder();
+    private final LongAdder suppressed = new LongAdder();
+
+    /**
+     * Initializes a limiter with every slot free
+     */
+    public FireworkLimiter() {
+        Arrays.fill(this.windows, -1L);
+    }
+
+    /**
+     * Decides whether a firework may be spawned at the given location
+     *
+     * @param loc      The requested spawn location
+     * @param settings The limiter settings in use
+     * @return true if the firework should be spawned
+     */
+    public synchronized boolean tryAcquire(final Location loc, final Settings.LimiterSettings settings) {
+
+        if (!settings.enabled()) {
+            this.spawned.increment();
+            return true;
+        }
+
+        final long tick = Bukkit.getCurrentTick();
+
+        if (tick != this.currentTick) {
+            this.currentTick = tick;
+            this.spawnedThisTick = 0;
+        }
+
+        final long window = tick / settings.windowTicks();
+
+        if (window != this.currentWindow) {
+            this.currentWindow = window;
+            this.filled = 0;
+        }
+
+        final int slot = this.slotOf(loc.getWorld(), chunkKey(loc.getBlockX() >> 4, loc.getBlockZ() >> 4));
+
+        if (slot >= 0 && this.counts[slot] >= settings.perChunk()) {
+            this.chunkDropped.increment();
+            return false;
+        }
+
+        if (slot < 0 || this.spawnedThisTick >= settings.perTick()) {
+            this.suppressed.increment();
+            return false;
+        }
+
+        this.counts[slot]++;
+        this.spawnedThisTick++;
+        this.spawned.increment();
+        return true;
+    }
+
+    /**
+     * Finds or claims the slot of a chunk for the current window
+     *
+     * @return The slot, or -1 if the table is full for this window
+     */
+    private int slotOf(final World world, final long key) {
+        final int mask = CAPACITY - 1;
+        int slot = hash(key) & mask;
+        int probes = 0;
+
+        while (this.windows[slot] == this.currentWindow) {
+            if (this.chunkKeys[slot] == key && this.worlds[slot] == world)
+                return slot;
+
+            // Never spin over a full table
+            if (++probes == CAPACITY)
+                return -1;
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (this.filled >= MAX_FILL)
+            return -1;
+
+        // Slots from older windows count as empty and are reused in place
+        this.windows[slot] = this.currentWindow;
+        this.chunkKeys[slot] = key;
+        this.worlds[slot] = world;
+        this.counts[slot] = 0;
+        this.filled++;
+        return slot;
+    }
+
+    /**
+     * Packs chunk coordinates into a single long
+     *
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     * @return The packed key
+     */
+    public static long chunkKey(final int chunkX, final int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private static int hash(final long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Gets the number of fireworks allowed to spawn
+     *
+     * @return Spawned firework count
+     */
+    public long getSpawned() { return this.spawned.sum(); }
+
+    /**
+     * Gets the number of requests dropped by the per-chunk budget
+     *
+     * @return Request count dropped per chunk
+     */
+    public long getChunkDropped() { return this.chunkDropped.sum(); }
+
+    /**
+     * Gets the number of requests dropped by the per-tick budget
+     *
+     * @return Suppressed request count
+     */
+    public long getSuppressed() { return this.suppressed.sum(); }
+}
@@ -0,0 +1,209 @@
+package me.prism3.suicide.effects;
+
+import org.bukkit.Bukkit;
+
+import java.util.function.IntSupplier;
+
+
+/**
+ * Tracks the entity ids of fireworks spawned by the plugin so their damage
+ * can be cancelled without going through Bukkit's string keyed metadata.
+ * Ids are stored in an open-addressing int table with an expiry tick each;
+ * entries are released shortly after the firework explodes or once their
+ * time to live runs out. An expired entry stops protecting its firework
+ * right away and is swept by the next add, release or size read.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class ProtectedFireworks {
+
+    /**
+     * Ticks an entry lives without an explosion, longer than any firework flight
+     */
+    private static final int TTL_TICKS = 100;
+
+    /**
+     * Ticks between two sweeps of expired entries
+     */
+    private static final int SWEEP_INTERVAL_TICKS = 20;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    /**
+     * Expiry value marking an empty slot, real expiries are always positive
+     */
+    private static final int EMPTY = 0;
+
+    /**
+     * Source of the current server tick
+     */
+    private final IntSupplier clock;
+
+    private int[] ids = new int[DEFAULT_CAPACITY];
+    private int[] expiries = new int[DEFAULT_CAPACITY];
+    private int size;
+    private int lastSweep;
+
+    /**
+     * Creates an empty registry reading the server's tick
+     */
+    public ProtectedFireworks() { this(Bukkit::getCurrentTick); }
+
+    /**
+     * Creates an empty registry with its own tick source
+     *
+     * @param clock Returns the current tick
+     */
+    ProtectedFireworks(final IntSupplier clock) { this.clock = clock; }
+
+    /**
+     * Starts protecting a firework
+     *
+     * @param entityId The firework's entity id
+     */
+    public synchronized void add(final int entityId) {
+        final int tick = this.clock.getAsInt();
+
+        this.sweepIfDue(tick);
+
+        final int slot = this.slotOf(entityId);
+
+        if (this.expiries[slot] == EMPTY) {
+            this.ids[slot] = entityId;
+            this.size++;
+        }
+        this.expiries[slot] = tick + TTL_TICKS;
+
+        if (this.size > this.ids.length >> 1)
+            this.resize(this.ids.length << 1);
+    }
+
+    /**
+     * Checks whether a firework is protected
+     *
+     * @param entityId The firework's entity id
+     * @return true if its damage should be cancelled
+     */
+    public synchronized boolean contains(final int entityId) {
+
+        if (this.size == 0)
+            return false;
+
+        final int expiry = this.expiries[this.slotOf(entityId)];
+        return expiry != EMPTY && expiry > this.clock.getAsInt();
+    }
+
+    /**
+     * Releases a firework after it exploded.
+     * The entry is kept until the next tick since the explosion damage follows the event.
+     *
+     * @param entityId The firework's entity id
+     */
+    public synchronized void release(final int entityId) {
+        final int tick = this.clock.getAsInt();
+        final int slot = this.slotOf(entityId);
+
+        if (this.expiries[slot] != EMPTY)
+            this.expiries[slot] = Math.min(this.expiries[slot], tick + 1);
+
+        this.sweepIfDue(tick);
+    }
+
+    /**
+     * Gets the number of protected fireworks, sweeping the expired ones first
+     *
+     * @return Live entry count
+     */
+    public synchronized int size() {
+        final int tick = this.clock.getAsInt();
+
+        this.expire(tick);
+        this.lastSweep = tick;
+        return this.size;
+    }
+
+    /**
+     * Removes the expired entries if the last sweep is old enough
+     */
+    private void sweepIfDue(final int tick) {
+
+        if (tick - this.lastSweep < SWEEP_INTERVAL_TICKS)
+            return;
+
+        this.expire(tick);
+        this.lastSweep = tick;
+    }
+
+    /**
+     * Removes every expired entry
+     */
+    private void expire(final int tick) {
+        int slot = 0;
+
+        while (slot < this.ids.length) {
+            if (this.expiries[slot] != EMPTY && this.expiries[slot] <= tick) {
+                // The backward shift may move another entry into this slot, so check it again
+                this.delete(slot);
+            } else {
+                slot++;
+            }
+        }
+    }
+
+    private int slotOf(final int entityId) {
+        final int mask = this.ids.length - 1;
+        int slot = hash(entityId) & mask;
+
+        while (this.expiries[slot] != EMPTY && this.ids[slot] != entityId)
+            slot = (slot + 1) & mask;
+
+        return slot;
+    }
+
+    /**
+     * Deletes a slot using backward shift so no tombstones are left behind
+     */
+    private void delete(int slot) {
+        final int mask = this.ids.length - 1;
+        this.size--;
+
+        int next = (slot + 1) & mask;
+
+        while (this.expiries[next] != EMPTY) {
+            final int home = hash(this.ids[next]) & mask;
+
+            // Move the entry back if its home is not between the hole and its current slot
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                this.ids[slot] = this.ids[next];
+                this.expiries[slot] = this.expiries[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        this.expiries[slot] = EMPTY;
+    }
+
+    private void resize(final int capacity) {
+        final int[] oldIds = this.ids;
+        final int[] oldExpiries = this.expiries;
+
+        this.ids = new int[capacity];
+        this.expiries = new int[capacity];
+
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldExpiries[i] == EMPTY)
+                continue;
+
+            final int slot = this.slotOf(oldIds[i]);
+            this.ids[slot] = oldIds[i];
+            this.expiries[slot] = oldExpiries[i];
+        }
+    }
+
+    private static int hash(final int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -1,5 +1,7 @@
 package me.prism3.suicide.events;
 
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.effects.ProtectedFireworks;
 import org.bukkit.entity.Entity;
 import org.bukkit.entity.Firework;
 import org.bukkit.event.EventHandler;
@@ -10,7 +12,7 @@ import org.bukkit.event.entity.EntityDamageByEntityEvent;
 
 /**
  * Prevents damage from fireworks spawned by the suicide command.
- * Identifies plugin-generated fireworks through metadata tags.
+ * Identifies plugin-generated fireworks through their tracked entity ids.
  *
  * @author Prism3
  * @since 1.0
@@ -18,9 +20,16 @@ import org.bukkit.event.entity.EntityDamageByEntityEvent;
 public class EntityDamage implements Listener {
 
     /**
-     * Metadata key used to identify safe fireworks
+     * Tracker of fireworks spawned by the plugin
      */
-    private static final String NO_DAMAGE_META = "noDamage";
+    private final ProtectedFireworks fireworks;
+
+    /**
+     * Initializes a new EntityDamage event listener
+     */
+    public EntityDamage() {
+        this.fireworks = Suicide.getInstance().getProtectedFireworks();
+    }
 
     /**
      * Handles entity damage events caused by fireworks
@@ -42,7 +51,7 @@ public class EntityDamage implements Listener {
      */
     private boolean isProtectedFirework(final Entity damager) {
         if (damager instanceof Firework firework) {
-            return firework.hasMetadata(NO_DAMAGE_META);
+            return this.fireworks.contains(firework.getEntityId());
         }
         return false;
     }
@@ -0,0 +1,39 @@
+package me.prism3.suicide.events;
+
+import me.prism3.suicide.Suicide;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.FireworkExplodeEvent;
+
+
+/**
+ * Releases protected fireworks once they explode.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class FireworkExplode implements Listener {
+
+    /**
+     * Reference to the main plugin instance
+     */
+    private final Suicide plugin;
+
+    /**
+     * Initializes a new FireworkExplode event listener
+     */
+    public FireworkExplode() {
+        this.plugin = Suicide.getInstance();
+    }
+
+    /**
+     * Handles firework explosions to stop tracking plugin fireworks
+     *
+     * @param event The FireworkExplodeEvent being processed
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onFireworkExplode(final FireworkExplodeEvent event) {
+        this.plugin.getProtectedFireworks().release(event.getEntity().getEntityId());
+    }
+}
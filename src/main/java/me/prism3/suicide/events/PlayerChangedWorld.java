@@ -0,0 +1,39 @@
+package me.prism3.suicide.events;
+
+import me.prism3.suicide.Suicide;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+
+
+/**
+ * Keeps the cached world of each player session up to date.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class PlayerChangedWorld implements Listener {
+
+    /**
+     * Reference to the main plugin instance
+     */
+    private final Suicide plugin;
+
+    /**
+     * Initializes a new PlayerChangedWorld event listener
+     */
+    public PlayerChangedWorld() {
+        this.plugin = Suicide.getInstance();
+    }
+
+    /**
+     * Handles world changes to update the player's session
+     *
+     * @param event The PlayerChangedWorldEvent being processed
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(final PlayerChangedWorldEvent event) {
+        this.plugin.getSessions().changeWorld(event.getPlayer());
+    }
+}
@@ -0,0 +1,43 @@
+package me.prism3.suicide.events;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.session.CountdownManager;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageEvent;
+
+
+/**
+ * Cancels the confirmation countdown of players who take damage.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class PlayerDamage implements Listener {
+
+    /**
+     * Pending confirmation countdowns
+     */
+    private final CountdownManager countdowns;
+
+    /**
+     * Initializes a new PlayerDamage event listener
+     */
+    public PlayerDamage() {
+        this.countdowns = Suicide.getInstance().getCountdowns();
+    }
+
+    /**
+     * Handles damage dealt to players, returning at once while no countdown is pending
+     *
+     * @param event The EntityDamageEvent being processed
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDamage(final EntityDamageEvent event) {
+        if (this.countdowns.hasPending() && event.getEntity() instanceof Player player) {
+            this.countdowns.damaged(player);
+        }
+    }
+}
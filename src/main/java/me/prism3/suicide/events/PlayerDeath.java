@@ -1,6 +1,8 @@
 package me.prism3.suicide.events;
 
 import me.prism3.suicide.Suicide;
+import me.prism3.suicide.session.PlayerSession;
+import me.prism3.suicide.utils.EffectProfiles;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
@@ -30,7 +32,8 @@ public class PlayerDeath implements Listener {
     }
 
     /**
-     * Handles player death events to suppress death messages when required
+     * Handles player death events to consume the tracked suicide and
+     * suppress the death message when required
      *
      * @param event The PlayerDeathEvent being processed
      */
@@ -38,30 +41,27 @@ public class PlayerDeath implements Listener {
     public void onDeath(final PlayerDeathEvent event) {
         final Player player = event.getEntity();
 
+        // Always consume the entry so it never outlives the death it was tracking
+        if (!plugin.getSuicides().consume(player.getUniqueId()))
+            return;
+
         if (shouldSilenceDeathMessage(player)) {
-            handleSilentDeath(event, player);
+            event.setDeathMessage(null);
         }
     }
 
     /**
-     * Determines if a death message should be silenced
+     * Determines if the death message of a tracked suicide should be silenced,
+     * following the broadcast setting of the player's effect profile
      *
      * @param player The player who died
      * @return true if death message should be suppressed, false otherwise
      */
     private boolean shouldSilenceDeathMessage(final Player player) {
-        return plugin.getPlayers().contains(player.getUniqueId())
-                && !plugin.getData().isBroadcastEnabled();
-    }
+        final EffectProfiles profiles = plugin.getData().getSettings().effects();
+        final PlayerSession session = plugin.getSessions().get(player);
 
-    /**
-     * Processes silent death cleanup operations
-     *
-     * @param event The death event to modify
-     * @param player The player associated with the death
-     */
-    private void handleSilentDeath(final PlayerDeathEvent event, final Player player) {
-        plugin.getPlayers().remove(player.getUniqueId());
-        event.setDeathMessage(null);
+        return !profiles.get(session.getWorldIndex(),
+                profiles.hasTiers() ? session.getEffectTier(player, profiles) : 0).broadcast();
     }
 }
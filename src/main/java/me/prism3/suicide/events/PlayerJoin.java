@@ -0,0 +1,39 @@
+package me.prism3.suicide.events;
+
+import me.prism3.suicide.Suicide;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+
+/**
+ * Opens a session for every joining player.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class PlayerJoin implements Listener {
+
+    /**
+     * Reference to the main plugin instance
+     */
+    private final Suicide plugin;
+
+    /**
+     * Initializes a new PlayerJoin event listener
+     */
+    public PlayerJoin() {
+        this.plugin = Suicide.getInstance();
+    }
+
+    /**
+     * Handles player joins to open their session
+     *
+     * @param event The PlayerJoinEvent being processed
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(final PlayerJoinEvent event) {
+        this.plugin.getSessions().open(event.getPlayer());
+    }
+}
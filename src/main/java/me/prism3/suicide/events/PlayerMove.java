@@ -0,0 +1,54 @@
+package me.prism3.suicide.events;
+
+import me.prism3.suicide.Suicide;
+import org.bukkit.Location;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+
+/**
+ * Keeps the chunk index up to date as players walk across chunk borders
+ * and cancels confirmation countdowns when players leave their block.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class PlayerMove implements Listener {
+
+    /**
+     * Reference to the main plugin instance
+     */
+    private final Suicide plugin;
+
+    /**
+     * Initializes a new PlayerMove event listener
+     */
+    public PlayerMove() {
+        this.plugin = Suicide.getInstance();
+    }
+
+    /**
+     * Handles player moves, ignoring the ones within a block such as head
+     * rotations, and only touching the index when the chunk changes
+     *
+     * @param event The PlayerMoveEvent being processed
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(final PlayerMoveEvent event) {
+        final Location from = event.getFrom();
+        final Location to = event.getTo();
+
+        if (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY()
+                && from.getBlockZ() == to.getBlockZ())
+            return;
+
+        this.plugin.getCountdowns().moved(event.getPlayer(), to);
+
+        if ((from.getBlockX() >> 4) == (to.getBlockX() >> 4) && (from.getBlockZ() >> 4) == (to.getBlockZ() >> 4))
+            return;
+
+        this.plugin.getSessions().move(event.getPlayer(), to);
+    }
+}
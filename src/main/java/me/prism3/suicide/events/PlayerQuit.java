@@ -0,0 +1,42 @@
+package me.prism3.suicide.events;
+
+import me.prism3.suicide.Suicide;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+
+/**
+ * Drops per-player state when a player leaves.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class PlayerQuit implements Listener {
+
+    /**
+     * Reference to the main plugin instance
+     */
+    private final Suicide plugin;
+
+    /**
+     * Initializes a new PlayerQuit event listener
+     */
+    public PlayerQuit() {
+        this.plugin = Suicide.getInstance();
+    }
+
+    /**
+     * Handles player quits to drop their countdown, close their session and drop tracked suicides
+     *
+     * @param event The PlayerQuitEvent being processed
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(final PlayerQuitEvent event) {
+        // The countdown is found through the session, so drop it first
+        this.plugin.getCountdowns().purge(event.getPlayer());
+        this.plugin.getSessions().close(event.getPlayer());
+        this.plugin.getSuicides().purge(event.getPlayer().getUniqueId());
+    }
+}
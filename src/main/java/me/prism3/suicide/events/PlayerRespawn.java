@@ -0,0 +1,39 @@
+package me.prism3.suicide.events;
+
+import me.prism3.suicide.Suicide;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerRespawnEvent;
+
+
+/**
+ * Keeps the chunk index up to date when players respawn.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class PlayerRespawn implements Listener {
+
+    /**
+     * Reference to the main plugin instance
+     */
+    private final Suicide plugin;
+
+    /**
+     * Initializes a new PlayerRespawn event listener
+     */
+    public PlayerRespawn() {
+        this.plugin = Suicide.getInstance();
+    }
+
+    /**
+     * Handles respawns to move the player to their respawn location in the chunk index
+     *
+     * @param event The PlayerRespawnEvent being processed
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(final PlayerRespawnEvent event) {
+        this.plugin.getSessions().move(event.getPlayer(), event.getRespawnLocation());
+    }
+}
@@ -0,0 +1,41 @@
+package me.prism3.suicide.events;
+
+import me.prism3.suicide.Suicide;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerTeleportEvent;
+
+
+/**
+ * Keeps the chunk index up to date when players teleport.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class PlayerTeleport implements Listener {
+
+    /**
+     * Reference to the main plugin instance
+     */
+    private final Suicide plugin;
+
+    /**
+     * Initializes a new PlayerTeleport event listener
+     */
+    public PlayerTeleport() {
+        this.plugin = Suicide.getInstance();
+    }
+
+    /**
+     * Handles teleports to move the player in the chunk index and cancel
+     * a countdown the teleport takes the player away from
+     *
+     * @param event The PlayerTeleportEvent being processed
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(final PlayerTeleportEvent event) {
+        this.plugin.getCountdowns().moved(event.getPlayer(), event.getTo());
+        this.plugin.getSessions().move(event.getPlayer(), event.getTo());
+    }
+}
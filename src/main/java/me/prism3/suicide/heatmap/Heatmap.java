@@ -0,0 +1,151 @@
+package me.prism3.suicide.heatmap;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.utils.WorldIndex;
+import org.bukkit.Location;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+
+/**
+ * Aggregates suicide locations per world into {@link HeatmapGrid}s.
+ * Grids are stored by {@link WorldIndex}; recording is a single table
+ * probe and exports copy the touched cells before writing them off the
+ * server threads.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class Heatmap {
+
+    private static final DateTimeFormatter FILE_DATE = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    /**
+     * Supported export formats
+     */
+    public enum Format {
+        CSV,
+        PNG
+    }
+
+    /**
+     * Main plugin instance reference
+     */
+    private final Suicide plugin;
+
+    /**
+     * Grids by world index, null for worlds without suicides
+     */
+    private volatile HeatmapGrid[] grids = new HeatmapGrid[0];
+
+    /**
+     * Initializes a new heatmap
+     *
+     * @param plugin Main plugin instance
+     */
+    public Heatmap(final Suicide plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Records a suicide location
+     *
+     * @param location Where the player died
+     */
+    public void record(final Location location) {
+
+        if (location.getWorld() == null)
+            return;
+
+        this.gridOf(WorldIndex.of(location.getWorld().getName()))
+                .increment(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    /**
+     * Exports a world's heatmap asynchronously
+     *
+     * @param worldName The world to export
+     * @param format    The export format
+     * @param callback  Receives the written file, or null if the export failed, on the async thread
+     * @return false if no suicide was recorded in the world
+     */
+    public boolean export(final String worldName, final Format format, final Consumer<File> callback) {
+        final int index = WorldIndex.of(worldName);
+        final HeatmapGrid[] grids0 = this.grids;
+        final HeatmapGrid.Snapshot snapshot = index < grids0.length && grids0[index] != null
+                ? grids0[index].snapshot()
+                : null;
+
+        if (snapshot == null || snapshot.isEmpty())
+            return false;
+
+        final File folder = new File(this.plugin.getDataFolder(), "heatmaps");
+        final File file = new File(folder, worldName.replaceAll("[^A-Za-z0-9_.-]", "_") + "-" + FILE_DATE.format(LocalDateTime.now())
+                + "." + format.name().toLowerCase(Locale.ROOT));
+
+        this.plugin.getTaskScheduler().runAsync(() -> {
+            File written = file;
+
+            try {
+                if (!folder.exists() && !folder.mkdirs())
+                    throw new IOException("Could not create " + folder);
+
+                if (format == Format.PNG) {
+                    HeatmapExporter.writePng(snapshot, file);
+                } else {
+                    HeatmapExporter.writeCsv(snapshot, file);
+                }
+            } catch (final IOException e) {
+                this.plugin.getLogger().warning("Could not export heatmap of " + worldName + ": " + e.getMessage());
+                written = null;
+            }
+
+            // Outside the try, so a failing callback is not reported as a failed export
+            callback.accept(written);
+        });
+        return true;
+    }
+
+    /**
+     * Gets the number of touched chunks across every world
+     *
+     * @return Cell count
+     */
+    public int size() {
+        int size = 0;
+
+        for (final HeatmapGrid grid : this.grids) {
+            if (grid != null) size += grid.size();
+        }
+        return size;
+    }
+
+    /**
+     * Gets a world's grid, creating it on first use
+     */
+    private HeatmapGrid gridOf(final int index) {
+        final HeatmapGrid[] grids0 = this.grids;
+
+        if (index < grids0.length && grids0[index] != null)
+            return grids0[index];
+
+        synchronized (this) {
+            HeatmapGrid[] current = this.grids;
+
+            if (index >= current.length)
+                current = Arrays.copyOf(current, Math.max(index + 1, current.length * 2));
+
+            if (current[index] == null)
+                current[index] = new HeatmapGrid();
+
+            this.grids = current;
+            return current[index];
+        }
+    }
+}
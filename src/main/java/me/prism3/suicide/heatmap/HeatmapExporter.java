@@ -0,0 +1,115 @@
+package me.prism3.suicide.heatmap;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+
+/**
+ * Writes heatmap snapshots to disk.
+ * CSV rows are streamed cell by cell; PNG images use one pixel per chunk,
+ * scaled down so the longest side never exceeds {@link #MAX_IMAGE_SIZE}.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+final class HeatmapExporter {
+
+    /**
+     * Longest side of an exported image in pixels
+     */
+    private static final int MAX_IMAGE_SIZE = 1024;
+
+    private HeatmapExporter() {}
+
+    /**
+     * Writes one {@code chunk_x,chunk_z,block_x,block_z,suicides} row per touched chunk
+     *
+     * @param snapshot The cells to write
+     * @param file     The target file
+     * @throws IOException If the file cannot be written
+     */
+    static void writeCsv(final HeatmapGrid.Snapshot snapshot, final File file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write("chunk_x,chunk_z,block_x,block_z,suicides");
+            writer.newLine();
+
+            for (int cell = 0; cell < snapshot.counts().length; cell++) {
+                final int chunkX = snapshot.chunkX()[cell];
+                final int chunkZ = snapshot.chunkZ()[cell];
+
+                writer.write(Integer.toString(chunkX));
+                writer.write(',');
+                writer.write(Integer.toString(chunkZ));
+                writer.write(',');
+                writer.write(Integer.toString(chunkX << 4));
+                writer.write(',');
+                writer.write(Integer.toString(chunkZ << 4));
+                writer.write(',');
+                writer.write(Integer.toString(snapshot.counts()[cell]));
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Renders the cells into an image, north up, hotter cells brighter
+     *
+     * @param snapshot The cells to draw, must not be empty
+     * @param file     The target file
+     * @throws IOException If the image cannot be written
+     */
+    static void writePng(final HeatmapGrid.Snapshot snapshot, final File file) throws IOException {
+        int minX = Integer.MAX_VALUE, minZ = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxZ = Integer.MIN_VALUE;
+
+        for (int cell = 0; cell < snapshot.counts().length; cell++) {
+            minX = Math.min(minX, snapshot.chunkX()[cell]);
+            maxX = Math.max(maxX, snapshot.chunkX()[cell]);
+            minZ = Math.min(minZ, snapshot.chunkZ()[cell]);
+            maxZ = Math.max(maxZ, snapshot.chunkZ()[cell]);
+        }
+
+        final long spanX = (long) maxX - minX + 1;
+        final long spanZ = (long) maxZ - minZ + 1;
+        final int scale = (int) Math.max(1L, (Math.max(spanX, spanZ) + MAX_IMAGE_SIZE - 1) / MAX_IMAGE_SIZE);
+        final int width = (int) ((spanX + scale - 1) / scale);
+        final int height = (int) ((spanZ + scale - 1) / scale);
+
+        // Merge cells sharing a pixel before picking colours
+        final int[] totals = new int[width * height];
+        int max = 1;
+
+        for (int cell = 0; cell < snapshot.counts().length; cell++) {
+            final int pixel = (int) (((long) snapshot.chunkZ()[cell] - minZ) / scale) * width
+                    + (int) (((long) snapshot.chunkX()[cell] - minX) / scale);
+            totals[pixel] = (int) Math.min(Integer.MAX_VALUE, (long) totals[pixel] + snapshot.counts()[cell]);
+            max = Math.max(max, totals[pixel]);
+        }
+
+        final BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        final double logMax = Math.log1p(max);
+
+        for (int pixel = 0; pixel < totals.length; pixel++) {
+            if (totals[pixel] != 0)
+                image.setRGB(pixel % width, pixel / width, color(Math.log1p(totals[pixel]) / logMax));
+        }
+
+        if (!ImageIO.write(image, "png", file))
+            throw new IOException("No PNG writer available");
+    }
+
+    /**
+     * Maps a heat between 0 and 1 to a dark red, red, yellow, white ramp
+     */
+    private static int color(final double heat) {
+        final int red = (int) Math.round(Math.min(1.0, 0.25 + heat * 2.25) * 255);
+        final int green = (int) Math.round(Math.max(0.0, Math.min(1.0, heat * 2 - 0.5)) * 255);
+        final int blue = (int) Math.round(Math.max(0.0, heat * 4 - 3) * 255);
+        return (red << 16) | (green << 8) | blue;
+    }
+}
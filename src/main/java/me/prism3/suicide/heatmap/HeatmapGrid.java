@@ -0,0 +1,126 @@
+package me.prism3.suicide.heatmap;
+
+import me.prism3.suicide.effects.FireworkLimiter;
+
+
+/**
+ * Suicide counts of one world bucketed by chunk.
+ * Counts live in an open-addressing table keyed by the packed chunk
+ * coordinates, so memory grows with the number of touched chunks and an
+ * update is a single probe.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+final class HeatmapGrid {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long[] keys = new long[DEFAULT_CAPACITY];
+
+    /**
+     * Suicides per slot, 0 marks an empty slot
+     */
+    private int[] counts = new int[DEFAULT_CAPACITY];
+
+    private int mask = DEFAULT_CAPACITY - 1;
+    private int size;
+
+    /**
+     * Adds a suicide to a chunk
+     *
+     * @param chunkX Chunk X coordinate
+     * @param chunkZ Chunk Z coordinate
+     */
+    synchronized void increment(final int chunkX, final int chunkZ) {
+        final long key = FireworkLimiter.chunkKey(chunkX, chunkZ);
+        final int slot = this.slotOf(key);
+
+        if (this.counts[slot] == 0) {
+            this.keys[slot] = key;
+
+            if (++this.size > this.counts.length >> 1) {
+                this.counts[slot] = 1;
+                this.resize(this.counts.length << 1);
+                return;
+            }
+        }
+
+        if (this.counts[slot] != Integer.MAX_VALUE)
+            this.counts[slot]++;
+    }
+
+    /**
+     * Copies the touched chunks
+     *
+     * @return A snapshot holding only the touched cells
+     */
+    synchronized Snapshot snapshot() {
+        final int[] chunkX = new int[this.size];
+        final int[] chunkZ = new int[this.size];
+        final int[] values = new int[this.size];
+        int cell = 0;
+
+        for (int slot = 0; slot < this.counts.length; slot++) {
+            if (this.counts[slot] == 0)
+                continue;
+
+            chunkX[cell] = (int) (this.keys[slot] >> 32);
+            chunkZ[cell] = (int) this.keys[slot];
+            values[cell] = this.counts[slot];
+            cell++;
+        }
+        return new Snapshot(chunkX, chunkZ, values);
+    }
+
+    /**
+     * Gets the number of touched chunks
+     *
+     * @return Cell count
+     */
+    synchronized int size() { return this.size; }
+
+    private int slotOf(final long key) {
+        int slot = hash(key) & this.mask;
+
+        while (this.counts[slot] != 0 && this.keys[slot] != key)
+            slot = (slot + 1) & this.mask;
+
+        return slot;
+    }
+
+    private void resize(final int capacity) {
+        final long[] oldKeys = this.keys;
+        final int[] oldCounts = this.counts;
+
+        this.keys = new long[capacity];
+        this.counts = new int[capacity];
+        this.mask = capacity - 1;
+
+        for (int slot = 0; slot < oldCounts.length; slot++) {
+            if (oldCounts[slot] == 0)
+                continue;
+
+            final int target = this.slotOf(oldKeys[slot]);
+            this.keys[target] = oldKeys[slot];
+            this.counts[target] = oldCounts[slot];
+        }
+    }
+
+    private static int hash(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Touched cells of a grid, stored as parallel arrays
+     *
+     * @param chunkX Chunk X coordinate of each cell
+     * @param chunkZ Chunk Z coordinate of each cell
+     * @param counts Suicides in each cell
+     */
+    record Snapshot(int[] chunkX, int[] chunkZ, int[] counts) {
+
+        boolean isEmpty() { return this.counts.length == 0; }
+    }
+}
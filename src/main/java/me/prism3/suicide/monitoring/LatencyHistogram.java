@@ -0,0 +1,102 @@
+package me.prism3.suicide.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Lock-free latency histogram with power of two buckets.
+ * Bucket {@code i} counts durations up to {@code 2^i} microseconds, the
+ * last bucket counts everything slower. Recording is a leading-zero count
+ * and two adder increments.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Buckets with an upper bound, from 1 microsecond to about 1 second
+     */
+    public static final int BOUNDED_BUCKETS = 21;
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDED_BUCKETS + 1];
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+
+    /**
+     * Creates an empty histogram
+     */
+    public LatencyHistogram() {
+        for (int i = 0; i < this.buckets.length; i++)
+            this.buckets[i] = new LongAdder();
+    }
+
+    /**
+     * Records a duration
+     *
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(final long nanos) {
+        final long micros = Math.max(0L, nanos) / 1000L;
+        // Smallest i with micros <= 2^i
+        final int bucket = micros <= 1L ? 0 : 64 - Long.numberOfLeadingZeros(micros - 1);
+
+        this.buckets[Math.min(bucket, BOUNDED_BUCKETS)].increment();
+        this.count.increment();
+        this.sumNanos.add(Math.max(0L, nanos));
+    }
+
+    /**
+     * Gets the upper bound of a bucket
+     *
+     * @param bucket Bucket index, below {@link #BOUNDED_BUCKETS}
+     * @return Upper bound in seconds
+     */
+    public static double upperBoundSeconds(final int bucket) { return (1L << bucket) / 1_000_000.0; }
+
+    /**
+     * Copies the bucket counts
+     *
+     * @return Non cumulative counts, the last entry holds the overflow bucket
+     */
+    public long[] bucketCounts() {
+        final long[] counts = new long[this.buckets.length];
+
+        for (int i = 0; i < counts.length; i++)
+            counts[i] = this.buckets[i].sum();
+
+        return counts;
+    }
+
+    /**
+     * Estimates a quantile from the buckets
+     *
+     * @param quantile The quantile between 0 and 1
+     * @return Upper bound of the bucket holding the quantile in microseconds, 0 when empty
+     */
+    public long quantileMicros(final double quantile) {
+        final long[] counts = this.bucketCounts();
+        long total = 0L;
+
+        for (final long value : counts)
+            total += value;
+
+        if (total == 0L)
+            return 0L;
+
+        final long rank = (long) Math.ceil(quantile * total);
+        long seen = 0L;
+
+        for (int i = 0; i < BOUNDED_BUCKETS; i++) {
+            seen += counts[i];
+
+            if (seen >= rank)
+                return 1L << i;
+        }
+        return 1L << BOUNDED_BUCKETS;
+    }
+
+    public long getCount() { return this.count.sum(); }
+
+    public long getSumNanos() { return this.sumNanos.sum(); }
+}
@@ -0,0 +1,126 @@
+package me.prism3.suicide.monitoring;
+
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+
+/**
+ * Read-only JMX view of {@link PluginMetrics}.
+ * Every flattened metric is exposed as a {@code long} attribute under
+ * {@code me.prism3.suicide:type=Metrics}. A single attribute read only
+ * reads that metric, a bulk read takes one snapshot for all of them.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class MetricsMBean implements DynamicMBean {
+
+    private static final String OBJECT_NAME = "me.prism3.suicide:type=Metrics";
+
+    private final PluginMetrics metrics;
+
+    private ObjectName name;
+
+    /**
+     * Creates a view of the given metrics
+     *
+     * @param metrics The metrics to expose
+     */
+    public MetricsMBean(final PluginMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Registers the MBean with the platform server, replacing a stale one left by a previous enable
+     *
+     * @throws JMException If the MBean cannot be registered
+     */
+    public void register() throws JMException {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName objectName = new ObjectName(OBJECT_NAME);
+
+        try {
+            server.registerMBean(this, objectName);
+        } catch (final InstanceAlreadyExistsException e) {
+            server.unregisterMBean(objectName);
+            server.registerMBean(this, objectName);
+        }
+        this.name = objectName;
+    }
+
+    /**
+     * Unregisters the MBean if it was registered
+     */
+    public void unregister() {
+
+        if (this.name == null)
+            return;
+
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.name);
+        } catch (final JMException ignored) {
+        }
+        this.name = null;
+    }
+
+    @Override
+    public Object getAttribute(final String attribute) throws AttributeNotFoundException {
+        final Long value = this.metrics.read(attribute);
+
+        if (value == null)
+            throw new AttributeNotFoundException(attribute);
+
+        return value;
+    }
+
+    @Override
+    public AttributeList getAttributes(final String[] attributes) {
+        final Map<String, Long> snapshot = this.metrics.snapshot();
+        final AttributeList list = new AttributeList();
+
+        for (final String attribute : attributes) {
+            final Long value = snapshot.get(attribute);
+
+            if (value != null)
+                list.add(new Attribute(attribute, value));
+        }
+        return list;
+    }
+
+    @Override
+    public void setAttribute(final Attribute attribute) throws AttributeNotFoundException {
+        throw new AttributeNotFoundException("Metrics are read-only");
+    }
+
+    @Override
+    public AttributeList setAttributes(final AttributeList attributes) { return new AttributeList(); }
+
+    @Override
+    public Object invoke(final String actionName, final Object[] params, final String[] signature)
+            throws ReflectionException {
+        throw new ReflectionException(new NoSuchMethodException(actionName), "Metrics have no operations");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        final Map<String, Long> snapshot = this.metrics.snapshot();
+        final MBeanAttributeInfo[] attributes = new MBeanAttributeInfo[snapshot.size()];
+        int i = 0;
+
+        for (final String attribute : snapshot.keySet())
+            attributes[i++] = new MBeanAttributeInfo(attribute, "long", attribute, true, false, false);
+
+        return new MBeanInfo(getClass().getName(), "Suicide plugin metrics", attributes, null, null, null);
+    }
+}
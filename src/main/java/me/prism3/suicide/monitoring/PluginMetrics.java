@@ -0,0 +1,247 @@
+package me.prism3.suicide.monitoring;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+
+/**
+ * Operational metrics of the plugin.
+ * Counters and histograms are lock-free so recording never contends
+ * between region threads; gauges are read from the owning components
+ * only when the metrics are exported.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class PluginMetrics {
+
+    /**
+     * Timed stages of the command and of the plugin
+     */
+    public enum Stage {
+        COMMAND,
+        PERMISSION,
+        COOLDOWN,
+        EXECUTE,
+        EFFECTS,
+        BROADCAST,
+        MESSAGE,
+        FIREWORK,
+        COORDS,
+        SOUND,
+        RELOAD
+    }
+
+    /**
+     * Reasons a suicide command is turned down
+     */
+    public enum Denial {
+        NO_PERMISSION,
+        INVALID_SYNTAX,
+        NOT_PLAYER,
+        DISABLED_WORLD,
+        COOLDOWN,
+        /** The countdown was cancelled by moving or taking damage */
+        COUNTDOWN_CANCELLED
+    }
+
+    private final LongAdder invocations = new LongAdder();
+    private final LongAdder suicides = new LongAdder();
+    private final Map<Denial, LongAdder> denials = new EnumMap<>(Denial.class);
+    private final Map<Stage, LatencyHistogram> stages = new EnumMap<>(Stage.class);
+
+    /**
+     * Gauges by metric name, exported in name order
+     */
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    /**
+     * Readers of the counter and histogram values by flattened name, in export order
+     */
+    private final Map<String, LongSupplier> readers = new LinkedHashMap<>();
+
+    /**
+     * Creates the metrics with every counter and histogram at zero
+     */
+    public PluginMetrics() {
+        this.readers.put("invocations", this::getInvocations);
+        this.readers.put("suicides", this::getSuicides);
+
+        for (final Denial denial : Denial.values()) {
+            this.denials.put(denial, new LongAdder());
+            this.readers.put("denied_" + name(denial), () -> this.getDenials(denial));
+        }
+
+        for (final Stage stage : Stage.values()) {
+            final LatencyHistogram histogram = new LatencyHistogram();
+            final String prefix = name(stage) + "_";
+
+            this.stages.put(stage, histogram);
+            this.readers.put(prefix + "count", histogram::getCount);
+            this.readers.put(prefix + "mean_us", () -> {
+                final long count = histogram.getCount();
+                return count == 0L ? 0L : histogram.getSumNanos() / count / 1000L;
+            });
+            this.readers.put(prefix + "p50_us", () -> histogram.quantileMicros(0.5));
+            this.readers.put(prefix + "p99_us", () -> histogram.quantileMicros(0.99));
+        }
+    }
+
+    /**
+     * Counts a command invocation
+     */
+    public void invocation() { this.invocations.increment(); }
+
+    /**
+     * Counts an executed suicide
+     */
+    public void suicide() { this.suicides.increment(); }
+
+    /**
+     * Counts a denied command
+     *
+     * @param denial The reason the command was turned down
+     */
+    public void deny(final Denial denial) { this.denials.get(denial).increment(); }
+
+    /**
+     * Records the time spent in a stage
+     *
+     * @param stage      The stage
+     * @param startNanos {@link System#nanoTime()} when the stage started
+     * @return The current {@link System#nanoTime()}, usable as the start of the next stage
+     */
+    public long time(final Stage stage, final long startNanos) {
+        final long now = System.nanoTime();
+        this.stages.get(stage).record(now - startNanos);
+        return now;
+    }
+
+    /**
+     * Registers a value read on export
+     *
+     * @param name  Metric name, lower snake case
+     * @param help  Metric description
+     * @param value Supplies the current value
+     */
+    public void gauge(final String name, final String help, final LongSupplier value) {
+        this.gauges.put(name, new Gauge(help, value));
+    }
+
+    public long getInvocations() { return this.invocations.sum(); }
+
+    public long getSuicides() { return this.suicides.sum(); }
+
+    public long getDenials(final Denial denial) { return this.denials.get(denial).sum(); }
+
+    public LatencyHistogram getStage(final Stage stage) { return this.stages.get(stage); }
+
+    /**
+     * Flattens every metric into named values
+     *
+     * @return Metric values by name, histograms as count, mean, p50 and p99 in microseconds
+     */
+    public Map<String, Long> snapshot() {
+        final Map<String, Long> values = new LinkedHashMap<>();
+
+        this.readers.forEach((name, reader) -> values.put(name, reader.getAsLong()));
+
+        this.gauges.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> values.put(entry.getKey(), entry.getValue().value().getAsLong()));
+
+        return values;
+    }
+
+    /**
+     * Reads a single flattened metric without building the whole snapshot
+     *
+     * @param name The metric name, as in {@link #snapshot()}
+     * @return The value, or null if there is no such metric
+     */
+    public Long read(final String name) {
+        final LongSupplier reader = this.readers.get(name);
+
+        if (reader != null)
+            return reader.getAsLong();
+
+        final Gauge gauge = this.gauges.get(name);
+        return gauge == null ? null : gauge.value().getAsLong();
+    }
+
+    /**
+     * Writes every metric in the Prometheus text exposition format
+     *
+     * @param out Receives the exposition
+     */
+    public void writePrometheus(final StringBuilder out) {
+        counter(out, "suicide_command_invocations_total", "Suicide command invocations", null, this.getInvocations());
+        counter(out, "suicide_executed_total", "Suicides executed", null, this.getSuicides());
+
+        out.append("# HELP suicide_command_denied_total Suicide commands turned down by reason\n")
+                .append("# TYPE suicide_command_denied_total counter\n");
+
+        for (final Denial denial : Denial.values())
+            sample(out, "suicide_command_denied_total", "reason=\"" + name(denial) + "\"", this.getDenials(denial));
+
+        out.append("# HELP suicide_stage_seconds Time spent per stage\n")
+                .append("# TYPE suicide_stage_seconds histogram\n");
+
+        for (final Stage stage : Stage.values()) {
+            final LatencyHistogram histogram = this.getStage(stage);
+            final long[] counts = histogram.bucketCounts();
+            final String label = "stage=\"" + name(stage) + "\"";
+            long cumulative = 0L;
+
+            for (int i = 0; i < LatencyHistogram.BOUNDED_BUCKETS; i++) {
+                cumulative += counts[i];
+                sample(out, "suicide_stage_seconds_bucket",
+                        label + ",le=\"" + LatencyHistogram.upperBoundSeconds(i) + "\"", cumulative);
+            }
+
+            cumulative += counts[LatencyHistogram.BOUNDED_BUCKETS];
+            sample(out, "suicide_stage_seconds_bucket", label + ",le=\"+Inf\"", cumulative);
+            out.append("suicide_stage_seconds_sum{").append(label).append("} ")
+                    .append(histogram.getSumNanos() / 1e9).append('\n');
+            sample(out, "suicide_stage_seconds_count", label, histogram.getCount());
+        }
+
+        this.gauges.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    final String name = "suicide_" + entry.getKey();
+                    out.append("# HELP ").append(name).append(' ').append(entry.getValue().help()).append('\n')
+                            .append("# TYPE ").append(name).append(" gauge\n");
+                    sample(out, name, null, entry.getValue().value().getAsLong());
+                });
+    }
+
+    private static void counter(final StringBuilder out, final String name, final String help,
+                                final String labels, final long value) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n')
+                .append("# TYPE ").append(name).append(" counter\n");
+        sample(out, name, labels, value);
+    }
+
+    private static void sample(final StringBuilder out, final String name, final String labels, final long value) {
+        out.append(name);
+
+        if (labels != null)
+            out.append('{').append(labels).append('}');
+
+        out.append(' ').append(value).append('\n');
+    }
+
+    private static String name(final Enum<?> value) { return value.name().toLowerCase(Locale.ROOT); }
+
+    /**
+     * A value read on export
+     */
+    private record Gauge(String help, LongSupplier value) {
+    }
+}
@@ -0,0 +1,97 @@
+package me.prism3.suicide.monitoring;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * Serves {@link PluginMetrics} in the Prometheus text format.
+ * Uses the JDK's built-in HTTP server bound to the loopback address with
+ * a single daemon thread, so scrapes never run on a server thread.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class PrometheusEndpoint {
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private final PluginMetrics metrics;
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates an endpoint for the given metrics
+     *
+     * @param metrics The metrics to serve
+     */
+    public PrometheusEndpoint(final PluginMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Starts serving {@code /metrics} on localhost
+     *
+     * @param port The port to listen on
+     * @throws IOException If the port cannot be bound
+     */
+    public void start(final int port) throws IOException {
+
+        if (this.server != null)
+            return;
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            final Thread thread = new Thread(task, "Suicide-Prometheus");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.server.createContext("/metrics", this::handle);
+        this.server.setExecutor(this.executor);
+        this.server.start();
+    }
+
+    /**
+     * Stops the server
+     */
+    public void stop() {
+
+        if (this.server == null)
+            return;
+
+        this.server.stop(0);
+        this.executor.shutdownNow();
+        this.server = null;
+        this.executor = null;
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            final StringBuilder body = new StringBuilder(8192);
+            this.metrics.writePrometheus(body);
+
+            final byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, bytes.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package me.prism3.suicide.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+
+/**
+ * {@link TaskScheduler} for servers with a single main thread.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class BukkitTaskScheduler implements TaskScheduler {
+
+    private final Plugin plugin;
+
+    /**
+     * Initializes a new Bukkit scheduler
+     *
+     * @param plugin The owning plugin
+     */
+    public BukkitTaskScheduler(final Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void runGlobal(final Runnable task) { this.runSync(task); }
+
+    @Override
+    public void runGlobalLater(final Runnable task, final long delayTicks) {
+        Bukkit.getScheduler().runTaskLater(this.plugin, task, Math.max(1L, delayTicks));
+    }
+
+    @Override
+    public Task runGlobalTimer(final Runnable task, final long delayTicks, final long periodTicks) {
+        final BukkitTask scheduled = Bukkit.getScheduler()
+                .runTaskTimer(this.plugin, task, Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+        return scheduled::cancel;
+    }
+
+    @Override
+    public void runAt(final Location location, final Runnable task) { this.runSync(task); }
+
+    @Override
+    public void runFor(final Entity entity, final Runnable task) {
+        this.runSync(() -> {
+            if (entity.isValid()) task.run();
+        });
+    }
+
+    @Override
+    public void runAsync(final Runnable task) { Bukkit.getScheduler().runTaskAsynchronously(this.plugin, task); }
+
+    @Override
+    public Task runTimerAsync(final Runnable task, final long delayTicks, final long periodTicks) {
+        final BukkitTask scheduled = Bukkit.getScheduler()
+                .runTaskTimerAsynchronously(this.plugin, task, delayTicks, periodTicks);
+        return scheduled::cancel;
+    }
+
+    @Override
+    public void cancelAll() { Bukkit.getScheduler().cancelTasks(this.plugin); }
+
+    /**
+     * Runs a task inline on the main thread, otherwise on the next tick
+     */
+    private void runSync(final Runnable task) {
+
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+            return;
+        }
+
+        Bukkit.getScheduler().runTask(this.plugin, task);
+    }
+}
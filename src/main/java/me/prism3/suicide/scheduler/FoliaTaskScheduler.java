@@ -0,0 +1,97 @@
+package me.prism3.suicide.scheduler;
+
+import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * {@link TaskScheduler} for Folia's regionized threading.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class FoliaTaskScheduler implements TaskScheduler {
+
+    /**
+     * Length of a server tick, used to convert tick delays for the async scheduler
+     */
+    private static final long MILLIS_PER_TICK = 50L;
+
+    private final Plugin plugin;
+
+    /**
+     * Initializes a new Folia scheduler
+     *
+     * @param plugin The owning plugin
+     */
+    public FoliaTaskScheduler(final Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void runGlobal(final Runnable task) {
+
+        if (Bukkit.isGlobalTickThread()) {
+            task.run();
+            return;
+        }
+
+        Bukkit.getGlobalRegionScheduler().execute(this.plugin, task);
+    }
+
+    @Override
+    public void runGlobalLater(final Runnable task, final long delayTicks) {
+        Bukkit.getGlobalRegionScheduler().runDelayed(this.plugin, t -> task.run(), Math.max(1L, delayTicks));
+    }
+
+    @Override
+    public Task runGlobalTimer(final Runnable task, final long delayTicks, final long periodTicks) {
+        final ScheduledTask scheduled = Bukkit.getGlobalRegionScheduler().runAtFixedRate(this.plugin,
+                t -> task.run(), Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+        return scheduled::cancel;
+    }
+
+    @Override
+    public void runAt(final Location location, final Runnable task) {
+
+        if (Bukkit.isOwnedByCurrentRegion(location)) {
+            task.run();
+            return;
+        }
+
+        Bukkit.getRegionScheduler().execute(this.plugin, location, task);
+    }
+
+    @Override
+    public void runFor(final Entity entity, final Runnable task) {
+
+        if (Bukkit.isOwnedByCurrentRegion(entity)) {
+            task.run();
+            return;
+        }
+
+        entity.getScheduler().execute(this.plugin, task, null, 1L);
+    }
+
+    @Override
+    public void runAsync(final Runnable task) { Bukkit.getAsyncScheduler().runNow(this.plugin, t -> task.run()); }
+
+    @Override
+    public Task runTimerAsync(final Runnable task, final long delayTicks, final long periodTicks) {
+        final ScheduledTask scheduled = Bukkit.getAsyncScheduler().runAtFixedRate(this.plugin, t -> task.run(),
+                Math.max(1L, delayTicks) * MILLIS_PER_TICK, Math.max(1L, periodTicks) * MILLIS_PER_TICK,
+                TimeUnit.MILLISECONDS);
+        return scheduled::cancel;
+    }
+
+    @Override
+    public void cancelAll() {
+        Bukkit.getGlobalRegionScheduler().cancelTasks(this.plugin);
+        Bukkit.getAsyncScheduler().cancelTasks(this.plugin);
+    }
+}
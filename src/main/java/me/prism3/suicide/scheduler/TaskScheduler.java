@@ -0,0 +1,114 @@
+package me.prism3.suicide.scheduler;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+
+/**
+ * Runs plugin work on the thread that owns it.
+ * On Paper every method maps to the main thread or the async pool, on Folia
+ * entity work goes through the entity scheduler, world work through the
+ * region scheduler and global work through the global region scheduler.
+ * Work is run inline when the calling thread already owns the target.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public interface TaskScheduler {
+
+    /**
+     * Runs a task on the global thread, used for server wide state
+     *
+     * @param task The task to run
+     */
+    void runGlobal(Runnable task);
+
+    /**
+     * Runs a task on the global thread after a delay
+     *
+     * @param task       The task to run
+     * @param delayTicks Ticks to wait, at least 1
+     */
+    void runGlobalLater(Runnable task, long delayTicks);
+
+    /**
+     * Runs a task repeatedly on the global thread
+     *
+     * @param task        The task to run
+     * @param delayTicks  Ticks before the first run, at least 1
+     * @param periodTicks Ticks between two runs, at least 1
+     * @return Handle used to cancel the task
+     */
+    Task runGlobalTimer(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Runs a task on the thread owning a location
+     *
+     * @param location The location the task touches
+     * @param task     The task to run
+     */
+    void runAt(Location location, Runnable task);
+
+    /**
+     * Runs a task on the thread owning an entity, dropped if the entity is removed first
+     *
+     * @param entity The entity the task touches
+     * @param task   The task to run
+     */
+    void runFor(Entity entity, Runnable task);
+
+    /**
+     * Runs a task once off the server threads
+     *
+     * @param task The task to run
+     */
+    void runAsync(Runnable task);
+
+    /**
+     * Runs a task repeatedly off the server threads
+     *
+     * @param task        The task to run
+     * @param delayTicks  Ticks before the first run
+     * @param periodTicks Ticks between two runs
+     * @return Handle used to cancel the task
+     */
+    Task runTimerAsync(Runnable task, long delayTicks, long periodTicks);
+
+    /**
+     * Cancels every task scheduled by the plugin
+     */
+    void cancelAll();
+
+    /**
+     * Handle to a repeating task
+     */
+    @FunctionalInterface
+    interface Task {
+        void cancel();
+    }
+
+    /**
+     * Creates the scheduler matching the running server
+     *
+     * @param plugin The owning plugin
+     * @return A Folia scheduler on regionized servers, a Bukkit scheduler otherwise
+     */
+    static TaskScheduler create(final Plugin plugin) {
+        return isFolia() ? new FoliaTaskScheduler(plugin) : new BukkitTaskScheduler(plugin);
+    }
+
+    /**
+     * Checks whether the server runs Folia's regionized threading
+     *
+     * @return true on Folia
+     */
+    static boolean isFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (final ClassNotFoundException e) {
+            return false;
+        }
+    }
+}
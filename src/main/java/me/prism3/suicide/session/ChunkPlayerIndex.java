@@ -0,0 +1,264 @@
+package me.prism3.suicide.session;
+
+import me.prism3.suicide.effects.FireworkLimiter;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.List;
+
+
+/**
+ * Spatial index of online players bucketed by world and chunk.
+ * Lets radius lookups visit only the chunks around a point instead of
+ * every online player. Buckets live in an open-addressing table keyed by
+ * the {@link me.prism3.suicide.utils.WorldIndex} and packed chunk
+ * coordinates, and are dropped as soon as the last player leaves them.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class ChunkPlayerIndex {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private int[] worlds;
+    private long[] keys;
+
+    /**
+     * Players in each slot's chunk, null marks an empty slot
+     */
+    private Bucket[] buckets;
+
+    private int mask;
+    private int size;
+
+    /**
+     * Creates an empty index
+     */
+    ChunkPlayerIndex() { this.allocate(DEFAULT_CAPACITY); }
+
+    /**
+     * Places a player in a chunk, moving them out of their previous one
+     *
+     * @param player  The player
+     * @param session The player's session, holding their indexed position
+     * @param world   The {@link me.prism3.suicide.utils.WorldIndex} of the player's world
+     * @param chunkX  Chunk X coordinate
+     * @param chunkZ  Chunk Z coordinate
+     */
+    synchronized void place(final Player player, final PlayerSession session,
+                            final int world, final int chunkX, final int chunkZ) {
+
+        if (session.isIndexedAt(world, chunkX, chunkZ))
+            return;
+
+        this.remove(player, session);
+
+        final long key = FireworkLimiter.chunkKey(chunkX, chunkZ);
+        final int slot = this.slotOf(world, key);
+
+        if (this.buckets[slot] == null) {
+            this.worlds[slot] = world;
+            this.keys[slot] = key;
+            this.buckets[slot] = new Bucket();
+
+            if (++this.size > this.buckets.length >> 1)
+                this.resize(this.buckets.length << 1);
+        }
+
+        this.buckets[this.slotOf(world, key)].add(player);
+        session.setIndexed(world, chunkX, chunkZ);
+    }
+
+    /**
+     * Removes a player from the chunk they are indexed in
+     *
+     * @param player  The player
+     * @param session The player's session
+     */
+    synchronized void remove(final Player player, final PlayerSession session) {
+
+        if (!session.isIndexed())
+            return;
+
+        final int slot = this.slotOf(session.getIndexedWorld(),
+                FireworkLimiter.chunkKey(session.getChunkX(), session.getChunkZ()));
+        final Bucket bucket = this.buckets[slot];
+
+        session.clearIndexed();
+
+        if (bucket == null)
+            return;
+
+        bucket.remove(player);
+
+        if (bucket.size == 0)
+            this.delete(slot);
+    }
+
+    /**
+     * Collects the players in every chunk touching a circle.
+     * The result is chunk accurate, it only uses the indexed positions, so
+     * it never touches a player owned by another region thread.
+     *
+     * @param world  The {@link me.prism3.suicide.utils.WorldIndex} of the world
+     * @param blockX Center X coordinate
+     * @param blockZ Center Z coordinate
+     * @param radius Radius in blocks
+     * @param out    List receiving the players
+     */
+    public synchronized void collectNear(final int world, final int blockX, final int blockZ,
+                                         final int radius, final List<Player> out) {
+        final int minX = (blockX - radius) >> 4;
+        final int maxX = (blockX + radius) >> 4;
+        final int minZ = (blockZ - radius) >> 4;
+        final int maxZ = (blockZ + radius) >> 4;
+        final long chunks = (long) (maxX - minX + 1) * (maxZ - minZ + 1);
+        final long radiusSquared = (long) radius * radius;
+
+        // Scanning the table is cheaper than probing more chunks than there are buckets
+        if (chunks > this.size) {
+            for (int slot = 0; slot < this.buckets.length; slot++) {
+                if (this.buckets[slot] == null || this.worlds[slot] != world)
+                    continue;
+
+                final int chunkX = (int) (this.keys[slot] >> 32);
+                final int chunkZ = (int) this.keys[slot];
+
+                if (chunkX >= minX && chunkX <= maxX && chunkZ >= minZ && chunkZ <= maxZ
+                        && touches(chunkX, chunkZ, blockX, blockZ, radiusSquared))
+                    this.buckets[slot].addTo(out);
+            }
+            return;
+        }
+
+        for (int chunkX = minX; chunkX <= maxX; chunkX++) {
+            for (int chunkZ = minZ; chunkZ <= maxZ; chunkZ++) {
+                if (!touches(chunkX, chunkZ, blockX, blockZ, radiusSquared))
+                    continue;
+
+                final Bucket bucket = this.buckets[this.slotOf(world, FireworkLimiter.chunkKey(chunkX, chunkZ))];
+
+                if (bucket != null)
+                    bucket.addTo(out);
+            }
+        }
+    }
+
+    /**
+     * Gets the number of occupied chunks
+     *
+     * @return Bucket count
+     */
+    public synchronized int size() { return this.size; }
+
+    /**
+     * Checks whether the point of a chunk closest to the center lies within the radius
+     */
+    private static boolean touches(final int chunkX, final int chunkZ, final int blockX, final int blockZ,
+                                   final long radiusSquared) {
+        final long dx = Math.max(0, Math.max((chunkX << 4) - blockX, blockX - ((chunkX << 4) + 15)));
+        final long dz = Math.max(0, Math.max((chunkZ << 4) - blockZ, blockZ - ((chunkZ << 4) + 15)));
+        return dx * dx + dz * dz <= radiusSquared;
+    }
+
+    /**
+     * Finds the slot holding the chunk, or the empty slot where it would be inserted
+     */
+    private int slotOf(final int world, final long key) {
+        int slot = hash(world, key) & this.mask;
+
+        while (this.buckets[slot] != null && (this.worlds[slot] != world || this.keys[slot] != key))
+            slot = (slot + 1) & this.mask;
+
+        return slot;
+    }
+
+    /**
+     * Deletes a slot using backward shift so no tombstones are left behind
+     */
+    private void delete(int slot) {
+        this.size--;
+
+        int next = (slot + 1) & this.mask;
+
+        while (this.buckets[next] != null) {
+            final int home = hash(this.worlds[next], this.keys[next]) & this.mask;
+
+            // Move the entry back if its home is not between the hole and its current slot
+            if (((next - home) & this.mask) >= ((next - slot) & this.mask)) {
+                this.worlds[slot] = this.worlds[next];
+                this.keys[slot] = this.keys[next];
+                this.buckets[slot] = this.buckets[next];
+                slot = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+
+        this.buckets[slot] = null;
+    }
+
+    private void resize(final int capacity) {
+        final int[] oldWorlds = this.worlds;
+        final long[] oldKeys = this.keys;
+        final Bucket[] oldBuckets = this.buckets;
+        final int size0 = this.size;
+
+        this.allocate(capacity);
+        this.size = size0;
+
+        for (int slot = 0; slot < oldBuckets.length; slot++) {
+            if (oldBuckets[slot] == null)
+                continue;
+
+            final int target = this.slotOf(oldWorlds[slot], oldKeys[slot]);
+            this.worlds[target] = oldWorlds[slot];
+            this.keys[target] = oldKeys[slot];
+            this.buckets[target] = oldBuckets[slot];
+        }
+    }
+
+    private void allocate(final int capacity) {
+        this.worlds = new int[capacity];
+        this.keys = new long[capacity];
+        this.buckets = new Bucket[capacity];
+        this.mask = capacity - 1;
+        this.size = 0;
+    }
+
+    private static int hash(final int world, final long key) {
+        final long h = (key ^ ((long) world << 48)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Players standing in one chunk
+     */
+    private static final class Bucket {
+
+        private Player[] players = new Player[4];
+        private int size;
+
+        void add(final Player player) {
+            if (this.size == this.players.length)
+                this.players = Arrays.copyOf(this.players, this.size << 1);
+
+            this.players[this.size++] = player;
+        }
+
+        void remove(final Player player) {
+            for (int i = 0; i < this.size; i++) {
+                if (this.players[i].equals(player)) {
+                    this.players[i] = this.players[--this.size];
+                    this.players[this.size] = null;
+                    return;
+                }
+            }
+        }
+
+        void addTo(final List<Player> out) {
+            for (int i = 0; i < this.size; i++)
+                out.add(this.players[i]);
+        }
+    }
+}
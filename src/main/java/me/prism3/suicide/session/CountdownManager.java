@@ -0,0 +1,305 @@
+package me.prism3.suicide.session;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.monitoring.PluginMetrics;
+import me.prism3.suicide.scheduler.TaskScheduler;
+import me.prism3.suicide.utils.MessageTemplate;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+
+/**
+ * Runs the confirmation countdowns of the suicide command.
+ * Every pending countdown lives in one {@link CountdownTable} advanced by a
+ * single repeating task, started with the first countdown and stopped once
+ * none is left, instead of a task per player. Moving to another block,
+ * teleporting or taking damage cancels a countdown; listeners check
+ * {@link #hasPending()} first so they cost a field read while none is pending.
+ *
+ * <p>The ticker runs on the global thread and hands the per-player work to
+ * the thread owning the player.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class CountdownManager {
+
+    /**
+     * Main plugin instance reference
+     */
+    private final Suicide plugin;
+
+    /**
+     * Pending countdowns, guarded by this manager
+     */
+    private final CountdownTable table = new CountdownTable();
+
+    /**
+     * Collects the ticker's work so it can be handed out after releasing the lock
+     */
+    private final Collector collector = new Collector();
+
+    /**
+     * Number of pending countdowns, read without the lock by the listeners
+     */
+    private volatile int pending;
+
+    /**
+     * Ticks counted by the ticker, countdowns end at a value of it
+     */
+    private long tick;
+
+    /**
+     * The running ticker, null while no countdown is pending
+     */
+    private TaskScheduler.Task ticker;
+
+    /**
+     * Runs the suicide once a countdown ends, on the player's thread
+     */
+    private volatile Consumer<Player> finisher = player -> {};
+
+    /**
+     * Initializes a new countdown manager
+     *
+     * @param plugin Main plugin instance
+     */
+    public CountdownManager(final Suicide plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Sets what runs when a countdown ends
+     *
+     * @param finisher Receives the player on the thread owning them
+     */
+    public void onFinish(final Consumer<Player> finisher) { this.finisher = finisher; }
+
+    /**
+     * Starts a countdown for a player unless one is already pending
+     *
+     * @param player  The player
+     * @param session The player's session
+     * @param seconds Countdown length in seconds
+     * @return true if the countdown was started
+     */
+    public boolean start(final Player player, final PlayerSession session, final int seconds) {
+        final long block = blockKey(player.getLocation());
+
+        synchronized (this) {
+            if (!this.table.add(session, player, block, this.tick + seconds * 20L))
+                return false;
+
+            this.pending = this.table.size();
+
+            if (this.ticker == null)
+                this.ticker = this.plugin.getTaskScheduler().runGlobalTimer(this::advance, 1L, 1L);
+        }
+        return true;
+    }
+
+    /**
+     * Cancels a player's countdown if they left its block
+     *
+     * @param player The player who moved
+     * @param to     Where the player moved to
+     */
+    public void moved(final Player player, final Location to) {
+
+        if (this.pending == 0)
+            return;
+
+        final PlayerSession session = this.plugin.getSessions().get(player);
+        final long block = blockKey(to);
+
+        synchronized (this) {
+            if (!this.table.hasLeft(session, block))
+                return;
+        }
+
+        this.cancel(player, session);
+    }
+
+    /**
+     * Cancels a player's countdown after damage
+     *
+     * @param player The damaged player
+     */
+    public void damaged(final Player player) {
+
+        if (this.pending == 0)
+            return;
+
+        this.cancel(player, this.plugin.getSessions().get(player));
+    }
+
+    /**
+     * Drops a player's countdown without telling them, e.g. when they quit
+     *
+     * @param player The player
+     */
+    public void purge(final Player player) {
+
+        if (this.pending == 0)
+            return;
+
+        this.remove(this.plugin.getSessions().get(player));
+    }
+
+    /**
+     * Checks whether a player has a pending countdown
+     *
+     * @param session The player's session
+     * @return true if a countdown is pending
+     */
+    public synchronized boolean isPending(final PlayerSession session) { return this.table.contains(session); }
+
+    /**
+     * Checks whether any countdown is pending, without locking
+     *
+     * @return true if at least one countdown is pending
+     */
+    public boolean hasPending() { return this.pending != 0; }
+
+    public int size() { return this.pending; }
+
+    /**
+     * Stops the ticker and drops every pending countdown
+     */
+    public synchronized void stop() {
+
+        if (this.ticker != null) {
+            this.ticker.cancel();
+            this.ticker = null;
+        }
+
+        this.table.clear();
+        this.pending = 0;
+    }
+
+    /**
+     * Cancels a countdown and tells the player
+     */
+    private void cancel(final Player player, final PlayerSession session) {
+
+        if (this.remove(session) == null)
+            return;
+
+        this.plugin.getPluginMetrics().deny(PluginMetrics.Denial.COUNTDOWN_CANCELLED);
+        player.sendMessage(this.plugin.getData().getSettings().messages().countdown().cancelled().render());
+    }
+
+    /**
+     * Removes a countdown
+     *
+     * @return The player, or null if none was pending
+     */
+    private synchronized Player remove(final PlayerSession session) {
+        final Player player = this.table.remove(session);
+        this.pending = this.table.size();
+        return player;
+    }
+
+    /**
+     * Advances every countdown by one tick, run by the ticker
+     */
+    private void advance() {
+        final int seconds;
+        final int finished;
+
+        synchronized (this) {
+            this.tick++;
+            this.collector.reset();
+            this.table.advance(this.tick, this.collector);
+            this.pending = this.table.size();
+
+            if (this.pending == 0 && this.ticker != null) {
+                this.ticker.cancel();
+                this.ticker = null;
+            }
+
+            seconds = this.collector.secondCount;
+            finished = this.collector.finishedCount;
+        }
+
+        final TaskScheduler scheduler = this.plugin.getTaskScheduler();
+
+        if (seconds > 0) {
+            final MessageTemplate template = this.plugin.getData().getSettings().messages().countdown().second();
+
+            for (int i = 0; i < seconds; i++) {
+                final Player player = this.collector.secondPlayers[i];
+                final String message = template.renderTime(this.collector.secondsLeft[i]);
+
+                scheduler.runFor(player, () -> player.sendMessage(message));
+            }
+        }
+
+        final Consumer<Player> finisher = this.finisher;
+
+        for (int i = 0; i < finished; i++) {
+            final Player player = this.collector.finishedPlayers[i];
+            scheduler.runFor(player, () -> finisher.accept(player));
+        }
+
+        this.collector.release();
+    }
+
+    /**
+     * Packs the block of a location
+     */
+    private static long blockKey(final Location location) {
+        return CountdownTable.blockKey(location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    /**
+     * Reusable buffers filled by {@link CountdownTable#advance(long, CountdownTable.Visitor)},
+     * only touched by the ticker
+     */
+    private static final class Collector implements CountdownTable.Visitor {
+
+        private Player[] secondPlayers = new Player[16];
+        private int[] secondsLeft = new int[16];
+        private int secondCount;
+
+        private Player[] finishedPlayers = new Player[16];
+        private int finishedCount;
+
+        @Override
+        public void second(final Player player, final int seconds) {
+
+            if (this.secondCount == this.secondPlayers.length) {
+                this.secondPlayers = Arrays.copyOf(this.secondPlayers, this.secondCount * 2);
+                this.secondsLeft = Arrays.copyOf(this.secondsLeft, this.secondCount * 2);
+            }
+
+            this.secondPlayers[this.secondCount] = player;
+            this.secondsLeft[this.secondCount++] = seconds;
+        }
+
+        @Override
+        public void finished(final Player player) {
+
+            if (this.finishedCount == this.finishedPlayers.length)
+                this.finishedPlayers = Arrays.copyOf(this.finishedPlayers, this.finishedCount * 2);
+
+            this.finishedPlayers[this.finishedCount++] = player;
+        }
+
+        void reset() {
+            this.secondCount = 0;
+            this.finishedCount = 0;
+        }
+
+        /**
+         * Drops the player references so the buffers never keep a player alive
+         */
+        void release() {
+            Arrays.fill(this.secondPlayers, 0, this.secondCount, null);
+            Arrays.fill(this.finishedPlayers, 0, this.finishedCount, null);
+        }
+    }
+}
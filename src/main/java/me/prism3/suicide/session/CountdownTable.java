@@ -0,0 +1,200 @@
+package me.prism3.suicide.session;
+
+import org.bukkit.entity.Player;
+
+import java.util.Arrays;
+
+
+/**
+ * Pending suicide countdowns kept in parallel arrays.
+ * Each player's session remembers its slot, so finding a countdown on a move
+ * or damage event is a field read, and removing one moves the last entry into
+ * the freed slot. Advancing every countdown is a single pass over the arrays.
+ *
+ * <p>Not thread safe, guarded by its owner.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class CountdownTable {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private static final int TICKS_PER_SECOND = 20;
+
+    private PlayerSession[] sessions = new PlayerSession[DEFAULT_CAPACITY];
+    private Player[] players = new Player[DEFAULT_CAPACITY];
+
+    /**
+     * Block each countdown started in, packed by {@link #blockKey(int, int, int)}
+     */
+    private long[] blocks = new long[DEFAULT_CAPACITY];
+
+    /**
+     * Tick each countdown ends at
+     */
+    private long[] endTicks = new long[DEFAULT_CAPACITY];
+
+    private int size;
+
+    /**
+     * Adds a countdown unless the player already has one
+     *
+     * @param session The player's session
+     * @param player  The player
+     * @param block   The block the player stands in, see {@link #blockKey(int, int, int)}
+     * @param endTick Tick the countdown ends at
+     * @return true if the countdown was added
+     */
+    public boolean add(final PlayerSession session, final Player player, final long block, final long endTick) {
+
+        if (session.getCountdownSlot() >= 0)
+            return false;
+
+        if (this.size == this.players.length) {
+            final int capacity = this.size * 2;
+            this.sessions = Arrays.copyOf(this.sessions, capacity);
+            this.players = Arrays.copyOf(this.players, capacity);
+            this.blocks = Arrays.copyOf(this.blocks, capacity);
+            this.endTicks = Arrays.copyOf(this.endTicks, capacity);
+        }
+
+        final int slot = this.size++;
+        this.sessions[slot] = session;
+        this.players[slot] = player;
+        this.blocks[slot] = block;
+        this.endTicks[slot] = endTick;
+        session.setCountdownSlot(slot);
+        return true;
+    }
+
+    /**
+     * Checks whether a player with a countdown has left its block
+     *
+     * @param session The player's session
+     * @param block   The block the player is in now
+     * @return true if the player has a countdown and is no longer in its block
+     */
+    public boolean hasLeft(final PlayerSession session, final long block) {
+        final int slot = session.getCountdownSlot();
+        return slot >= 0 && this.blocks[slot] != block;
+    }
+
+    /**
+     * Checks whether a player has a countdown
+     *
+     * @param session The player's session
+     * @return true if a countdown is pending
+     */
+    public boolean contains(final PlayerSession session) { return session.getCountdownSlot() >= 0; }
+
+    /**
+     * Removes a player's countdown
+     *
+     * @param session The player's session
+     * @return The player, or null if no countdown was pending
+     */
+    public Player remove(final PlayerSession session) {
+        final int slot = session.getCountdownSlot();
+
+        if (slot < 0)
+            return null;
+
+        final Player player = this.players[slot];
+        this.removeAt(slot);
+        return player;
+    }
+
+    /**
+     * Advances every countdown to a tick, removing the ones that ended
+     *
+     * @param tick    The current tick
+     * @param visitor Told about every ended countdown and every full second left
+     */
+    public void advance(final long tick, final Visitor visitor) {
+        int slot = 0;
+
+        while (slot < this.size) {
+            final long left = this.endTicks[slot] - tick;
+
+            if (left <= 0L) {
+                visitor.finished(this.players[slot]);
+                // The last entry moves into this slot, so visit it again
+                this.removeAt(slot);
+                continue;
+            }
+
+            if (left % TICKS_PER_SECOND == 0L)
+                visitor.second(this.players[slot], (int) (left / TICKS_PER_SECOND));
+
+            slot++;
+        }
+    }
+
+    /**
+     * Removes every countdown
+     */
+    public void clear() {
+        for (int slot = 0; slot < this.size; slot++)
+            this.sessions[slot].setCountdownSlot(-1);
+
+        Arrays.fill(this.sessions, 0, this.size, null);
+        Arrays.fill(this.players, 0, this.size, null);
+        this.size = 0;
+    }
+
+    public int size() { return this.size; }
+
+    /**
+     * Packs a block position into a single long, the way Minecraft does
+     *
+     * @param x Block x, 26 bits
+     * @param y Block y, 12 bits
+     * @param z Block z, 26 bits
+     * @return The packed position
+     */
+    public static long blockKey(final int x, final int y, final int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    /**
+     * Removes a slot by moving the last entry into it
+     */
+    private void removeAt(final int slot) {
+        final int last = --this.size;
+
+        this.sessions[slot].setCountdownSlot(-1);
+
+        if (slot != last) {
+            this.sessions[slot] = this.sessions[last];
+            this.players[slot] = this.players[last];
+            this.blocks[slot] = this.blocks[last];
+            this.endTicks[slot] = this.endTicks[last];
+            this.sessions[slot].setCountdownSlot(slot);
+        }
+
+        this.sessions[last] = null;
+        this.players[last] = null;
+    }
+
+    /**
+     * Receives the countdowns advanced by {@link #advance(long, Visitor)}
+     */
+    public interface Visitor {
+
+        /**
+         * Called when a countdown has a whole number of seconds left
+         *
+         * @param player  The counting player
+         * @param seconds Seconds left
+         */
+        void second(Player player, int seconds);
+
+        /**
+         * Called when a countdown ended, after which it is removed
+         *
+         * @param player The player whose countdown ended
+         */
+        void finished(Player player);
+    }
+}
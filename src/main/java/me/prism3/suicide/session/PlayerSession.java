@@ -0,0 +1,158 @@
+package me.prism3.suicide.session;
+
+import me.prism3.suicide.utils.EffectProfiles;
+import me.prism3.suicide.utils.Settings;
+import me.prism3.suicide.utils.WorldIndex;
+import org.bukkit.entity.Player;
+
+
+/**
+ * Per-player state cached between commands.
+ * Holds the resolved permissions and effect tier, refreshed after a short
+ * time to live or when invalidated, the index of the world the player is in, the chunk
+ * the player is filed under in the {@link ChunkPlayerIndex} and the slot of
+ * a pending countdown in the {@link CountdownTable}.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class PlayerSession {
+
+    /**
+     * How long resolved permissions are trusted, Bukkit has no permission change event
+     */
+    private static final long PERMISSION_TTL_MILLIS = 10_000L;
+
+    private volatile int worldIndex;
+
+    private volatile boolean canUse;
+    private volatile boolean canBypass;
+    private volatile long resolvedAt;
+
+    /**
+     * Tier in the effect profiles it was resolved against, see {@link EffectProfiles#resolveTier}
+     */
+    private volatile int effectTier;
+    private volatile long tierResolvedAt;
+    private volatile EffectProfiles tierProfiles;
+
+    /**
+     * Position in the {@link ChunkPlayerIndex}, guarded by the index lock
+     */
+    private int indexedWorld = -1;
+    private int chunkX;
+    private int chunkZ;
+
+    /**
+     * Slot of the player's pending countdown in the {@link CountdownTable}, -1 when none, guarded by its owner
+     */
+    private int countdownSlot = -1;
+
+    /**
+     * Creates a session for a player
+     *
+     * @param player The player
+     */
+    PlayerSession(final Player player) {
+        this.worldIndex = WorldIndex.of(player.getWorld().getName());
+    }
+
+    /**
+     * Checks whether the player may use the suicide command
+     *
+     * @param player The session's player
+     * @return true if the player has the command permission
+     */
+    public boolean canUse(final Player player) {
+        this.ensureResolved(player);
+        return this.canUse;
+    }
+
+    /**
+     * Checks whether the player bypasses the cooldown
+     *
+     * @param player The session's player
+     * @return true if the player has the bypass permission
+     */
+    public boolean canBypass(final Player player) {
+        this.ensureResolved(player);
+        return this.canBypass;
+    }
+
+    /**
+     * Gets the player's effect profile tier
+     *
+     * @param player   The session's player
+     * @param profiles The current effect profiles, a reload resolves the tier again
+     * @return The tier to look the player's effects up with
+     */
+    public int getEffectTier(final Player player, final EffectProfiles profiles) {
+        final long now = System.currentTimeMillis();
+
+        if (this.tierProfiles != profiles || now - this.tierResolvedAt >= PERMISSION_TTL_MILLIS) {
+            this.effectTier = profiles.resolveTier(player);
+            this.tierResolvedAt = now;
+            this.tierProfiles = profiles;
+        }
+        return this.effectTier;
+    }
+
+    /**
+     * Gets the index of the world the player is in
+     *
+     * @return The {@link WorldIndex} of the current world
+     */
+    public int getWorldIndex() { return this.worldIndex; }
+
+    /**
+     * Updates the player's world after a world change
+     *
+     * @param worldName The new world name
+     */
+    void setWorld(final String worldName) {
+        this.worldIndex = WorldIndex.of(worldName);
+    }
+
+    boolean isIndexed() { return this.indexedWorld >= 0; }
+
+    boolean isIndexedAt(final int world, final int chunkX, final int chunkZ) {
+        return this.indexedWorld == world && this.chunkX == chunkX && this.chunkZ == chunkZ;
+    }
+
+    int getIndexedWorld() { return this.indexedWorld; }
+
+    int getChunkX() { return this.chunkX; }
+
+    int getChunkZ() { return this.chunkZ; }
+
+    void setIndexed(final int world, final int chunkX, final int chunkZ) {
+        this.indexedWorld = world;
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+    }
+
+    void clearIndexed() { this.indexedWorld = -1; }
+
+    int getCountdownSlot() { return this.countdownSlot; }
+
+    void setCountdownSlot(final int slot) { this.countdownSlot = slot; }
+
+    /**
+     * Forces the permissions to be resolved again on next use
+     */
+    void invalidate() {
+        this.resolvedAt = 0L;
+        this.tierResolvedAt = 0L;
+    }
+
+    private void ensureResolved(final Player player) {
+        final long now = System.currentTimeMillis();
+
+        if (now - this.resolvedAt < PERMISSION_TTL_MILLIS)
+            return;
+
+        this.canUse = player.hasPermission(Settings.COMMAND_PERMISSION);
+        this.canBypass = player.hasPermission(Settings.BYPASS_PERMISSION);
+        this.resolvedAt = now;
+    }
+}
@@ -0,0 +1,118 @@
+package me.prism3.suicide.session;
+
+import me.prism3.suicide.utils.WorldIndex;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Owns the {@link PlayerSession} of every online player and keeps the
+ * {@link ChunkPlayerIndex} in step with their movements.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class SessionManager {
+
+    private final Map<UUID, PlayerSession> sessions = new ConcurrentHashMap<>();
+
+    private final ChunkPlayerIndex index = new ChunkPlayerIndex();
+
+    /**
+     * Gets a player's session, creating it if the player was not seen joining
+     *
+     * @param player The player
+     * @return The player's session
+     */
+    public PlayerSession get(final Player player) {
+        final PlayerSession session = this.sessions.get(player.getUniqueId());
+
+        return session != null ? session : this.open(player);
+    }
+
+    /**
+     * Creates a fresh session for a player
+     *
+     * @param player The player
+     * @return The new session
+     */
+    public PlayerSession open(final Player player) {
+        final PlayerSession session = new PlayerSession(player);
+        final PlayerSession previous = this.sessions.put(player.getUniqueId(), session);
+
+        if (previous != null)
+            this.index.remove(player, previous);
+
+        this.place(player, session, player.getLocation());
+        return session;
+    }
+
+    /**
+     * Drops a player's session and removes them from the chunk index
+     *
+     * @param player The player
+     */
+    public void close(final Player player) {
+        final PlayerSession session = this.sessions.remove(player.getUniqueId());
+
+        if (session != null)
+            this.index.remove(player, session);
+    }
+
+    /**
+     * Moves a player to the chunk of a new location
+     *
+     * @param player The player
+     * @param to     The location the player moved to
+     */
+    public void move(final Player player, final Location to) {
+        this.place(player, this.get(player), to);
+    }
+
+    /**
+     * Updates a player's world and re-resolves permissions, which may depend on the world
+     *
+     * @param player The player who changed world
+     */
+    public void changeWorld(final Player player) {
+        final PlayerSession session = this.get(player);
+        session.setWorld(player.getWorld().getName());
+        session.invalidate();
+        this.place(player, session, player.getLocation());
+    }
+
+    /**
+     * Forces every session to resolve its permissions again
+     */
+    public void invalidateAll() { this.sessions.values().forEach(PlayerSession::invalidate); }
+
+    /**
+     * Gets the chunk index of online players
+     *
+     * @return The player chunk index
+     */
+    public ChunkPlayerIndex getIndex() { return this.index; }
+
+    /**
+     * Files a player under the chunk of a location
+     */
+    private void place(final Player player, final PlayerSession session, final Location location) {
+
+        if (location.getWorld() == null)
+            return;
+
+        this.index.place(player, session, WorldIndex.of(location.getWorld().getName()),
+                location.getBlockX() >> 4, location.getBlockZ() >> 4);
+    }
+
+    /**
+     * Gets the number of open sessions
+     *
+     * @return Session count
+     */
+    public int size() { return this.sessions.size(); }
+}
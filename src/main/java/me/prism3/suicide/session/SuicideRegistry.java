@@ -0,0 +1,122 @@
+package me.prism3.suicide.session;
+
+import me.prism3.suicide.cooldown.CooldownTable;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Tracks players who just ran the suicide command until their death is handled.
+ * Every entry has an explicit lifetime: it is consumed by the matching death,
+ * expires after a short time to live, or is purged when the player quits.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class SuicideRegistry {
+
+    /**
+     * How long an entry waits for its death event
+     */
+    private static final long TTL_MILLIS = 10_000L;
+
+    /**
+     * Minimum time between two sweeps of expired entries
+     */
+    private static final long SWEEP_INTERVAL_MILLIS = 30_000L;
+
+    /**
+     * Player UUIDs mapped to the time their entry expires
+     */
+    private final CooldownTable entries = new CooldownTable();
+
+    private volatile long lastSweep;
+
+    private final LongAdder tracked = new LongAdder();
+    private final LongAdder consumed = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+
+    /**
+     * Tracks a player who is about to die from the suicide command
+     *
+     * @param playerId The player UUID
+     */
+    public void track(final UUID playerId) {
+        final long now = System.currentTimeMillis();
+
+        if (now - this.lastSweep >= SWEEP_INTERVAL_MILLIS) {
+            this.lastSweep = now;
+            this.expired.add(this.entries.expire(now));
+        }
+
+        this.entries.merge(playerId, now + TTL_MILLIS);
+        this.tracked.increment();
+    }
+
+    /**
+     * Consumes a player's entry on death
+     *
+     * @param playerId The player UUID
+     * @return true if the death was caused by the suicide command
+     */
+    public boolean consume(final UUID playerId) {
+        final boolean live = this.entries.get(playerId) > System.currentTimeMillis();
+
+        if (!this.entries.remove(playerId))
+            return false;
+
+        if (live) {
+            this.consumed.increment();
+        } else {
+            this.expired.increment();
+        }
+        return live;
+    }
+
+    /**
+     * Drops a player's entry when they quit
+     *
+     * @param playerId The player UUID
+     */
+    public void purge(final UUID playerId) {
+        if (this.entries.remove(playerId))
+            this.purged.increment();
+    }
+
+    /**
+     * Gets the number of tracked entries
+     *
+     * @return Entry count, including expired entries not yet swept
+     */
+    public int size() { return this.entries.size(); }
+
+    /**
+     * Gets the number of players tracked so far
+     *
+     * @return Total tracked count
+     */
+    public long getTracked() { return this.tracked.sum(); }
+
+    /**
+     * Gets the number of entries consumed by their death
+     *
+     * @return Consumed entry count
+     */
+    public long getConsumed() { return this.consumed.sum(); }
+
+    /**
+     * Gets the number of entries that expired without a matching death
+     *
+     * @return Expired entry count
+     */
+    public long getExpired() { return this.expired.sum(); }
+
+    /**
+     * Gets the number of entries dropped because the player quit
+     *
+     * @return Purged entry count
+     */
+    public long getPurged() { return this.purged.sum(); }
+}
@@ -0,0 +1,92 @@
+package me.prism3.suicide.stats;
+
+import java.util.Arrays;
+
+
+/**
+ * Incrementally maintained top-K of suicide counts.
+ * Counts only ever grow by one, so a player outside the board can at most
+ * tie the last entry; every update is a single bubble step over K entries
+ * and reading the board never scans or sorts the full dataset.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+final class Leaderboard {
+
+    private final PlayerStats[] entries;
+    private final long[] counts;
+    private int size;
+
+    /**
+     * Creates an empty board
+     *
+     * @param capacity Number of players kept
+     */
+    Leaderboard(final int capacity) {
+        this.entries = new PlayerStats[capacity];
+        this.counts = new long[capacity];
+    }
+
+    /**
+     * Updates a player's position after their count changed
+     *
+     * @param stats The player's stats
+     * @param count The player's new count
+     */
+    synchronized void update(final PlayerStats stats, final long count) {
+        int index = this.indexOf(stats);
+
+        if (index < 0) {
+            if (this.size < this.entries.length) {
+                index = this.size++;
+            } else if (count > this.counts[this.size - 1]) {
+                index = this.size - 1;
+            } else {
+                return;
+            }
+            this.entries[index] = stats;
+        }
+
+        this.counts[index] = count;
+
+        // Bubble the entry up past every lower count
+        while (index > 0 && this.counts[index - 1] < this.counts[index]) {
+            this.swap(index, index - 1);
+            index--;
+        }
+    }
+
+    /**
+     * Removes every entry
+     */
+    synchronized void clear() {
+        Arrays.fill(this.entries, null);
+        this.size = 0;
+    }
+
+    /**
+     * Copies the board in rank order
+     *
+     * @return The ranked stats, at most the board capacity
+     */
+    synchronized PlayerStats[] ranked() { return Arrays.copyOf(this.entries, this.size); }
+
+    private int indexOf(final PlayerStats stats) {
+        for (int i = 0; i < this.size; i++) {
+            if (this.entries[i] == stats)
+                return i;
+        }
+        return -1;
+    }
+
+    private void swap(final int a, final int b) {
+        final PlayerStats entry = this.entries[a];
+        this.entries[a] = this.entries[b];
+        this.entries[b] = entry;
+
+        final long count = this.counts[a];
+        this.counts[a] = this.counts[b];
+        this.counts[b] = count;
+    }
+}
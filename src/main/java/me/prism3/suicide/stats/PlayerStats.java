@@ -0,0 +1,130 @@
+package me.prism3.suicide.stats;
+
+import java.util.UUID;
+
+
+/**
+ * Suicide statistics of a single player.
+ * Updated in memory by the command and copied out by the write-behind
+ * flush, every access goes through the instance lock.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class PlayerStats {
+
+    private final UUID playerId;
+
+    /**
+     * Record slot in the {@link StatsStore}, fixed for the player's lifetime
+     */
+    private final int slot;
+
+    private String name;
+    private long count;
+    private long first;
+    private long last;
+    private UUID worldId;
+    private int x;
+    private int y;
+    private int z;
+
+    /**
+     * Whether the stats changed since they were last queued for a flush
+     */
+    private boolean dirty;
+
+    PlayerStats(final UUID playerId, final int slot) {
+        this.playerId = playerId;
+        this.slot = slot;
+    }
+
+    /**
+     * Restores the stats read from the store
+     */
+    synchronized void restore(final String name, final long count, final long first, final long last,
+                              final UUID worldId, final int x, final int y, final int z) {
+        this.name = name;
+        this.count = count;
+        this.first = first;
+        this.last = last;
+        this.worldId = worldId;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+    }
+
+    /**
+     * Records a suicide
+     *
+     * @return The new suicide count
+     */
+    synchronized long record(final String name, final long time, final UUID worldId,
+                             final int x, final int y, final int z) {
+        this.name = name;
+
+        if (this.count++ == 0L)
+            this.first = time;
+
+        this.last = time;
+        this.worldId = worldId;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        return this.count;
+    }
+
+    /**
+     * Marks the stats as changed
+     *
+     * @return true if they were clean and must be queued for a flush
+     */
+    synchronized boolean markDirty() {
+        final boolean wasClean = !this.dirty;
+        this.dirty = true;
+        return wasClean;
+    }
+
+    /**
+     * Copies the stats for writing and marks them clean
+     *
+     * @return A consistent copy of the stats
+     */
+    synchronized Snapshot takeSnapshot() {
+        this.dirty = false;
+        return this.snapshot();
+    }
+
+    /**
+     * Copies the stats for display
+     *
+     * @return A consistent copy of the stats
+     */
+    public synchronized Snapshot snapshot() {
+        return new Snapshot(this.playerId, this.name, this.count, this.first, this.last,
+                this.worldId, this.x, this.y, this.z);
+    }
+
+    public UUID getPlayerId() { return this.playerId; }
+
+    synchronized String getName() { return this.name; }
+
+    int getSlot() { return this.slot; }
+
+    /**
+     * Immutable copy of a player's stats
+     *
+     * @param playerId The player UUID
+     * @param name     Last known player name
+     * @param count    Number of suicides
+     * @param first    Time of the first suicide in epoch millis
+     * @param last     Time of the last suicide in epoch millis
+     * @param worldId  UUID of the world of the last suicide, null if unknown
+     * @param x        Block X of the last suicide
+     * @param y        Block Y of the last suicide
+     * @param z        Block Z of the last suicide
+     */
+    public record Snapshot(UUID playerId, String name, long count, long first, long last,
+                           UUID worldId, int x, int y, int z) {
+    }
+}
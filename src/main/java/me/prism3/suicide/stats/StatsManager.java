@@ -0,0 +1,239 @@
+package me.prism3.suicide.stats;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.scheduler.TaskScheduler;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+
+/**
+ * Aggregates suicide statistics in memory and persists them write-behind.
+ * Recording a suicide only updates memory and queues the player; an
+ * asynchronous task writes every queued player to the {@link StatsStore}
+ * in one batch, so the command thread never waits on disk.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class StatsManager {
+
+    /**
+     * Ticks between two write-behind flushes
+     */
+    private static final long FLUSH_PERIOD_TICKS = 20L * 10;
+
+    /**
+     * Players kept on the leaderboard
+     */
+    public static final int TOP_SIZE = 10;
+
+    /**
+     * Main plugin instance reference
+     */
+    private final Suicide plugin;
+
+    private final StatsStore store;
+
+    private final Map<UUID, PlayerStats> stats = new ConcurrentHashMap<>();
+
+    /**
+     * Stats by lower case player name, for lookups of offline players
+     */
+    private final Map<String, PlayerStats> names = new ConcurrentHashMap<>();
+
+    /**
+     * Players changed since the last flush
+     */
+    private final ConcurrentLinkedQueue<PlayerStats> dirty = new ConcurrentLinkedQueue<>();
+
+    private final Leaderboard leaderboard = new Leaderboard(TOP_SIZE);
+
+    /**
+     * Next free record slot in the store
+     */
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    /**
+     * The running flush task, null when stopped
+     */
+    private TaskScheduler.Task flusher;
+
+    /**
+     * Whether the last write error has already been logged
+     */
+    private boolean failing;
+
+    /**
+     * Initializes a new stats manager
+     *
+     * @param plugin Main plugin instance
+     */
+    public StatsManager(final Suicide plugin) {
+        this.plugin = plugin;
+        this.store = new StatsStore(new File(plugin.getDataFolder(), "stats.dat"));
+    }
+
+    /**
+     * Loads the stored statistics and starts the write-behind task
+     */
+    public void start() {
+
+        if (this.flusher != null)
+            return;
+
+        try {
+            final int slots = this.store.open((slot, snapshot) -> {
+                final PlayerStats player = new PlayerStats(snapshot.playerId(), slot);
+                player.restore(snapshot.name(), snapshot.count(), snapshot.first(), snapshot.last(),
+                        snapshot.worldId(), snapshot.x(), snapshot.y(), snapshot.z());
+                this.index(player, snapshot.name());
+                this.leaderboard.update(player, snapshot.count());
+            });
+            this.nextSlot.set(slots);
+            this.plugin.getLogger().info("Loaded suicide stats of " + this.stats.size() + " player(s)");
+        } catch (final IOException e) {
+            this.plugin.getLogger().warning("Could not load suicide stats, they are not saved this run: "
+                    + e.getMessage());
+        }
+
+        this.flusher = this.plugin.getTaskScheduler().runTimerAsync(this::flush,
+                FLUSH_PERIOD_TICKS, FLUSH_PERIOD_TICKS);
+    }
+
+    /**
+     * Stops the write-behind task, writes what is left and closes the store
+     */
+    public void stop() {
+
+        if (this.flusher == null)
+            return;
+
+        this.flusher.cancel();
+        this.flusher = null;
+
+        this.flush();
+        this.store.close();
+    }
+
+    /**
+     * Records a suicide in memory and queues the player for the next flush
+     *
+     * @param player   The player
+     * @param location Where the player died
+     */
+    public void record(final Player player, final Location location) {
+        final PlayerStats stats = this.stats.computeIfAbsent(player.getUniqueId(),
+                id -> new PlayerStats(id, this.nextSlot.getAndIncrement()));
+        final String previousName = stats.getName();
+
+        final long count = stats.record(player.getName(), System.currentTimeMillis(),
+                location.getWorld() == null ? null : location.getWorld().getUID(),
+                location.getBlockX(), location.getBlockY(), location.getBlockZ());
+
+        // A renamed player must not stay findable by the old name, unless someone else took it since
+        if (previousName != null && !previousName.equalsIgnoreCase(player.getName()))
+            this.names.remove(previousName.toLowerCase(Locale.ROOT), stats);
+
+        this.names.put(player.getName().toLowerCase(Locale.ROOT), stats);
+        this.leaderboard.update(stats, count);
+
+        if (stats.markDirty())
+            this.dirty.add(stats);
+    }
+
+    /**
+     * Gets a player's stats
+     *
+     * @param playerId The player UUID
+     * @return The player's stats, null if they never committed suicide
+     */
+    public PlayerStats get(final UUID playerId) { return this.stats.get(playerId); }
+
+    /**
+     * Finds a player's stats by their last known name
+     *
+     * @param name The player name, case insensitive
+     * @return The player's stats, null if unknown
+     */
+    public PlayerStats find(final String name) { return this.names.get(name.toLowerCase(Locale.ROOT)); }
+
+    /**
+     * Gets the leaderboard without scanning the stored players
+     *
+     * @return Stats snapshots ordered by suicide count, at most {@link #TOP_SIZE}
+     */
+    public List<PlayerStats.Snapshot> top() {
+        final PlayerStats[] ranked = this.leaderboard.ranked();
+        final List<PlayerStats.Snapshot> top = new ArrayList<>(ranked.length);
+
+        for (final PlayerStats stats : ranked)
+            top.add(stats.snapshot());
+
+        return top;
+    }
+
+    /**
+     * Gets the number of players with stats
+     *
+     * @return Player count
+     */
+    public int size() { return this.stats.size(); }
+
+    /**
+     * Gets the number of players waiting to be written
+     *
+     * @return Pending player count
+     */
+    public int getPendingCount() { return this.dirty.size(); }
+
+    /**
+     * Writes every queued player to the store in one batch
+     */
+    private synchronized void flush() {
+
+        if (this.dirty.isEmpty())
+            return;
+
+        final List<StatsStore.Pending> batch = new ArrayList<>(this.dirty.size());
+        PlayerStats stats;
+
+        while ((stats = this.dirty.poll()) != null)
+            batch.add(new StatsStore.Pending(stats.getSlot(), stats.takeSnapshot()));
+
+        try {
+            this.store.write(batch);
+            this.failing = false;
+        } catch (final IOException e) {
+            // Queue the players again so the next flush retries them
+            for (final StatsStore.Pending pending : batch) {
+                final PlayerStats retry = this.stats.get(pending.snapshot().playerId());
+
+                if (retry != null && retry.markDirty())
+                    this.dirty.add(retry);
+            }
+
+            if (!this.failing) {
+                this.failing = true;
+                this.plugin.getLogger().warning("Could not save suicide stats: " + e.getMessage());
+            }
+        }
+    }
+
+    private void index(final PlayerStats stats, final String name) {
+        this.stats.put(stats.getPlayerId(), stats);
+
+        if (name != null && !name.isEmpty())
+            this.names.put(name.toLowerCase(Locale.ROOT), stats);
+    }
+}
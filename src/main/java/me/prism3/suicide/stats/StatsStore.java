@@ -0,0 +1,246 @@
+package me.prism3.suicide.stats;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+
+/**
+ * Local file store for player statistics.
+ * Every player owns a fixed size record at a fixed slot, so flushing a
+ * changed player is a single positional write and the file never needs
+ * compacting.
+ *
+ * <p>File layout: an 8 byte header (magic, version) followed by 96 byte
+ * records (UUID, count, first, last, world UUID, x, y, z, name length and
+ * up to 16 name bytes). A record with a zero UUID is unused.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class StatsStore {
+
+    private static final int MAGIC = 0x53535431; // "SST1"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 96;
+    private static final int MAX_NAME_BYTES = 16;
+
+    private final File file;
+
+    private FileChannel channel;
+
+    /**
+     * Reused buffer for encoding records, only touched by the flushing thread
+     */
+    private final ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+
+    /**
+     * Initializes a new store for the given file
+     *
+     * @param file The stats file, created if missing
+     */
+    public StatsStore(final File file) {
+        this.file = file;
+    }
+
+    /**
+     * Opens the file and reads every stored record
+     *
+     * @param loader Receives each record with its slot
+     * @return Number of slots in the file
+     * @throws IOException If the file cannot be opened or read, or ends inside a record.
+     *                     The store stays closed, so later writes cannot overwrite the records
+     */
+    public synchronized int open(final RecordLoader loader) throws IOException {
+        final File parent = this.file.getParentFile();
+
+        if (parent != null && !parent.exists() && !parent.mkdirs())
+            throw new IOException("Could not create " + parent);
+
+        this.channel = FileChannel.open(this.file.toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        try {
+            return this.load(loader);
+        } catch (final IOException e) {
+            this.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the header and every record, writing a fresh header into an empty file.
+     * A file with an unknown header is left untouched and refused.
+     */
+    private int load(final RecordLoader loader) throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+
+        if (this.channel.size() == 0L) {
+            header.putInt(MAGIC).putInt(VERSION).flip();
+            this.writeFully(header, 0L);
+            return 0;
+        }
+
+        if (this.channel.size() < HEADER_SIZE)
+            throw new IOException(this.file.getName() + " is too short to be a stats file");
+
+        this.readFully(header, 0L);
+
+        if (header.getInt(0) != MAGIC)
+            throw new IOException(this.file.getName() + " is not a stats file");
+
+        if (header.getInt(4) != VERSION)
+            throw new IOException(this.file.getName() + " has unsupported version " + header.getInt(4));
+
+        final int slots = (int) ((this.channel.size() - HEADER_SIZE) / RECORD_SIZE);
+        final ByteBuffer buffer = ByteBuffer.allocate(RECORD_SIZE * 256);
+        int slot = 0;
+
+        while (slot < slots) {
+            // Whole records only, so every page decodes completely
+            buffer.clear().limit((int) Math.min(buffer.capacity(), (long) (slots - slot) * RECORD_SIZE));
+            this.readFully(buffer, HEADER_SIZE + (long) slot * RECORD_SIZE);
+            buffer.flip();
+
+            while (buffer.hasRemaining())
+                this.decode(buffer, slot++, loader);
+        }
+        return slots;
+    }
+
+    /**
+     * Writes a batch of records at their slots and forces them to disk
+     *
+     * @param batch Snapshots paired with their slots
+     * @throws IOException If a write fails
+     */
+    public synchronized void write(final List<Pending> batch) throws IOException {
+
+        if (this.channel == null || batch.isEmpty())
+            return;
+
+        for (final Pending pending : batch) {
+            this.encode(pending.snapshot());
+            this.writeFully(this.record, HEADER_SIZE + (long) pending.slot() * RECORD_SIZE);
+        }
+
+        this.channel.force(false);
+    }
+
+    /**
+     * Closes the file
+     */
+    public synchronized void close() {
+
+        if (this.channel == null)
+            return;
+
+        try {
+            this.channel.close();
+        } catch (final IOException ignored) {
+        }
+        this.channel = null;
+    }
+
+    /**
+     * Reads until the buffer is full, a single read may return less
+     *
+     * @throws EOFException If the file ends first
+     */
+    private void readFully(final ByteBuffer buffer, final long start) throws IOException {
+        long position = start;
+
+        while (buffer.hasRemaining()) {
+            final int read = this.channel.read(buffer, position);
+
+            if (read < 0)
+                throw new EOFException("Stats file " + this.file.getName() + " ends at " + position);
+
+            position += read;
+        }
+    }
+
+    /**
+     * Writes the whole buffer, a single positional write may write less
+     */
+    private void writeFully(final ByteBuffer buffer, final long start) throws IOException {
+        long position = start;
+
+        while (buffer.hasRemaining())
+            position += this.channel.write(buffer, position);
+    }
+
+    private void encode(final PlayerStats.Snapshot stats) {
+        final ByteBuffer buffer = this.record;
+        final byte[] name = stats.name() == null ? new byte[0] : stats.name().getBytes(StandardCharsets.UTF_8);
+        final int nameLength = Math.min(name.length, MAX_NAME_BYTES);
+
+        buffer.clear();
+        buffer.putLong(stats.playerId().getMostSignificantBits());
+        buffer.putLong(stats.playerId().getLeastSignificantBits());
+        buffer.putLong(stats.count());
+        buffer.putLong(stats.first());
+        buffer.putLong(stats.last());
+        buffer.putLong(stats.worldId() == null ? 0L : stats.worldId().getMostSignificantBits());
+        buffer.putLong(stats.worldId() == null ? 0L : stats.worldId().getLeastSignificantBits());
+        buffer.putInt(stats.x());
+        buffer.putInt(stats.y());
+        buffer.putInt(stats.z());
+        buffer.put((byte) nameLength);
+        buffer.put(name, 0, nameLength);
+
+        while (buffer.hasRemaining())
+            buffer.put((byte) 0);
+
+        buffer.flip();
+    }
+
+    private void decode(final ByteBuffer buffer, final int slot, final RecordLoader loader) {
+        final int start = buffer.position();
+        final long most = buffer.getLong();
+        final long least = buffer.getLong();
+        final long count = buffer.getLong();
+        final long first = buffer.getLong();
+        final long last = buffer.getLong();
+        final long worldMost = buffer.getLong();
+        final long worldLeast = buffer.getLong();
+        final int x = buffer.getInt();
+        final int y = buffer.getInt();
+        final int z = buffer.getInt();
+        final int nameLength = Math.min(buffer.get() & 0xFF, MAX_NAME_BYTES);
+        final byte[] name = new byte[nameLength];
+        buffer.get(name);
+        buffer.position(start + RECORD_SIZE);
+
+        if (most == 0L && least == 0L)
+            return;
+
+        loader.load(slot, new PlayerStats.Snapshot(new UUID(most, least),
+                new String(name, StandardCharsets.UTF_8), count, first, last,
+                worldMost == 0L && worldLeast == 0L ? null : new UUID(worldMost, worldLeast), x, y, z));
+    }
+
+    /**
+     * A snapshot waiting to be written at its slot
+     *
+     * @param slot     The record slot
+     * @param snapshot The stats to write
+     */
+    public record Pending(int slot, PlayerStats.Snapshot snapshot) {
+    }
+
+    /**
+     * Receives records while the store is opened
+     */
+    @FunctionalInterface
+    public interface RecordLoader {
+        void load(int slot, PlayerStats.Snapshot snapshot);
+    }
+}
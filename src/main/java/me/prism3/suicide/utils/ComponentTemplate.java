@@ -0,0 +1,111 @@
+package me.prism3.suicide.utils;
+
+import me.prism3.suicide.utils.MessageTemplate.Placeholder;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+
+/**
+ * Adventure component parsed once at load time.
+ * Used by the component broadcast mode so the server receives a ready
+ * component instead of converting a legacy string for every recipient.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class ComponentTemplate {
+
+    /**
+     * Supported message formats
+     */
+    public enum Format {
+        /** Legacy '&' colour codes sent as plain strings */
+        LEGACY,
+        /** Legacy '&' colour codes parsed into components */
+        COMPONENT,
+        /** MiniMessage tags parsed into components */
+        MINIMESSAGE
+    }
+
+    /**
+     * The parsed component with placeholder tokens left as literal text
+     */
+    private final Component component;
+
+    /**
+     * Whether the parsed text contains the {@code %player%} token
+     */
+    private final boolean hasPlayer;
+
+    /**
+     * Whether the parsed text contains the {@code %players%} or {@code %count%} tokens
+     */
+    private final boolean hasGroup;
+
+    private ComponentTemplate(final Component component, final boolean hasPlayer, final boolean hasGroup) {
+        this.component = component;
+        this.hasPlayer = hasPlayer;
+        this.hasGroup = hasGroup;
+    }
+
+    /**
+     * Parses a raw config message in the given format
+     *
+     * @param raw    The raw message, may be null
+     * @param format The format to parse the message with
+     * @return The compiled component template
+     */
+    public static ComponentTemplate compile(final String raw, final Format format) {
+
+        final String text = raw == null ? "" : raw;
+        final Component component = format == Format.MINIMESSAGE
+                ? MiniMessage.miniMessage().deserialize(text)
+                : LegacyComponentSerializer.legacyAmpersand().deserialize(text);
+
+        return new ComponentTemplate(component, text.contains(Placeholder.PLAYER.getToken()),
+                text.contains(Placeholder.PLAYERS.getToken()) || text.contains(Placeholder.COUNT.getToken()));
+    }
+
+    /**
+     * Renders the component filling {@code %player%}.
+     * The surrounding style is kept so the name inherits the message colours.
+     *
+     * @param player The player name
+     * @return The rendered component
+     */
+    public Component renderPlayer(final String player) {
+
+        if (!this.hasPlayer)
+            return this.component;
+
+        return this.component.replaceText(TextReplacementConfig.builder()
+                .matchLiteral(Placeholder.PLAYER.getToken())
+                .replacement(player)
+                .build());
+    }
+
+    /**
+     * Renders the component filling {@code %players%} and {@code %count%}
+     *
+     * @param players The joined player names
+     * @param count   The number of players
+     * @return The rendered component
+     */
+    public Component renderGroup(final String players, final long count) {
+
+        if (!this.hasGroup)
+            return this.component;
+
+        return this.component
+                .replaceText(TextReplacementConfig.builder()
+                        .matchLiteral(Placeholder.PLAYERS.getToken())
+                        .replacement(players)
+                        .build())
+                .replaceText(TextReplacementConfig.builder()
+                        .matchLiteral(Placeholder.COUNT.getToken())
+                        .replacement(String.valueOf(count))
+                        .build());
+    }
+}
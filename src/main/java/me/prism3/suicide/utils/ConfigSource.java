@@ -0,0 +1,36 @@
+package me.prism3.suicide.utils;
+
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.logging.Logger;
+
+
+/**
+ * The part of the plugin {@link Data} reads its settings from.
+ * Implemented by the plugin itself, and by stand-ins that load the config
+ * without a server, e.g. the benchmarks.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public interface ConfigSource {
+
+    /**
+     * Writes the bundled config.yml if no config file exists yet
+     */
+    void saveDefaultConfig();
+
+    /**
+     * Gets the loaded config
+     *
+     * @return The current config
+     */
+    FileConfiguration getConfig();
+
+    /**
+     * Gets the logger invalid settings are reported to
+     *
+     * @return The logger
+     */
+    Logger getLogger();
+}
@@ -1,24 +1,31 @@
 package me.prism3.suicide.utils;
 
-import me.prism3.suicide.Suicide;
-import me.prism3.suicide.commands.SuicideCommand;
-import me.prism3.suicide.events.EntityDamage;
-import me.prism3.suicide.events.PlayerDeath;
-import org.bukkit.command.Command;
-import org.bukkit.command.PluginCommand;
-import org.bukkit.command.SimpleCommandMap;
-
-import java.lang.reflect.Field;
-import java.lang.reflect.Method;
+import me.prism3.suicide.utils.MessageTemplate.Placeholder;
+import org.bukkit.Bukkit;
+import org.bukkit.Color;
+import org.bukkit.FireworkEffect;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.inventory.meta.FireworkMeta;
+
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 
 /**
  * Central configuration manager handling all plugin settings and data.
- * Responsible for loading, storing, and providing access to configuration values.
- * Manages dynamic command registration and event setup.
+ * Responsible for loading the configuration and publishing it as an immutable {@link Settings} snapshot.
  *
  * @author Prism3
  * @since 1.0
@@ -26,49 +33,14 @@ import java.util.Map;
 public class Data {
 
     /**
-     * Main plugin instance reference
-     */
-    private final Suicide plugin;
-
-    // String configurations
-    private String suicideReload;
-    private String suicideBypass;
-    private String suicideCommand;
-    private String suicideMessage;
-    private String noPermissionMessage;
-    private String reloadMessage;
-    private String invalidSyntaxMessage;
-    private String disabledWorldMessage;
-    private String coolDownMessage;
-    private String fireworkType;
-
-    // Numerical configurations
-    private long coolDownTime;
-    private int resourceID;
-    private int soundVolume;
-    private int soundPitch;
-    private int fireworkPower;
-    private int fireworkColorRed;
-    private int fireworkColorGreen;
-    private int fireworkColorBlue;
-    private int fireworkFadeColorRed;
-    private int fireworkFadeColorGreen;
-    private int fireworkFadeColorBlue;
-
-    // Boolean feature toggles
-    private boolean cooldownEnabled;
-    private boolean broadcastEnabled;
-    private boolean messageEnabled;
-    private boolean fireworkEnabled;
-    private boolean fireworkTrail;
-    private boolean fireworkFlicker;
-    private boolean coordsEnabled;
-    private boolean soundEnabled;
-
-    // List configurations
-    private List<String> disabledWorlds;
-    private List<String> broadcastMessages;
-    private List<String> commandAliases;
+     * Where the config and logger come from, the plugin itself outside benchmarks
+     */
+    private final ConfigSource plugin;
+
+    /**
+     * Current configuration snapshot, replaced as a whole on every load
+     */
+    private volatile Settings settings;
 
     /**
      * Plugin resource ID for update checking
@@ -76,33 +48,32 @@ public class Data {
     private static final int DEFAULT_RESOURCE_ID = 93367;
 
     /**
-     * Default permission nodes
+     * Format of the death location message
      */
-    private static final String COMMAND_PERMISSION = "suicide.command";
-    private static final String RELOAD_PERMISSION = "suicide.reload";
-    private static final String BYPASS_PERMISSION = "suicide.bypass";
+    private static final String COORDS_FORMAT = "&fYou suicided at: &cX: %x% Y: %y% Z: %z%";
+
+    /**
+     * Top level config keys an effect profile may override
+     */
+    private static final Set<String> EFFECT_KEYS = Set.of("Message", "Broadcast", "Coords", "Firework", "Sound");
 
     /**
      * Initializes a new Data manager instance
      *
-     * @param plugin Main plugin instance
+     * @param plugin Main plugin instance, or another source of the config
      */
-    public Data(final Suicide plugin) {
+    public Data(final ConfigSource plugin) {
         this.plugin = plugin;
         this.load();
     }
 
     /**
      * Loads and refreshes all configuration values from disk
-     * Registers plugin components after loading
+     * Publishes a new settings snapshot after loading
      */
     public void load() {
         this.initializeConfigFile();
-        this.loadStringValues();
-        this.loadNumericValues();
-        this.loadBooleanToggles();
-        this.loadListValues();
-        this.registerPluginComponents();
+        this.settings = this.readSettings();
     }
 
     /**
@@ -113,361 +84,542 @@ public class Data {
     }
 
     /**
-     * Loads all string-based configuration values
-     */
-    private void loadStringValues() {
-        this.suicideMessage = this.getConfigStringWithDefault("Messages.On-Suicide");
-        this.noPermissionMessage = this.getConfigStringWithDefault("Messages.No-Permission");
-        this.reloadMessage = this.getConfigStringWithDefault("Messages.Reload");
-        this.invalidSyntaxMessage = this.getConfigStringWithDefault("Messages.Invalid-Syntax");
-        this.disabledWorldMessage = this.getConfigStringWithDefault("Messages.Disabled");
-        this.coolDownMessage = this.getConfigStringWithDefault("Messages.On-Cooldown");
-        this.fireworkType = this.getConfigStringWithDefault("Firework.Type", "BALL_LARGE").toUpperCase();
-        this.suicideCommand = COMMAND_PERMISSION;
-        this.suicideReload = RELOAD_PERMISSION;
-        this.suicideBypass = BYPASS_PERMISSION;
+     * Builds a new settings snapshot from the loaded config
+     *
+     * @return The validated settings snapshot
+     */
+    private Settings readSettings() {
+        final FileConfiguration config = this.plugin.getConfig();
+        final Settings.EffectSettings effects = new Settings.EffectSettings(
+                config.getBoolean("Broadcast", true),
+                config.getBoolean("Message", true),
+                config.getBoolean("Coords", true),
+                this.loadFirework(config),
+                this.loadSound(config)
+        );
+
+        return new Settings(
+                this.loadMessages(),
+                this.loadEffectProfiles(effects),
+                this.loadCooldown(),
+                this.loadCountdown(),
+                this.loadMonitoring(),
+                this.loadTelemetry(),
+                this.loadDisabledWorlds(),
+                config.getStringList("Aliases")
+        );
     }
 
     /**
-     * Loads all numeric configuration values
-     */
-    private void loadNumericValues() {
-        this.coolDownTime = this.plugin.getConfig().getLong("Cooldown.Timer");
-        this.resourceID = DEFAULT_RESOURCE_ID;
-        this.soundVolume = this.plugin.getConfig().getInt("Sound.Volume");
-        this.soundPitch = this.plugin.getConfig().getInt("Sound.Pitch");
-        this.fireworkColorRed = this.plugin.getConfig().getInt("Firework.Color.RED");
-        this.fireworkColorGreen = this.plugin.getConfig().getInt("Firework.Color.GREEN");
-        this.fireworkColorBlue = this.plugin.getConfig().getInt("Firework.Color.BLUE");
-        this.fireworkFadeColorRed = this.plugin.getConfig().getInt("Firework.Fade.RED");
-        this.fireworkFadeColorGreen = this.plugin.getConfig().getInt("Firework.Fade.GREEN");
-        this.fireworkFadeColorBlue = this.plugin.getConfig().getInt("Firework.Fade.BLUE");
-        this.fireworkPower = this.plugin.getConfig().getInt("Firework.Power");
+     * Indexes the disabled worlds into a bitset
+     */
+    private BitSet loadDisabledWorlds() {
+        final BitSet disabled = new BitSet();
+
+        for (final String world : this.plugin.getConfig().getStringList("Disabled-Worlds"))
+            disabled.set(WorldIndex.of(world));
+
+        return disabled;
     }
 
     /**
-     * Loads all boolean feature toggles
-     */
-    private void loadBooleanToggles() {
-        this.messageEnabled = this.plugin.getConfig().getBoolean("Message", true);
-        this.broadcastEnabled = this.plugin.getConfig().getBoolean("Broadcast", true);
-        this.fireworkEnabled = this.plugin.getConfig().getBoolean("Firework.Enabled", true);
-        this.coordsEnabled = this.plugin.getConfig().getBoolean("Coords", true);
-        this.soundEnabled = this.plugin.getConfig().getBoolean("Sound.Enabled", true);
-        this.cooldownEnabled = this.plugin.getConfig().getBoolean("Cooldown.Enabled", true);
+     * Compiles all message templates
+     */
+    private Settings.MessageSettings loadMessages() {
+        final ComponentTemplate.Format broadcastFormat = this.loadBroadcastFormat();
+        final List<String> broadcast = this.plugin.getConfig().getStringList("Messages.Broadcast.Messages");
+
+        return new Settings.MessageSettings(
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.On-Suicide")),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.No-Permission")),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Reload")),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Invalid-Syntax")),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Disabled")),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.On-Cooldown"), Placeholder.TIME),
+                MessageTemplate.compile(COORDS_FORMAT, Placeholder.X, Placeholder.Y, Placeholder.Z),
+                broadcastFormat,
+                broadcast.stream()
+                        .map(message -> MessageTemplate.compile(message, Placeholder.PLAYER))
+                        .toList(),
+                broadcastFormat == ComponentTemplate.Format.LEGACY
+                        ? List.of()
+                        : broadcast.stream()
+                                .map(message -> ComponentTemplate.compile(message, broadcastFormat))
+                                .toList(),
+                this.loadAggregation(broadcastFormat),
+                this.loadScope(),
+                this.loadStatsMessages(),
+                this.loadHeatmapMessages(),
+                this.loadCountdownMessages()
+        );
+    }
 
-        this.fireworkTrail = this.plugin.getConfig().getBoolean("Firework.Trail", true);
-        this.fireworkFlicker = this.plugin.getConfig().getBoolean("Firework.Flicker", true);
+    /**
+     * Loads the broadcast aggregation settings and compiles their messages
+     *
+     * @param format The broadcast format the messages are compiled for
+     */
+    private Settings.AggregationSettings loadAggregation(final ComponentTemplate.Format format) {
+        final FileConfiguration config = this.plugin.getConfig();
+        final String summary = this.getConfigStringWithDefault("Messages.Broadcast.Aggregation.Summary",
+                "&c&l%count% more players have committed suicide!");
+        final String list = this.getConfigStringWithDefault("Messages.Broadcast.Aggregation.List",
+                "&c&l%players% have committed suicide!");
+        final boolean legacy = format == ComponentTemplate.Format.LEGACY;
+
+        return new Settings.AggregationSettings(
+                config.getBoolean("Messages.Broadcast.Aggregation.Enabled", true),
+                config.getInt("Messages.Broadcast.Aggregation.Window", 20),
+                config.getInt("Messages.Broadcast.Aggregation.Threshold", 3),
+                this.loadAggregationMode(),
+                config.getInt("Messages.Broadcast.Aggregation.Max-Names", 5),
+                MessageTemplate.compile(summary, Placeholder.COUNT),
+                MessageTemplate.compile(list, Placeholder.PLAYERS, Placeholder.COUNT),
+                legacy ? null : ComponentTemplate.compile(summary, format),
+                legacy ? null : ComponentTemplate.compile(list, format)
+        );
     }
 
     /**
-     * Loads all list-based configuration values
-     */
-    private void loadListValues() {
-        this.disabledWorlds = this.plugin.getConfig().getStringList("Disabled-Worlds");
-        this.broadcastMessages = this.plugin.getConfig().getStringList("Messages.Broadcast.Messages");
-        this.commandAliases = this.plugin.getConfig().getStringList("Aliases");
+     * Compiles the statistics command messages
+     */
+    private Settings.StatsMessages loadStatsMessages() {
+        return new Settings.StatsMessages(
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Stats.Header",
+                        "&6Suicide stats of &c%player%&6:"), Placeholder.PLAYER),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Stats.Count",
+                        "&fSuicides: &c%count%"), Placeholder.COUNT),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Stats.First",
+                        "&fFirst: &c%date%"), Placeholder.DATE),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Stats.Last",
+                        "&fLast: &c%date%"), Placeholder.DATE),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Stats.Location",
+                        "&fLast location: &c%world% %x% %y% %z%"),
+                        Placeholder.WORLD, Placeholder.X, Placeholder.Y, Placeholder.Z),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Stats.None",
+                        "&c%player% has never committed suicide."), Placeholder.PLAYER),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Stats.Top-Header",
+                        "&6Top suicides:")),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Stats.Top-Entry",
+                        "&7%rank%. &c%player% &f%count%"), Placeholder.RANK, Placeholder.PLAYER, Placeholder.COUNT),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Stats.Top-Empty",
+                        "&7Nobody has committed suicide yet."))
+        );
     }
 
     /**
-     * Registers all plugin components including events and commands
+     * Compiles the heatmap export messages
      */
-    private void registerPluginComponents() {
-        this.registerEventListeners();
-        this.registerMainCommand();
+    private Settings.HeatmapMessages loadHeatmapMessages() {
+        return new Settings.HeatmapMessages(
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Heatmap.Exporting",
+                        "&7Exporting the heatmap of %world%..."), Placeholder.WORLD),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Heatmap.Exported",
+                        "&aHeatmap exported to &f%file%"), Placeholder.FILE),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Heatmap.Empty",
+                        "&cNo suicides recorded in %world%."), Placeholder.WORLD),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Heatmap.Failed",
+                        "&cCould not export the heatmap, see the console."))
+        );
     }
 
     /**
-     * Registers all event listeners
+     * Compiles the confirmation countdown messages
      */
-    private void registerEventListeners() {
-        this.plugin.getServer().getPluginManager().registerEvents(new PlayerDeath(), plugin);
-        this.plugin.getServer().getPluginManager().registerEvents(new EntityDamage(), plugin);
+    private Settings.CountdownMessages loadCountdownMessages() {
+        return new Settings.CountdownMessages(
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Countdown.Start",
+                        "&6Suiciding in &c%time% &6second(s), don't move."), Placeholder.TIME),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Countdown.Second",
+                        "&6%time%..."), Placeholder.TIME),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Countdown.Cancelled",
+                        "&cSuicide cancelled.")),
+                MessageTemplate.compile(this.getConfigStringWithDefault("Messages.Countdown.Pending",
+                        "&cYour suicide is already counting down."))
+        );
     }
 
     /**
-     * Registers and configures the main command with aliases
+     * Loads the broadcast audience settings
      */
-    private void registerMainCommand() {
-
-        final PluginCommand command = this.plugin.getCommand("suicide");
+    private Settings.ScopeSettings loadScope() {
+        final String mode = this.getConfigStringWithDefault("Messages.Broadcast.Scope.Mode", "SERVER");
+        Settings.ScopeSettings.Mode scope;
 
-        if (command == null)
-            return;
+        try {
+            scope = Settings.ScopeSettings.Mode.valueOf(mode.toUpperCase());
+        } catch (final IllegalArgumentException e) {
+            this.plugin.getLogger().warning("Invalid broadcast scope: " + mode + ", using SERVER");
+            scope = Settings.ScopeSettings.Mode.SERVER;
+        }
 
-        this.configureCommandProperties(command);
-        this.refreshCommandRegistration(command);
+        return new Settings.ScopeSettings(
+                scope,
+                this.plugin.getConfig().getInt("Messages.Broadcast.Scope.Radius", 64),
+                this.getConfigStringWithDefault("Messages.Broadcast.Scope.Permission", "")
+        );
     }
 
     /**
-     * Configures command properties from loaded values
-     *
-     * @param command The command to configure
+     * Resolves the aggregation mode, falling back to summary on invalid values
      */
-    private void configureCommandProperties(final PluginCommand command) {
-        command.setAliases(commandAliases);
-        command.setExecutor(new SuicideCommand(this));
+    private Settings.AggregationSettings.Mode loadAggregationMode() {
+
+        final String mode = this.getConfigStringWithDefault("Messages.Broadcast.Aggregation.Mode", "SUMMARY");
+
+        try {
+            return Settings.AggregationSettings.Mode.valueOf(mode.toUpperCase());
+        } catch (final IllegalArgumentException e) {
+            this.plugin.getLogger().warning("Invalid aggregation mode: " + mode + ", using SUMMARY");
+            return Settings.AggregationSettings.Mode.SUMMARY;
+        }
     }
 
     /**
-     * Refreshes command registration in the server's command map
+     * Resolves the broadcast message format, falling back to legacy on invalid values
      *
-     * @param command The command to refresh
+     * @return The configured broadcast format
      */
-    private void refreshCommandRegistration(final PluginCommand command) {
+    private ComponentTemplate.Format loadBroadcastFormat() {
+
+        final String format = this.getConfigStringWithDefault("Messages.Broadcast.Format", "LEGACY");
+
         try {
-            final SimpleCommandMap commandMap = this.getCommandMap();
-            this.unregisterExistingCommand(command, commandMap);
-            commandMap.register(this.plugin.getName(), command);
-        } catch (final Exception e) {
-            this.plugin.getLogger().warning("Command registration error: " + e.getMessage());
+            return ComponentTemplate.Format.valueOf(format.toUpperCase());
+        } catch (final IllegalArgumentException e) {
+            this.plugin.getLogger().warning("Invalid broadcast format: " + format + ", using LEGACY");
+            return ComponentTemplate.Format.LEGACY;
         }
     }
 
     /**
-     * Retrieves the server's command map using reflection
-     */
-    private SimpleCommandMap getCommandMap() throws Exception {
-        final Method getCommandMap = this.plugin.getServer().getClass().getMethod("getCommandMap");
-        return (SimpleCommandMap) getCommandMap.invoke(this.plugin.getServer());
+     * Builds the firework effect and meta template, reporting invalid values once
+     */
+    private Settings.FireworkSettings loadFirework(final ConfigurationSection config) {
+        final int power = this.clampReported("Firework.Power", config.getInt("Firework.Power"), 0, 3);
+
+        final FireworkEffect effect = FireworkEffect.builder()
+                .with(this.loadFireworkType(config))
+                .withColor(this.loadColor(config, "Firework.Color"))
+                .withFade(this.loadColor(config, "Firework.Fade"))
+                .trail(config.getBoolean("Firework.Trail", true))
+                .flicker(config.getBoolean("Firework.Flicker", true))
+                .build();
+
+        final FireworkMeta template = (FireworkMeta) Bukkit.getItemFactory().getItemMeta(Material.FIREWORK_ROCKET);
+        template.addEffect(effect);
+        template.setPower(power);
+
+        return new Settings.FireworkSettings(
+                config.getBoolean("Firework.Enabled", true),
+                effect,
+                power,
+                template,
+                new Settings.LimiterSettings(
+                        config.getBoolean("Firework.Limiter.Enabled", true),
+                        config.getInt("Firework.Limiter.Window", 10),
+                        config.getInt("Firework.Limiter.Per-Chunk", 1),
+                        config.getInt("Firework.Limiter.Per-Tick", 8)
+                )
+        );
     }
 
     /**
-     * Unregisters a command from the command map
-     *
-     * @param command The command to unregister
-     * @param commandMap The command map to unregister from
+     * Resolves the firework type, falling back to the default on invalid values
      */
-    private void unregisterExistingCommand(final PluginCommand command, final SimpleCommandMap commandMap) {
-        // Unregister the command normally.
-        command.unregister(commandMap);
+    private FireworkEffect.Type loadFireworkType(final ConfigurationSection config) {
 
-        try {
-            Field knownCommandsField = SimpleCommandMap.class.getDeclaredField("knownCommands");
-            knownCommandsField.setAccessible(true);
-            @SuppressWarnings("unchecked")
-            Map<String, Command> knownCommands = (Map<String, Command>) knownCommandsField.get(commandMap);
-
-            // Copy keys into a list to avoid concurrent modification issues.
-            List<String> keysToRemove = new ArrayList<>();
-            for (Map.Entry<String, Command> entry : knownCommands.entrySet()) {
-                if (entry.getValue() == command && !entry.getKey().equalsIgnoreCase(command.getName())) {
-                    keysToRemove.add(entry.getKey());
-                }
-            }
+        final String type = config.getString("Firework.Type", "BALL_LARGE");
 
-            // Remove stale aliases by key.
-            for (String key : keysToRemove) {
-                knownCommands.remove(key);
-            }
-        } catch (final Exception e) {
-            plugin.getLogger().severe("Error cleaning up old aliases: " + e.getMessage());
-            plugin.getLogger().severe("If the issue persists, contact the author");
+        try {
+            return FireworkEffect.Type.valueOf(type.toUpperCase());
+        } catch (final IllegalArgumentException e) {
+            this.plugin.getLogger().warning("Invalid firework type: " + type + ", using BALL_LARGE");
+            return FireworkEffect.Type.BALL_LARGE;
         }
     }
 
     /**
-     * Safely retrieves a string value from config with optional default
+     * Reads an RGB colour section, clamping each component to 0-255
      */
-    private String getConfigStringWithDefault(final String path, final String defaultValue) {
-        return this.plugin.getConfig().getString(path, defaultValue);
-    }
-
-    private String getConfigStringWithDefault(final String path) {
-        return this.plugin.getConfig().getString(path);
+    private Color loadColor(final ConfigurationSection config, final String path) {
+        return Color.fromRGB(
+                this.clampReported(path + ".RED", config.getInt(path + ".RED"), 0, 255),
+                this.clampReported(path + ".GREEN", config.getInt(path + ".GREEN"), 0, 255),
+                this.clampReported(path + ".BLUE", config.getInt(path + ".BLUE"), 0, 255)
+        );
     }
 
     /**
-     * Retrieves the sound effect played during suicide
-     * @return Name of configured sound effect
+     * Clamps a config value between the given bounds, warning when it was out of range
      */
-    public String getPlayedSound() {
-        return this.plugin.getConfig().getString("Sound.Sound", "MOB_ZOMBIE_HURT");
+    private int clampReported(final String path, final int value, final int min, final int max) {
+
+        if (value >= min && value <= max)
+            return value;
+
+        final int clamped = Math.max(min, Math.min(max, value));
+        this.plugin.getLogger().warning("Invalid " + path + ": " + value + ", using " + clamped);
+        return clamped;
     }
 
     /**
-     * Gets the reload subcommand permission node
-     * @return Permission string for reload access
+     * Resolves the configured sound and its playback values
      */
-    public String getSuicideReload() { return this.suicideReload; }
+    private Settings.SoundSettings loadSound(final ConfigurationSection config) {
+        final boolean enabled = config.getBoolean("Sound.Enabled", true);
+        final String rawSound = config.getString("Sound.Sound", "entity.zombie.hurt");
+        final String key = toSoundKey(rawSound);
+        final Sound sound = enabled ? this.resolveSound(rawSound, key) : null;
 
-    /**
-     * Gets the cooldown bypass permission node
-     * @return Permission string for bypassing cooldowns
-     */
-    public String getSuicideBypass() { return this.suicideBypass; }
+        final int volume = this.clampReported("Sound.Volume", config.getInt("Sound.Volume"), 0, 100);
+        final int pitch = this.clampReported("Sound.Pitch", config.getInt("Sound.Pitch"), 0, 100);
 
-    /**
-     * Gets the base command permission node
-     * @return Permission string for command access
-     */
-    public String getSuicideCommand() { return this.suicideCommand; }
+        return new Settings.SoundSettings(
+                enabled,
+                sound,
+                key,
+                Math.max(0f, Math.min(1f, volume / 100f)),
+                Math.max(0.5f, Math.min(2f, pitch / 50f + 0.5f))
+        );
+    }
 
     /**
-     * Gets the suicide confirmation message
-     * @return Configured suicide completion message
+     * Compiles the effect profiles into a table per world and permission tier.
+     * Each distinct set of matching profiles is built once and shared by its cells.
+     *
+     * @param base The effects applying where no profile matches
      */
-    public String getSuicideMessage() { return this.suicideMessage; }
+    private EffectProfiles loadEffectProfiles(final Settings.EffectSettings base) {
+        final ConfigurationSection section = this.plugin.getConfig().getConfigurationSection("Profiles");
 
-    /**
-     * Gets the no-permission error message
-     * @return Permission denial message template
-     */
-    public String getNoPermissionMessage() { return this.noPermissionMessage; }
+        if (section == null || section.getKeys(false).isEmpty())
+            return EffectProfiles.of(base);
 
-    /**
-     * Gets the config reload confirmation
-     * @return Reload success message template
-     */
-    public String getReloadMessage() { return this.reloadMessage; }
+        final List<Profile> profiles = new ArrayList<>();
+        final List<String> permissions = new ArrayList<>();
 
-    /**
-     * Gets the invalid syntax warning
-     * @return Command syntax error message template
-     */
-    public String getInvalidSyntaxMessage() { return this.invalidSyntaxMessage; }
+        for (final String name : section.getKeys(false)) {
+            final ConfigurationSection profile = section.getConfigurationSection(name);
 
-    /**
-     * Gets disabled world error message
-     * @return World restriction message template
-     */
-    public String getDisabledWorldMessage() { return this.disabledWorldMessage; }
+            if (profile == null) {
+                this.plugin.getLogger().warning("Invalid effect profile: " + name);
+                continue;
+            }
 
-    /**
-     * Gets cooldown active warning
-     * @return Cooldown notification message template
-     */
-    public String getCoolDownMessage() { return this.coolDownMessage; }
+            final BitSet worlds = new BitSet();
+            for (final String world : profile.getStringList("Worlds"))
+                worlds.set(WorldIndex.of(world));
 
-    /**
-     * Gets configured firework effect type
-     * @return FireworkType name in uppercase
-     */
-    public String getFireworkType() { return this.fireworkType; }
+            final String permission = profile.getString("Permission", "").trim();
+            if (!permission.isEmpty() && !permissions.contains(permission))
+                permissions.add(permission);
 
-    /**
-     * Gets cooldown duration in seconds
-     * @return Cooldown length in seconds
-     */
-    public long getCoolDownTime() { return this.coolDownTime; }
+            profiles.add(new Profile(profile, worlds, permission.isEmpty() ? 0 : permissions.indexOf(permission) + 1));
+        }
 
-    /**
-     * Gets plugin resource ID for updates
-     * @return Spigot resource identifier
-     */
-    public int getResourceID() { return this.resourceID; }
+        // Every world named so far gets a row, the last row is shared by the others
+        final int worlds = WorldIndex.size();
+        final int tiers = permissions.size() + 1;
+        final Settings.EffectSettings[] table = new Settings.EffectSettings[(worlds + 1) * tiers];
+        final Map<BitSet, Settings.EffectSettings> compiled = new HashMap<>();
 
-    /**
-     * Gets suicide sound effect volume
-     * @return Sound volume level (0-100)
-     */
-    public int getSoundVolume() { return this.soundVolume; }
+        for (int row = 0; row <= worlds; row++) {
+            for (int tier = 0; tier < tiers; tier++) {
+                final BitSet matching = new BitSet();
 
-    /**
-     * Gets suicide sound effect pitch
-     * @return Sound pitch value (0-2)
-     */
-    public int getSoundPitch() { return this.soundPitch; }
+                for (int i = 0; i < profiles.size(); i++) {
+                    if (profiles.get(i).matches(row < worlds ? row : -1, tier))
+                        matching.set(i);
+                }
 
-    /**
-     * Gets firework launch power
-     * @return Firework rocket power level
-     */
-    public int getFireworkPower() { return this.fireworkPower; }
+                table[row * tiers + tier] = compiled.computeIfAbsent(matching,
+                        set -> this.compileEffects(base, set, profiles));
+            }
+        }
 
-    /**
-     * Gets firework primary color red component
-     * @return RGB red value (0-255)
-     */
-    public int getFireworkColorRed() { return this.fireworkColorRed; }
+        return new EffectProfiles(base, table, worlds, permissions, profiles.size());
+    }
 
     /**
-     * Gets firework primary color green component
-     * @return RGB green value (0-255)
+     * Builds the effects of a set of profiles applied in config order over the base settings
+     *
+     * @param base     The effects applying where no profile matches
+     * @param matching Indexes of the profiles to apply
+     * @param profiles Every profile
      */
-    public int getFireworkColorGreen() { return this.fireworkColorGreen; }
+    private Settings.EffectSettings compileEffects(final Settings.EffectSettings base, final BitSet matching,
+                                                   final List<Profile> profiles) {
 
-    /**
-     * Gets firework primary color blue component
-     * @return RGB blue value (0-255)
-     */
-    public int getFireworkColorBlue() { return this.fireworkColorBlue; }
+        if (matching.isEmpty())
+            return base;
 
-    /**
-     * Gets firework fade color red component
-     * @return RGB red value (0-255)
-     */
-    public int getFireworkFadeColorRed() { return this.fireworkFadeColorRed; }
+        final FileConfiguration config = this.plugin.getConfig();
+        final MemoryConfiguration merged = new MemoryConfiguration();
 
-    /**
-     * Gets firework fade color green component
-     * @return RGB green value (0-255)
-     */
-    public int getFireworkFadeColorGreen() { return this.fireworkFadeColorGreen; }
+        for (final String path : config.getKeys(true)) {
+            final int dot = path.indexOf('.');
 
-    /**
-     * Gets firework fade color blue component
-     * @return RGB blue value (0-255)
-     */
-    public int getFireworkFadeColorBlue() { return this.fireworkFadeColorBlue; }
+            if (EFFECT_KEYS.contains(dot < 0 ? path : path.substring(0, dot)) && !config.isConfigurationSection(path))
+                merged.set(path, config.get(path));
+        }
+
+        boolean firework = false;
+        boolean sound = false;
+
+        for (int i = matching.nextSetBit(0); i >= 0; i = matching.nextSetBit(i + 1)) {
+            final ConfigurationSection profile = profiles.get(i).section();
+
+            for (final String path : profile.getKeys(true)) {
+                final int dot = path.indexOf('.');
+
+                if (EFFECT_KEYS.contains(dot < 0 ? path : path.substring(0, dot)) && !profile.isConfigurationSection(path))
+                    merged.set(path, profile.get(path));
+            }
+
+            firework |= profile.isConfigurationSection("Firework");
+            sound |= profile.isConfigurationSection("Sound");
+        }
+
+        // Only rebuild what the profiles touch, the rest is shared with the base
+        return new Settings.EffectSettings(
+                merged.getBoolean("Broadcast", true),
+                merged.getBoolean("Message", true),
+                merged.getBoolean("Coords", true),
+                firework ? this.loadFirework(merged) : base.firework(),
+                sound ? this.loadSound(merged) : base.sound()
+        );
+    }
 
     /**
-     * Checks if cooldown system is enabled
-     * @return true if cooldowns are active
-     */
-    public boolean isCooldownEnabled() { return this.cooldownEnabled; }
+     * A configured effect profile
+     *
+     * @param section The profile's config section
+     * @param worlds  {@link WorldIndex} bits of the worlds it applies in, empty for every world
+     * @param tier    The permission tier it applies to, 0 for every player
+     */
+    private record Profile(ConfigurationSection section, BitSet worlds, int tier) {
+
+        /**
+         * Checks whether the profile applies to a world and tier
+         *
+         * @param world The world index, -1 for worlds no profile names
+         * @param tier  The permission tier
+         */
+        boolean matches(final int world, final int tier) {
+            return (this.worlds.isEmpty() || world >= 0 && this.worlds.get(world))
+                    && (this.tier == 0 || this.tier == tier);
+        }
+    }
 
     /**
-     * Checks if broadcast messages are enabled
-     * @return true if broadcasts are active
+     * Looks the sound up in the registry, reporting unknown sounds once
+     *
+     * @param rawSound The sound as written in the config
+     * @param key      The normalized sound key
+     * @return The registry sound, or null if the key is unknown
      */
-    public boolean isBroadcastEnabled() { return this.broadcastEnabled; }
+    private Sound resolveSound(final String rawSound, final String key) {
+        final NamespacedKey namespacedKey = NamespacedKey.fromString(key);
+        final Sound sound = namespacedKey == null ? null : Registry.SOUNDS.get(namespacedKey);
+
+        if (sound == null) {
+            this.plugin.getLogger().warning("Unknown sound: " + rawSound + " (resolved as " + key + ")");
+            this.plugin.getLogger().warning("It will only play if provided by a resource pack, e.g. use entity.zombie.hurt");
+        }
+        return sound;
+    }
 
     /**
-     * Checks if personal messages are enabled
-     * @return true if player messages are active
+     * Converts a sound name to its registry key form.
+     * Enum style names such as ENTITY_ZOMBIE_HURT are lower cased with dots,
+     * keys already containing dots are only lower cased.
+     *
+     * @param rawSound The sound as written in the config
+     * @return The sound key
      */
-    public boolean isMessageEnabled() { return this.messageEnabled; }
+    private static String toSoundKey(final String rawSound) {
+        final String lower = rawSound.trim().toLowerCase(Locale.ROOT);
+        return lower.indexOf('.') >= 0 || lower.indexOf(':') >= 0 ? lower : lower.replace('_', '.');
+    }
 
     /**
-     * Checks if fireworks are enabled
-     * @return true if firework effects are active
+     * Loads the command cooldown settings
      */
-    public boolean isFireworkEnabled() { return this.fireworkEnabled; }
+    private Settings.CooldownSettings loadCooldown() {
+        final FileConfiguration config = this.plugin.getConfig();
+
+        return new Settings.CooldownSettings(
+                config.getBoolean("Cooldown.Enabled", true),
+                config.getLong("Cooldown.Timer"),
+                new Settings.SyncSettings(
+                        config.getBoolean("Cooldown.Sync.Enabled", false),
+                        this.getConfigStringWithDefault("Cooldown.Sync.Directory", "shared/suicide-cooldowns"),
+                        this.getConfigStringWithDefault("Cooldown.Sync.Server-Id", ""),
+                        config.getLong("Cooldown.Sync.Interval", 20L)
+                )
+        );
+    }
 
     /**
-     * Checks if firework trails are enabled
-     * @return true if firework trails are active
+     * Loads the confirmation countdown settings
      */
-    public boolean isFireworkTrail() { return this.fireworkTrail; }
+    private Settings.CountdownSettings loadCountdown() {
+        final FileConfiguration config = this.plugin.getConfig();
+
+        return new Settings.CountdownSettings(
+                config.getBoolean("Countdown.Enabled", false),
+                config.getInt("Countdown.Seconds", 5)
+        );
+    }
 
     /**
-     * Checks if firework flicker is enabled
-     * @return true if firework flicker effect is active
+     * Loads the operational metrics settings
      */
-    public boolean isFireworkFlicker() { return this.fireworkFlicker; }
+    private Settings.MonitoringSettings loadMonitoring() {
+        final FileConfiguration config = this.plugin.getConfig();
+
+        return new Settings.MonitoringSettings(
+                config.getBoolean("Monitoring.Jmx", true),
+                config.getBoolean("Monitoring.Prometheus.Enabled", false),
+                config.getInt("Monitoring.Prometheus.Port", 9464)
+        );
+    }
 
     /**
-     * Checks if coordinate display is enabled
-     * @return true if death coordinates are shown
+     * Loads the bStats submission settings
      */
-    public boolean isCoordsEnabled() { return this.coordsEnabled; }
+    private Settings.TelemetrySettings loadTelemetry() {
+        final FileConfiguration config = this.plugin.getConfig();
+
+        return new Settings.TelemetrySettings(
+                config.getBoolean("Telemetry.Spool.Enabled", true),
+                config.getLong("Telemetry.Spool.Max-Size", 256L) * 1024L,
+                TimeUnit.HOURS.toMillis(config.getLong("Telemetry.Spool.Max-Age", 24L))
+        );
+    }
 
     /**
-     * Checks if sound effects are enabled
-     * @return true if suicide sounds are played
+     * Safely retrieves a string value from config with optional default
      */
-    public boolean isSoundEnabled() { return this.soundEnabled; }
+    private String getConfigStringWithDefault(final String path, final String defaultValue) {
+        return this.plugin.getConfig().getString(path, defaultValue);
+    }
+
+    private String getConfigStringWithDefault(final String path) {
+        return this.plugin.getConfig().getString(path);
+    }
 
     /**
-     * Gets list of disabled worlds
-     * @return List of world names where command is disabled
+     * Gets the current configuration snapshot.
+     * Callers should read it once and use that instance for the whole operation.
+     * @return The latest published settings
      */
-    public List<String> getDisabledWorlds() { return this.disabledWorlds; }
+    public Settings getSettings() { return this.settings; }
 
     /**
-     * Gets broadcast message templates
-     * @return List of possible broadcast messages
+     * Gets plugin resource ID for updates
+     * @return Spigot resource identifier
      */
-    public List<String> getBroadcastMessages() { return this.broadcastMessages; }
+    public int getResourceID() { return DEFAULT_RESOURCE_ID; }
 }
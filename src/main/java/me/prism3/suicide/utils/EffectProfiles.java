@@ -0,0 +1,130 @@
+package me.prism3.suicide.utils;
+
+import org.bukkit.permissions.Permissible;
+
+import java.util.List;
+
+
+/**
+ * Effect profiles compiled into a dispatch table.
+ * Every cell holds the effects for one world and one permission tier, with
+ * all matching profiles already applied, so picking the effects of a suicide
+ * is an array read. Worlds indexed after the table was compiled share the
+ * row of worlds no profile names.
+ *
+ * <p>A player's tier is the first profile permission they have, in config
+ * order, or 0 without any. It is resolved with the other cached permissions
+ * of their session, not on every suicide.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class EffectProfiles {
+
+    /**
+     * Cells indexed by {@code row * tiers + tier}
+     */
+    private final Settings.EffectSettings[] table;
+
+    /**
+     * Worlds with their own row, the next row is shared by every other world
+     */
+    private final int worlds;
+
+    /**
+     * Tiers per row, permissions plus the tier without any
+     */
+    private final int tiers;
+
+    /**
+     * Permission of each tier above 0
+     */
+    private final String[] permissions;
+
+    private final int profiles;
+
+    /**
+     * Effects applying where no profile matches
+     */
+    private final Settings.EffectSettings base;
+
+    /**
+     * Creates a table from compiled cells
+     *
+     * @param base        Effects applying where no profile matches
+     * @param table       Cells indexed by {@code row * (permissions.size() + 1) + tier}, {@code worlds + 1} rows
+     * @param worlds      Worlds with their own row
+     * @param permissions Permission of each tier above 0, in config order
+     * @param profiles    Number of configured profiles
+     */
+    public EffectProfiles(final Settings.EffectSettings base, final Settings.EffectSettings[] table,
+                          final int worlds, final List<String> permissions, final int profiles) {
+        this.tiers = permissions.size() + 1;
+
+        if (table.length != (worlds + 1) * this.tiers)
+            throw new IllegalArgumentException("Expected " + (worlds + 1) * this.tiers + " cells, got " + table.length);
+
+        this.table = table.clone();
+        this.worlds = worlds;
+        this.permissions = permissions.toArray(new String[0]);
+        this.profiles = profiles;
+        this.base = base;
+    }
+
+    /**
+     * Creates a table applying the same effects everywhere
+     *
+     * @param effects The effects
+     * @return A single cell table
+     */
+    public static EffectProfiles of(final Settings.EffectSettings effects) {
+        return new EffectProfiles(effects, new Settings.EffectSettings[] { effects }, 0, List.of(), 0);
+    }
+
+    /**
+     * Gets the effects of a world and tier
+     *
+     * @param worldIndex The {@link WorldIndex} of the world
+     * @param tier       The player's tier, see {@link #resolveTier(Permissible)}
+     * @return The effects to apply
+     */
+    public Settings.EffectSettings get(final int worldIndex, final int tier) {
+        final int row = worldIndex < this.worlds ? worldIndex : this.worlds;
+        return this.table[row * this.tiers + (tier < this.tiers ? tier : 0)];
+    }
+
+    /**
+     * Gets the effects configured at the top level, before any profile is applied
+     *
+     * @return The base effects
+     */
+    public Settings.EffectSettings getBase() { return this.base; }
+
+    /**
+     * Checks whether any profile depends on a permission
+     *
+     * @return true if players have to be sorted into tiers
+     */
+    public boolean hasTiers() { return this.tiers > 1; }
+
+    /**
+     * Resolves a player's tier from their permissions
+     *
+     * @param player The player
+     * @return The index of the first profile permission the player has plus one, 0 without any
+     */
+    public int resolveTier(final Permissible player) {
+        for (int i = 0; i < this.permissions.length; i++) {
+            if (player.hasPermission(this.permissions[i]))
+                return i + 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the number of configured profiles
+     *
+     * @return Profile count, 0 when the base effects apply everywhere
+     */
+    public int size() { return this.profiles; }
+}
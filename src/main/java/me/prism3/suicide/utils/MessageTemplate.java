@@ -0,0 +1,269 @@
+package me.prism3.suicide.utils;
+
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+
+/**
+ * Pre-compiled chat message with colour codes already translated.
+ * Placeholders are split out into slots at load time so rendering
+ * only appends literal segments and slot values.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class MessageTemplate {
+
+    /**
+     * Placeholders understood by the template compiler
+     */
+    public enum Placeholder {
+        PLAYER("%player%"),
+        TIME("%time%"),
+        X("%x%"),
+        Y("%y%"),
+        Z("%z%"),
+        COUNT("%count%"),
+        PLAYERS("%players%"),
+        DATE("%date%"),
+        WORLD("%world%"),
+        RANK("%rank%"),
+        FILE("%file%");
+
+        private final String token;
+
+        Placeholder(final String token) { this.token = token; }
+
+        /**
+         * Gets the raw token matched in config strings
+         *
+         * @return Placeholder token including the percent signs
+         */
+        public String getToken() { return this.token; }
+    }
+
+    private static final Placeholder[] NO_SLOTS = new Placeholder[0];
+
+    /**
+     * Literal segments surrounding the slots, always one longer than {@link #slots}
+     */
+    private final String[] literals;
+
+    /**
+     * Placeholder filled in between each pair of literals
+     */
+    private final Placeholder[] slots;
+
+    /**
+     * Combined length of all literal segments, used to size the render buffer
+     */
+    private final int literalLength;
+
+    private MessageTemplate(final String[] literals, final Placeholder[] slots) {
+        this.literals = literals;
+        this.slots = slots;
+
+        int length = 0;
+        for (final String literal : literals)
+            length += literal.length();
+
+        this.literalLength = length;
+    }
+
+    /**
+     * Compiles a raw config message, translating colour codes and splitting out
+     * the given placeholders. Tokens not listed are kept as literal text.
+     *
+     * @param raw          The raw message with '&' colour codes, may be null
+     * @param placeholders Placeholders this message may contain
+     * @return The compiled template
+     */
+    public static MessageTemplate compile(final String raw, final Placeholder... placeholders) {
+
+        final String text = raw == null ? "" : ChatColor.translateAlternateColorCodes('&', raw);
+
+        if (placeholders.length == 0)
+            return new MessageTemplate(new String[] { text }, NO_SLOTS);
+
+        final List<String> literals = new ArrayList<>();
+        final List<Placeholder> slots = new ArrayList<>();
+
+        int start = 0;
+        int cursor = 0;
+
+        while (cursor < text.length()) {
+            final Placeholder match = matchAt(text, cursor, placeholders);
+
+            if (match == null) {
+                cursor++;
+                continue;
+            }
+
+            literals.add(text.substring(start, cursor));
+            slots.add(match);
+            cursor += match.getToken().length();
+            start = cursor;
+        }
+
+        literals.add(text.substring(start));
+
+        return new MessageTemplate(literals.toArray(new String[0]), slots.toArray(NO_SLOTS));
+    }
+
+    /**
+     * Finds which placeholder, if any, begins at the given offset
+     */
+    private static Placeholder matchAt(final String text, final int offset, final Placeholder[] placeholders) {
+
+        if (text.charAt(offset) != '%')
+            return null;
+
+        for (final Placeholder placeholder : placeholders) {
+            if (text.startsWith(placeholder.getToken(), offset))
+                return placeholder;
+        }
+        return null;
+    }
+
+    /**
+     * Renders a template with no slot values
+     *
+     * @return The rendered message
+     */
+    public String render() {
+        return this.slots.length == 0 ? this.literals[0] : this.render(null, null, 0L, 0, 0, 0);
+    }
+
+    /**
+     * Renders the template filling {@code %player%}
+     *
+     * @param player The player name
+     * @return The rendered message
+     */
+    public String renderPlayer(final String player) {
+        return this.render(player, null, 0L, 0, 0, 0);
+    }
+
+    /**
+     * Renders the template filling {@code %time%}
+     *
+     * @param time The remaining time in seconds
+     * @return The rendered message
+     */
+    public String renderTime(final long time) {
+        return this.render(null, null, time, 0, 0, 0);
+    }
+
+    /**
+     * Renders the template filling {@code %players%} and {@code %count%}
+     *
+     * @param players The joined player names
+     * @param count   The number of players
+     * @return The rendered message
+     */
+    public String renderGroup(final String players, final long count) {
+        return this.render(players, null, count, 0, 0, 0);
+    }
+
+    /**
+     * Renders the template filling the {@code %x%}, {@code %y%} and {@code %z%} slots
+     *
+     * @param x Block X coordinate
+     * @param y Block Y coordinate
+     * @param z Block Z coordinate
+     * @return The rendered message
+     */
+    public String renderCoords(final int x, final int y, final int z) {
+        return this.render(null, null, 0L, x, y, z);
+    }
+
+    /**
+     * Renders the template filling {@code %world%} and the {@code %x%}, {@code %y%} and {@code %z%} slots
+     *
+     * @param world The world name
+     * @param x     Block X coordinate
+     * @param y     Block Y coordinate
+     * @param z     Block Z coordinate
+     * @return The rendered message
+     */
+    public String renderLocation(final String world, final int x, final int y, final int z) {
+        return this.render(null, world, 0L, x, y, z);
+    }
+
+    /**
+     * Renders the template filling {@code %date%}
+     *
+     * @param date The formatted date
+     * @return The rendered message
+     */
+    public String renderDate(final String date) {
+        return this.render(null, date, 0L, 0, 0, 0);
+    }
+
+    /**
+     * Renders the template filling {@code %world%}
+     *
+     * @param world The world name
+     * @return The rendered message
+     */
+    public String renderWorld(final String world) {
+        return this.render(null, world, 0L, 0, 0, 0);
+    }
+
+    /**
+     * Renders the template filling {@code %file%}
+     *
+     * @param file The file path
+     * @return The rendered message
+     */
+    public String renderFile(final String file) {
+        return this.render(null, file, 0L, 0, 0, 0);
+    }
+
+    /**
+     * Renders a leaderboard line filling {@code %rank%}, {@code %player%} and {@code %count%}
+     *
+     * @param rank   The position on the leaderboard, starting at 1
+     * @param player The player name
+     * @param count  The player's count
+     * @return The rendered message
+     */
+    public String renderRank(final int rank, final String player, final long count) {
+        return this.render(player, null, count, rank, 0, 0);
+    }
+
+    /**
+     * Fills the slots, placeholders that never appear together share an argument
+     */
+    private String render(final String name, final String text, final long amount,
+                          final int x, final int y, final int z) {
+
+        if (this.slots.length == 0)
+            return this.literals[0];
+
+        final StringBuilder builder = new StringBuilder(this.literalLength + this.slots.length * 16);
+        builder.append(this.literals[0]);
+
+        for (int i = 0; i < this.slots.length; i++) {
+            switch (this.slots[i]) {
+                case PLAYER, PLAYERS -> builder.append(name);
+                case DATE, WORLD, FILE -> builder.append(text);
+                case TIME, COUNT -> builder.append(amount);
+                case X, RANK -> builder.append(x);
+                case Y -> builder.append(y);
+                case Z -> builder.append(z);
+            }
+            builder.append(this.literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Checks whether this template renders to an empty message
+     *
+     * @return true if there is nothing to send
+     */
+    public boolean isEmpty() { return this.slots.length == 0 && this.literals[0].isEmpty(); }
+}
@@ -1,30 +1,41 @@
 package me.prism3.suicide.utils;
 
+import me.prism3.suicide.Suicide;
 import org.bukkit.Bukkit;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
-import javax.net.ssl.HttpsURLConnection;
+import org.bukkit.Server;
+
 import java.io.*;
-import java.lang.reflect.Method;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.net.HttpURLConnection;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.Callable;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.logging.Level;
-import java.util.stream.Collectors;
 import java.util.zip.GZIPOutputStream;
 
 
 public class Metrics {
 
+    /**
+     * Handle of {@code Server#getOnlinePlayers}, looked up once since its return type changed around MC 1.8
+     */
+    private static final MethodHandle ONLINE_PLAYERS = findOnlinePlayers();
+
     private final Plugin plugin;
 
     private final MetricsBase metricsBase;
@@ -37,6 +48,17 @@ public class Metrics {
      *     href="https://bstats.org/what-is-my-plugin-id">What is my plugin id?</a>
      */
     public Metrics(JavaPlugin plugin, int serviceId) {
+        this(plugin, serviceId, null);
+    }
+
+    /**
+     * Creates a new Metrics instance keeping failed submissions for a retry.
+     *
+     * @param plugin Your plugin instance.
+     * @param serviceId The id of the service.
+     * @param spool The spool receiving failed submissions, or {@code null} to drop them.
+     */
+    public Metrics(JavaPlugin plugin, int serviceId, MetricsSpool spool) {
         this.plugin = plugin;
         // Get the config file
         File bStatsFolder = new File(plugin.getDataFolder().getParentFile(), "bStats");
@@ -77,13 +99,23 @@ public class Metrics {
                         enabled,
                         this::appendPlatformData,
                         this::appendServiceData,
-                        submitDataTask -> Bukkit.getScheduler().runTask(plugin, submitDataTask),
+                        submitDataTask -> Suicide.getInstance().getTaskScheduler().runGlobal(submitDataTask),
                         plugin::isEnabled,
                         (message, error) -> this.plugin.getLogger().log(Level.WARNING, message, error),
                         (message) -> this.plugin.getLogger().log(Level.INFO, message),
                         logErrors,
                         logSentData,
-                        logResponseStatusText);
+                        logResponseStatusText,
+                        spool);
+    }
+
+    /**
+     * Adds a custom chart.
+     *
+     * @param chart The chart to add.
+     */
+    public void addCustomChart(CustomChart chart) {
+        metricsBase.addCustomChart(chart);
     }
 
     private void appendPlatformData(JsonObjectBuilder builder) {
@@ -103,17 +135,27 @@ public class Metrics {
     }
 
     private int getPlayerAmount() {
+        if (ONLINE_PLAYERS != null) {
+            try {
+                final Object players = ONLINE_PLAYERS.invoke(Bukkit.getServer());
+                return players instanceof Collection<?> collection
+                        ? collection.size()
+                        : ((Player[]) players).length;
+            } catch (Throwable ignored) {
+            }
+        }
+        // Just use the new method if the handle failed
+        return Bukkit.getOnlinePlayers().size();
+    }
+
+    private static MethodHandle findOnlinePlayers() {
         try {
             // Around MC 1.8 the return type was changed from an array to a collection,
             // This fixes java.lang.NoSuchMethodError:
             // org.bukkit.Bukkit.getOnlinePlayers()Ljava/util/Collection;
-            Method onlinePlayersMethod = Class.forName("org.bukkit.Server").getMethod("getOnlinePlayers");
-            return onlinePlayersMethod.getReturnType().equals(Collection.class)
-                    ? ((Collection<?>) onlinePlayersMethod.invoke(Bukkit.getServer())).size()
-                    : ((Player[]) onlinePlayersMethod.invoke(Bukkit.getServer())).length;
+            return MethodHandles.publicLookup().unreflect(Server.class.getMethod("getOnlinePlayers"));
         } catch (Exception e) {
-            // Just use the new method if the reflection failed
-            return Bukkit.getOnlinePlayers().size();
+            return null;
         }
     }
 
@@ -125,7 +167,12 @@ public class Metrics {
         private static final ScheduledExecutorService scheduler =
                 Executors.newScheduledThreadPool(1, task -> new Thread(task, "bStats-Metrics"));
 
-        private static final String REPORT_URL = "https://bStats.org/api/v2/data/%s";
+        /** Connect and read timeout, so a stalled bStats never holds the single metrics thread. */
+        private static final int TIMEOUT_MILLIS = 5000;
+
+        /** Can be pointed at a local stand-in with the bstats.reporturl property, e.g. for testing. */
+        private static final String REPORT_URL =
+                System.getProperty("bstats.reporturl", "https://bStats.org/api/v2/data/%s");
 
         private final String platform;
 
@@ -155,6 +202,11 @@ public class Metrics {
 
         private final boolean enabled;
 
+        private final MetricsSpool spool;
+
+        /** The pending spool retry, only touched by the bStats thread. */
+        private ScheduledFuture<?> retryTask;
+
         /**
          * Creates a new MetricsBase class instance.
          *
@@ -190,6 +242,34 @@ public class Metrics {
                 boolean logErrors,
                 boolean logSentData,
                 boolean logResponseStatusText) {
+            this(platform, serverUuid, serviceId, enabled, appendPlatformDataConsumer, appendServiceDataConsumer,
+                    submitTaskConsumer, checkServiceEnabledSupplier, errorLogger, infoLogger, logErrors,
+                    logSentData, logResponseStatusText, null);
+        }
+
+        /**
+         * Creates a new MetricsBase class instance keeping failed submissions for a retry. The
+         * submit delay and frequency are unchanged, retries only resend spooled submissions.
+         *
+         * @param spool The spool receiving failed submissions, or {@code null} to drop them.
+         * @see #MetricsBase(String, String, int, boolean, Consumer, Consumer, Consumer, Supplier,
+         *     BiConsumer, Consumer, boolean, boolean, boolean)
+         */
+        public MetricsBase(
+                String platform,
+                String serverUuid,
+                int serviceId,
+                boolean enabled,
+                Consumer<JsonObjectBuilder> appendPlatformDataConsumer,
+                Consumer<JsonObjectBuilder> appendServiceDataConsumer,
+                Consumer<Runnable> submitTaskConsumer,
+                Supplier<Boolean> checkServiceEnabledSupplier,
+                BiConsumer<String, Throwable> errorLogger,
+                Consumer<String> infoLogger,
+                boolean logErrors,
+                boolean logSentData,
+                boolean logResponseStatusText,
+                MetricsSpool spool) {
             this.platform = platform;
             this.serverUuid = serverUuid;
             this.serviceId = serviceId;
@@ -203,17 +283,25 @@ public class Metrics {
             this.logErrors = logErrors;
             this.logSentData = logSentData;
             this.logResponseStatusText = logResponseStatusText;
+            this.spool = spool;
             checkRelocation();
             if (enabled) {
                 startSubmitting();
             }
         }
 
+        public void addCustomChart(CustomChart chart) {
+            this.customCharts.add(chart);
+        }
+
         private void startSubmitting() {
             final Runnable submitTask =
                     () -> {
                         if (!enabled || !checkServiceEnabledSupplier.get()) {
                             // Submitting data or service is disabled
+                            if (retryTask != null) {
+                                retryTask.cancel(false);
+                            }
                             scheduler.shutdown();
                             return;
                         }
@@ -230,6 +318,9 @@ public class Metrics {
             // WARNING: You must not modify and part of this Metrics class, including the submit delay or
             // frequency!
             // WARNING: Modifying this code will get your plugin banned on bStats. Just don't do it!
+            if (spool != null) {
+                scheduler.execute(this::loadSpool);
+            }
             long initialDelay = (long) (1000 * 60 * (3 + Math.random() * 3));
             long secondDelay = (long) (1000 * 60 * (Math.random() * 30));
             scheduler.schedule(submitTask, initialDelay, TimeUnit.MILLISECONDS);
@@ -258,47 +349,197 @@ public class Metrics {
                         try {
                             // Send the data
                             sendData(data);
+                        } catch (RejectedException e) {
+                            // Sending the same data again cannot succeed, so it is not spooled
+                            if (logErrors) {
+                                errorLogger.accept("bStats rejected the metrics data, dropping it", e);
+                            }
                         } catch (Exception e) {
                             // Something went wrong! :(
                             if (logErrors) {
                                 errorLogger.accept("Could not submit bStats metrics data", e);
                             }
+                            spoolData(data);
                         }
                     });
         }
 
+        private void loadSpool() {
+            try {
+                spool.load();
+            } catch (IOException e) {
+                if (logErrors) {
+                    errorLogger.accept("Could not load the bStats spool", e);
+                }
+                return;
+            }
+            // Left over from the last run, sent an interval apart like any other
+            if (!spool.isEmpty()) {
+                scheduleRetry(spool.nextSendDelay());
+            }
+        }
+
+        private void spoolData(JsonObjectBuilder.JsonObject data) {
+            if (spool == null) {
+                return;
+            }
+            try {
+                spool.offer(data);
+            } catch (IOException e) {
+                if (logErrors) {
+                    errorLogger.accept("Could not spool bStats metrics data", e);
+                }
+                return;
+            }
+            if (retryTask == null) {
+                scheduleRetry(spool.nextRetryDelay());
+            }
+        }
+
+        /**
+         * Schedules the next spooled submission. The retries are the only extra requests: one
+         * spooled submission per retry, backing off while bStats cannot be reached and a full
+         * submit interval apart once it can.
+         */
+        private void scheduleRetry(long delay) {
+            retryTask = scheduler.schedule(() -> {
+                retryTask = null;
+                if (enabled && checkServiceEnabledSupplier.get()) {
+                    sendSpooled();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+
+        private void sendSpooled() {
+            try {
+                if (!spool.sendOldest(String.format(REPORT_URL, platform))) {
+                    return;
+                }
+                if (logResponseStatusText) {
+                    infoLogger.accept("Sent a spooled bStats submission, " + spool.size() + " left");
+                }
+            } catch (RejectedException e) {
+                if (logErrors) {
+                    errorLogger.accept("bStats rejected a spooled submission, dropping it", e);
+                }
+            } catch (Exception e) {
+                if (logErrors) {
+                    errorLogger.accept("Could not send spooled bStats metrics data", e);
+                }
+                scheduleRetry(spool.nextRetryDelay());
+                return;
+            }
+            if (!spool.isEmpty()) {
+                scheduleRetry(spool.nextSendDelay());
+            }
+        }
+
         private void sendData(JsonObjectBuilder.JsonObject data) throws Exception {
             if (logSentData) {
                 infoLogger.accept("Sent bStats metrics data: " + data.toString());
             }
             String url = String.format(REPORT_URL, platform);
-            HttpsURLConnection connection = (HttpsURLConnection) new URL(url).openConnection();
-            // Compress the data to save bandwidth
-            byte[] compressedData = compress(data.toString());
+            String response = post(url, data);
+            if (logResponseStatusText) {
+                infoLogger.accept("Sent data to bStats and received response: " + response);
+            }
+        }
+
+        /**
+         * Posts the data gzipped, streaming it into the connection instead of compressing
+         * it into a byte array first.
+         *
+         * @param url The url to post to.
+         * @param data The data to send.
+         * @return The response body.
+         * @throws IOException If the request failed.
+         */
+        public static String post(String url, JsonObjectBuilder.JsonObject data) throws IOException {
+            return post(url, out -> writeGzipped(data, out));
+        }
+
+        /**
+         * Posts an already gzipped file, e.g. a spooled submission.
+         *
+         * @param url The url to post to.
+         * @param gzipped The gzipped data to send.
+         * @return The response body.
+         * @throws IOException If the request failed.
+         */
+        public static String post(String url, File gzipped) throws IOException {
+            return post(url, out -> {
+                try (out) {
+                    Files.copy(gzipped.toPath(), out);
+                }
+            });
+        }
+
+        private static String post(String url, GzippedBody body) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+            connection.setConnectTimeout(TIMEOUT_MILLIS);
+            connection.setReadTimeout(TIMEOUT_MILLIS);
             connection.setRequestMethod("POST");
             connection.addRequestProperty("Accept", "application/json");
             connection.addRequestProperty("Connection", "close");
             connection.addRequestProperty("Content-Encoding", "gzip");
-            connection.addRequestProperty("Content-Length", String.valueOf(compressedData.length));
             connection.setRequestProperty("Content-Type", "application/json");
             connection.setRequestProperty("User-Agent", "Metrics-Service/1");
+            // The compressed length is unknown until the data is written
+            connection.setChunkedStreamingMode(0);
             connection.setDoOutput(true);
-            try (DataOutputStream outputStream = new DataOutputStream(connection.getOutputStream())) {
-                outputStream.write(compressedData);
+            body.writeTo(connection.getOutputStream());
+            int status = connection.getResponseCode();
+            // Timeouts and rate limits may pass later, any other client error never will
+            if (status >= 400 && status < 500 && status != 408 && status != 429) {
+                throw new RejectedException(status);
             }
             StringBuilder builder = new StringBuilder();
             try (BufferedReader bufferedReader =
-                         new BufferedReader(new InputStreamReader(connection.getInputStream()))) {
+                         new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
                 String line;
                 while ((line = bufferedReader.readLine()) != null) {
                     builder.append(line);
                 }
             }
-            if (logResponseStatusText) {
-                infoLogger.accept("Sent data to bStats and received response: " + builder);
+            return builder.toString();
+        }
+
+        /**
+         * Gzips the data into the given stream and closes it.
+         *
+         * @param data The data to gzip.
+         * @param out The stream to write to.
+         * @throws IOException If the stream could not be written.
+         */
+        public static void writeGzipped(JsonObjectBuilder.JsonObject data, OutputStream out) throws IOException {
+            try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(out, 1024), StandardCharsets.UTF_8)) {
+                data.writeTo(writer);
             }
         }
 
+        /** Thrown when bStats rejects a request, sending the same data again cannot succeed. */
+        public static final class RejectedException extends IOException {
+
+            private static final long serialVersionUID = 1L;
+
+            private final int status;
+
+            public RejectedException(int status) {
+                super("bStats rejected the request with HTTP " + status);
+                this.status = status;
+            }
+
+            public int getStatus() {
+                return status;
+            }
+        }
+
+        /** Writes a gzipped request body and closes the stream. */
+        private interface GzippedBody {
+
+            void writeTo(OutputStream out) throws IOException;
+        }
+
         /** Checks that the class was properly relocated. */
         private void checkRelocation() {
             // You can use the property to disable the check in your test environment
@@ -318,23 +559,6 @@ public class Metrics {
                 }
             }
         }
-
-        /**
-         * Gzips the given string.
-         *
-         * @param str The string to gzip.
-         * @return The gzipped string.
-         */
-        private static byte[] compress(final String str) throws IOException {
-            if (str == null) {
-                return null;
-            }
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-            try (GZIPOutputStream gzip = new GZIPOutputStream(outputStream)) {
-                gzip.write(str.getBytes(StandardCharsets.UTF_8));
-            }
-            return outputStream.toByteArray();
-        }
     }
 
     public abstract static class CustomChart {
@@ -371,11 +595,104 @@ public class Metrics {
         protected abstract JsonObjectBuilder.JsonObject getChartData() throws Exception;
     }
 
+    public static class SingleLineChart extends CustomChart {
+
+        private final Callable<Integer> callable;
+
+        /**
+         * Class constructor.
+         *
+         * @param chartId The id of the chart.
+         * @param callable The callable which is used to request the chart data.
+         */
+        public SingleLineChart(String chartId, Callable<Integer> callable) {
+            super(chartId);
+            this.callable = callable;
+        }
+
+        @Override
+        public JsonObjectBuilder.JsonObject getChartData() throws Exception {
+            int value = callable.call();
+            if (value == 0) {
+                // Null = skip the chart
+                return null;
+            }
+            return new JsonObjectBuilder().appendField("value", value).build();
+        }
+    }
+
+    public static class SimplePie extends CustomChart {
+
+        private final Callable<String> callable;
+
+        /**
+         * Class constructor.
+         *
+         * @param chartId The id of the chart.
+         * @param callable The callable which is used to request the chart data.
+         */
+        public SimplePie(String chartId, Callable<String> callable) {
+            super(chartId);
+            this.callable = callable;
+        }
+
+        @Override
+        public JsonObjectBuilder.JsonObject getChartData() throws Exception {
+            String value = callable.call();
+            if (value == null || value.isEmpty()) {
+                // Null = skip the chart
+                return null;
+            }
+            return new JsonObjectBuilder().appendField("value", value).build();
+        }
+    }
+
+    public static class AdvancedPie extends CustomChart {
+
+        private final Callable<Map<String, Integer>> callable;
+
+        /**
+         * Class constructor.
+         *
+         * @param chartId The id of the chart.
+         * @param callable The callable which is used to request the chart data.
+         */
+        public AdvancedPie(String chartId, Callable<Map<String, Integer>> callable) {
+            super(chartId);
+            this.callable = callable;
+        }
+
+        @Override
+        public JsonObjectBuilder.JsonObject getChartData() throws Exception {
+            JsonObjectBuilder valuesBuilder = new JsonObjectBuilder();
+            Map<String, Integer> map = callable.call();
+            if (map == null || map.isEmpty()) {
+                // Null = skip the chart
+                return null;
+            }
+            boolean allSkipped = true;
+            for (Map.Entry<String, Integer> entry : map.entrySet()) {
+                if (entry.getValue() == 0) {
+                    // Skip this invalid
+                    continue;
+                }
+                allSkipped = false;
+                valuesBuilder.appendField(entry.getKey(), entry.getValue());
+            }
+            if (allSkipped) {
+                // Null = skip the chart
+                return null;
+            }
+            return new JsonObjectBuilder().appendField("values", valuesBuilder.build()).build();
+        }
+    }
+
     /**
      * An extremely simple JSON builder.
      *
      * <p>While this class is neither feature-rich nor the most performant one, it's sufficient enough
-     * for its use-case.
+     * for its use-case. Values are escaped and nested objects copied straight into the builder, so
+     * the JSON is only held once until it is streamed out.
      */
     public static class JsonObjectBuilder {
 
@@ -398,7 +715,9 @@ public class Metrics {
             if (value == null) {
                 throw new IllegalArgumentException("JSON value must not be null");
             }
-            appendFieldUnescaped(key, "\"" + escape(value) + "\"");
+            StringBuilder field = beginField(key).append('"');
+            escape(value, field);
+            field.append('"');
             return this;
         }
 
@@ -410,7 +729,7 @@ public class Metrics {
          * @return A reference to this object.
          */
         public JsonObjectBuilder appendField(String key, int value) {
-            appendFieldUnescaped(key, String.valueOf(value));
+            beginField(key).append(value);
             return this;
         }
 
@@ -425,7 +744,7 @@ public class Metrics {
             if (object == null) {
                 throw new IllegalArgumentException("JSON object must not be null");
             }
-            appendFieldUnescaped(key, object.toString());
+            beginField(key).append(object.value);
             return this;
         }
 
@@ -440,19 +759,24 @@ public class Metrics {
             if (values == null) {
                 throw new IllegalArgumentException("JSON values must not be null");
             }
-            String escapedValues =
-                    Arrays.stream(values).map(JsonObject::toString).collect(Collectors.joining(","));
-            appendFieldUnescaped(key, "[" + escapedValues + "]");
+            StringBuilder field = beginField(key).append('[');
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    field.append(',');
+                }
+                field.append(values[i].value);
+            }
+            field.append(']');
             return this;
         }
 
         /**
-         * Appends a field to the object.
+         * Appends the key of a new field to the object.
          *
          * @param key The key of the field.
-         * @param escapedValue The escaped value of the field.
+         * @return The builder the escaped value of the field must be appended to.
          */
-        private void appendFieldUnescaped(String key, String escapedValue) {
+        private StringBuilder beginField(String key) {
             if (builder == null) {
                 throw new IllegalStateException("JSON has already been built");
             }
@@ -462,8 +786,11 @@ public class Metrics {
             if (hasAtLeastOneField) {
                 builder.append(",");
             }
-            builder.append("\"").append(escape(key)).append("\":").append(escapedValue);
+            builder.append("\"");
+            escape(key, builder);
+            builder.append("\":");
             hasAtLeastOneField = true;
+            return builder;
         }
 
         /**
@@ -475,7 +802,7 @@ public class Metrics {
             if (builder == null) {
                 throw new IllegalStateException("JSON has already been built");
             }
-            JsonObject object = new JsonObject(builder.append("}").toString());
+            JsonObject object = new JsonObject(builder.append("}"));
             builder = null;
             return object;
         }
@@ -487,10 +814,9 @@ public class Metrics {
          * Compact escapes are not used (e.g., '\n' is escaped as "\u000a" and not as "\n").
          *
          * @param value The value to escape.
-         * @return The escaped value.
+         * @param builder The builder the escaped value is appended to.
          */
-        private static String escape(String value) {
-            final StringBuilder builder = new StringBuilder();
+        private static void escape(String value, StringBuilder builder) {
             for (int i = 0; i < value.length(); i++) {
                 char c = value.charAt(i);
                 if (c == '"') {
@@ -505,7 +831,6 @@ public class Metrics {
                     builder.append(c);
                 }
             }
-            return builder.toString();
         }
 
         /**
@@ -517,15 +842,30 @@ public class Metrics {
          */
         public static class JsonObject {
 
-            private final String value;
+            private final StringBuilder value;
 
-            private JsonObject(String value) {
+            private JsonObject(StringBuilder value) {
                 this.value = value;
             }
 
+            /**
+             * Writes the JSON without copying it into a string first.
+             *
+             * @param writer The writer to write to.
+             * @throws IOException If the writer failed.
+             */
+            public void writeTo(Writer writer) throws IOException {
+                char[] buffer = new char[Math.min(value.length(), 1024)];
+                for (int start = 0; start < value.length(); start += buffer.length) {
+                    int end = Math.min(value.length(), start + buffer.length);
+                    value.getChars(start, end, buffer, 0);
+                    writer.write(buffer, 0, end - start);
+                }
+            }
+
             @Override
             public String toString() {
-                return value;
+                return value.toString();
             }
         }
     }
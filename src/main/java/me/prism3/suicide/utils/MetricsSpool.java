@@ -0,0 +1,273 @@
+package me.prism3.suicide.utils;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ * Bounded on-disk queue of bStats submissions that could not be sent.
+ * Every submission is kept gzipped in its own file named after the time it
+ * was spooled, so retrying one streams the file as is and a restart picks up
+ * where the last run stopped. The oldest submissions are dropped once the
+ * spool exceeds its size or they exceed its age.
+ *
+ * <p>Submissions are sent one at a time, oldest first. While bStats cannot be
+ * reached, retries back off exponentially from {@value #BASE_DELAY_MILLIS} ms
+ * up to the 30 minute bStats interval, with a random half of each delay as
+ * jitter so servers that lost the endpoint together do not come back
+ * together. Once one gets through, the rest follow a full interval apart, so
+ * the spool never adds more than one submission per interval to the live
+ * ones. A submission bStats rejects is dropped, sending it again cannot
+ * succeed.
+ *
+ * <p>Not thread safe, only used from the bStats thread.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class MetricsSpool {
+
+    private static final String SUFFIX = ".json.gz";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    /**
+     * Delay before the first retry
+     */
+    private static final long BASE_DELAY_MILLIS = 60_000L;
+
+    /**
+     * Longest delay between two retries, the bStats submit interval
+     */
+    private static final long MAX_DELAY_MILLIS = 30 * 60_000L;
+
+    private final File directory;
+    private final long maxBytes;
+    private final long maxAgeMillis;
+
+    /**
+     * Spooled submissions, oldest first
+     */
+    private final Deque<Entry> entries = new ArrayDeque<>();
+
+    private long bytes;
+    private int sequence;
+    private int failures;
+    private long dropped;
+    private long rejected;
+
+    /**
+     * Initializes a spool in the given directory
+     *
+     * @param directory    Directory holding the spooled files, created on first use
+     * @param maxBytes     Disk space the spool may use
+     * @param maxAgeMillis Age after which a submission is dropped
+     */
+    public MetricsSpool(final File directory, final long maxBytes, final long maxAgeMillis) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    /**
+     * Reads the submissions left by a previous run, deleting partial writes
+     * and files that are not the spool's
+     *
+     * @throws IOException If the directory cannot be created
+     */
+    public void load() throws IOException {
+        if (!this.directory.isDirectory() && !this.directory.mkdirs())
+            throw new IOException("Could not create " + this.directory);
+
+        final File[] files = this.directory.listFiles();
+        final List<Entry> found = new ArrayList<>();
+
+        this.entries.clear();
+        this.bytes = 0L;
+
+        if (files != null) {
+            for (final File file : files) {
+                final long created = parseCreated(file.getName());
+
+                if (created < 0L) {
+                    if (file.getName().endsWith(TEMP_SUFFIX)) Files.deleteIfExists(file.toPath());
+                    continue;
+                }
+
+                found.add(new Entry(file, created, file.length()));
+            }
+        }
+
+        found.sort(Comparator.comparingLong(Entry::created).thenComparing(entry -> entry.file().getName()));
+
+        for (final Entry entry : found) {
+            this.entries.addLast(entry);
+            this.bytes += entry.size();
+        }
+
+        this.prune(System.currentTimeMillis());
+    }
+
+    /**
+     * Spools a submission, dropping the oldest ones if the spool is full
+     *
+     * @param data The submission
+     * @throws IOException If the submission could not be written
+     */
+    public void offer(final Metrics.JsonObjectBuilder.JsonObject data) throws IOException {
+        final long now = System.currentTimeMillis();
+        final String name = String.format(Locale.ROOT, "%013d-%06d", now, this.sequence++ % 1_000_000);
+        final File temp = new File(this.directory, name + TEMP_SUFFIX);
+        final File file = new File(this.directory, name + SUFFIX);
+
+        if (!this.directory.isDirectory() && !this.directory.mkdirs())
+            throw new IOException("Could not create " + this.directory);
+
+        try (OutputStream out = Files.newOutputStream(temp.toPath())) {
+            Metrics.MetricsBase.writeGzipped(data, out);
+        }
+
+        // A crash while writing leaves only the temp file, which the next load deletes
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+
+        final Entry entry = new Entry(file, now, file.length());
+        this.entries.addLast(entry);
+        this.bytes += entry.size();
+
+        this.prune(now);
+    }
+
+    /**
+     * Sends the oldest spooled submission
+     *
+     * @param url The url to post to
+     * @return true if a submission was sent, false if the spool is empty
+     * @throws Metrics.MetricsBase.RejectedException If bStats rejected the submission, it is dropped
+     * @throws IOException                           If the submission could not be sent, it stays spooled
+     */
+    public boolean sendOldest(final String url) throws IOException {
+        this.prune(System.currentTimeMillis());
+
+        if (this.entries.isEmpty())
+            return false;
+
+        try {
+            Metrics.MetricsBase.post(url, this.entries.peekFirst().file());
+        } catch (final Metrics.MetricsBase.RejectedException e) {
+            // The endpoint answered, but it will never take this one
+            this.remove();
+            this.rejected++;
+            this.failures = 0;
+            throw e;
+        }
+
+        this.remove();
+        this.failures = 0;
+        return true;
+    }
+
+    /**
+     * Counts a failed attempt and gets the delay before the next one
+     *
+     * @return The delay in milliseconds, between half and all of the backoff
+     */
+    public long nextRetryDelay() {
+        final int shift = Math.min(this.failures++, 5);
+        final long backoff = Math.min(MAX_DELAY_MILLIS, BASE_DELAY_MILLIS << shift);
+
+        return backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+    }
+
+    /**
+     * Gets the delay before the next submission once one got through
+     *
+     * @return The delay in milliseconds, a full submit interval plus up to a minute of jitter
+     */
+    public long nextSendDelay() {
+        return MAX_DELAY_MILLIS + ThreadLocalRandom.current().nextLong(BASE_DELAY_MILLIS + 1);
+    }
+
+    /**
+     * Checks whether nothing is spooled
+     *
+     * @return true if the spool is empty
+     */
+    public boolean isEmpty() { return this.entries.isEmpty(); }
+
+    public int size() { return this.entries.size(); }
+
+    public long getBytes() { return this.bytes; }
+
+    /**
+     * Gets the number of submissions dropped for exceeding the size or age
+     *
+     * @return Dropped submissions since the spool was created
+     */
+    public long getDropped() { return this.dropped; }
+
+    /**
+     * Gets the number of submissions dropped because bStats rejected them
+     *
+     * @return Rejected submissions since the spool was created
+     */
+    public long getRejected() { return this.rejected; }
+
+    /**
+     * Drops the oldest submissions while the spool is over its size or they are over its age
+     */
+    private void prune(final long now) {
+        while (!this.entries.isEmpty()
+                && (this.bytes > this.maxBytes || now - this.entries.peekFirst().created() > this.maxAgeMillis)) {
+            this.remove();
+            this.dropped++;
+        }
+    }
+
+    /**
+     * Removes the oldest submission and its file
+     */
+    private void remove() {
+        final Entry entry = this.entries.removeFirst();
+        this.bytes -= entry.size();
+
+        // A file that cannot be deleted is retried by the next load at worst
+        entry.file().delete();
+    }
+
+    /**
+     * Reads the creation time from a spooled file name
+     *
+     * @return The time, or -1 if the name is not a spooled file
+     */
+    private static long parseCreated(final String name) {
+        final int dash = name.indexOf('-');
+
+        if (!name.endsWith(SUFFIX) || dash <= 0)
+            return -1L;
+
+        try {
+            return Long.parseLong(name.substring(0, dash));
+        } catch (final NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * A spooled submission
+     *
+     * @param file    The gzipped submission
+     * @param created When it was spooled
+     * @param size    Its size on disk
+     */
+    private record Entry(File file, long created, long size) {
+    }
+}
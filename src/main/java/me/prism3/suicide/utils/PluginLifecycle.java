@@ -0,0 +1,193 @@
+package me.prism3.suicide.utils;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.commands.SuicideCommand;
+import me.prism3.suicide.events.EntityDamage;
+import me.prism3.suicide.events.FireworkExplode;
+import me.prism3.suicide.events.PlayerChangedWorld;
+import me.prism3.suicide.events.PlayerDamage;
+import me.prism3.suicide.events.PlayerDeath;
+import me.prism3.suicide.events.PlayerJoin;
+import me.prism3.suicide.events.PlayerMove;
+import me.prism3.suicide.events.PlayerQuit;
+import me.prism3.suicide.events.PlayerRespawn;
+import me.prism3.suicide.events.PlayerTeleport;
+import org.bukkit.command.Command;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.command.SimpleCommandMap;
+import org.bukkit.event.HandlerList;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+
+/**
+ * Owns the registration of listeners and the command executor.
+ * Components are registered exactly once on enable; a reload only refreshes
+ * the command aliases since every component reads the latest {@link Settings}.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public class PluginLifecycle {
+
+    /**
+     * Main plugin instance reference
+     */
+    private final Suicide plugin;
+
+    /**
+     * Whether the components are currently registered
+     */
+    private boolean registered;
+
+    /**
+     * Initializes a new lifecycle manager
+     *
+     * @param plugin Main plugin instance
+     */
+    public PluginLifecycle(final Suicide plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Registers all listeners and the command executor, does nothing if already registered
+     */
+    public void enable() {
+
+        if (this.registered)
+            return;
+
+        this.registerEventListeners();
+        this.registerMainCommand();
+        this.registered = true;
+    }
+
+    /**
+     * Rebinds the components to the latest settings after a config reload
+     */
+    public void reload() {
+
+        if (!this.registered) {
+            this.enable();
+            return;
+        }
+
+        final PluginCommand command = this.plugin.getCommand("suicide");
+
+        if (command == null)
+            return;
+
+        command.setAliases(this.plugin.getData().getSettings().commandAliases());
+        this.refreshCommandRegistration(command);
+    }
+
+    /**
+     * Unregisters every listener owned by the plugin
+     */
+    public void disable() {
+        HandlerList.unregisterAll(this.plugin);
+        this.registered = false;
+    }
+
+    /**
+     * Gets the number of event handlers currently registered by the plugin.
+     * Stays constant across reloads.
+     *
+     * @return Registered handler count
+     */
+    public int getHandlerCount() {
+        return HandlerList.getRegisteredListeners(this.plugin).size();
+    }
+
+    /**
+     * Registers all event listeners
+     */
+    private void registerEventListeners() {
+        this.plugin.getServer().getPluginManager().registerEvents(new PlayerDeath(), this.plugin);
+        this.plugin.getServer().getPluginManager().registerEvents(new EntityDamage(), this.plugin);
+        this.plugin.getServer().getPluginManager().registerEvents(new FireworkExplode(), this.plugin);
+        this.plugin.getServer().getPluginManager().registerEvents(new PlayerJoin(), this.plugin);
+        this.plugin.getServer().getPluginManager().registerEvents(new PlayerQuit(), this.plugin);
+        this.plugin.getServer().getPluginManager().registerEvents(new PlayerChangedWorld(), this.plugin);
+        this.plugin.getServer().getPluginManager().registerEvents(new PlayerMove(), this.plugin);
+        this.plugin.getServer().getPluginManager().registerEvents(new PlayerTeleport(), this.plugin);
+        this.plugin.getServer().getPluginManager().registerEvents(new PlayerRespawn(), this.plugin);
+        this.plugin.getServer().getPluginManager().registerEvents(new PlayerDamage(), this.plugin);
+    }
+
+    /**
+     * Registers and configures the main command with aliases
+     */
+    private void registerMainCommand() {
+
+        final PluginCommand command = this.plugin.getCommand("suicide");
+
+        if (command == null)
+            return;
+
+        command.setAliases(this.plugin.getData().getSettings().commandAliases());
+        command.setExecutor(new SuicideCommand(this.plugin.getData()));
+        this.refreshCommandRegistration(command);
+    }
+
+    /**
+     * Refreshes command registration in the server's command map
+     *
+     * @param command The command to refresh
+     */
+    private void refreshCommandRegistration(final PluginCommand command) {
+        try {
+            final SimpleCommandMap commandMap = this.getCommandMap();
+            this.unregisterExistingCommand(command, commandMap);
+            commandMap.register(this.plugin.getName(), command);
+        } catch (final Exception e) {
+            this.plugin.getLogger().warning("Command registration error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Retrieves the server's command map using reflection
+     */
+    private SimpleCommandMap getCommandMap() throws Exception {
+        final Method getCommandMap = this.plugin.getServer().getClass().getMethod("getCommandMap");
+        return (SimpleCommandMap) getCommandMap.invoke(this.plugin.getServer());
+    }
+
+    /**
+     * Unregisters a command from the command map
+     *
+     * @param command The command to unregister
+     * @param commandMap The command map to unregister from
+     */
+    private void unregisterExistingCommand(final PluginCommand command, final SimpleCommandMap commandMap) {
+        // Unregister the command normally.
+        command.unregister(commandMap);
+
+        try {
+            Field knownCommandsField = SimpleCommandMap.class.getDeclaredField("knownCommands");
+            knownCommandsField.setAccessible(true);
+            @SuppressWarnings("unchecked")
+            Map<String, Command> knownCommands = (Map<String, Command>) knownCommandsField.get(commandMap);
+
+            // Copy keys into a list to avoid concurrent modification issues.
+            List<String> keysToRemove = new ArrayList<>();
+            for (Map.Entry<String, Command> entry : knownCommands.entrySet()) {
+                if (entry.getValue() == command && !entry.getKey().equalsIgnoreCase(command.getName())) {
+                    keysToRemove.add(entry.getKey());
+                }
+            }
+
+            // Remove stale aliases by key.
+            for (String key : keysToRemove) {
+                knownCommands.remove(key);
+            }
+        } catch (final Exception e) {
+            plugin.getLogger().severe("Error cleaning up old aliases: " + e.getMessage());
+            plugin.getLogger().severe("If the issue persists, contact the author");
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package me.prism3.suicide.utils;
+
+import org.bukkit.FireworkEffect;
+import org.bukkit.Sound;
+import org.bukkit.inventory.meta.FireworkMeta;
+
+import java.util.BitSet;
+import java.util.List;
+
+
+/**
+ * Immutable snapshot of the plugin configuration.
+ * A new snapshot is built on every load and published as a whole, so readers
+ * grabbing it once always see a consistent set of values.
+ *
+ * @param messages         Compiled message templates
+ * @param effects          Effects per world and permission tier, built from the top level effects and the profiles
+ * @param cooldown         Command cooldown settings
+ * @param countdown        Confirmation countdown settings
+ * @param monitoring       Operational metrics settings
+ * @param telemetry        bStats submission settings
+ * @param disabledWorlds   {@link WorldIndex} bits of worlds where the command is disabled, must not be modified
+ * @param commandAliases   Extra aliases registered for the command
+ * @author Prism3
+ * @since 1.5.2
+ */
+public record Settings(
+        MessageSettings messages,
+        EffectProfiles effects,
+        CooldownSettings cooldown,
+        CountdownSettings countdown,
+        MonitoringSettings monitoring,
+        TelemetrySettings telemetry,
+        BitSet disabledWorlds,
+        List<String> commandAliases
+) {
+
+    /**
+     * Default permission nodes
+     */
+    public static final String COMMAND_PERMISSION = "suicide.command";
+    public static final String RELOAD_PERMISSION = "suicide.reload";
+    public static final String BYPASS_PERMISSION = "suicide.bypass";
+    public static final String STATS_PERMISSION = "suicide.stats";
+    public static final String STATS_OTHERS_PERMISSION = "suicide.stats.others";
+    public static final String TOP_PERMISSION = "suicide.top";
+    public static final String HEATMAP_PERMISSION = "suicide.heatmap";
+    public static final String METRICS_PERMISSION = "suicide.metrics";
+
+    public Settings {
+        disabledWorlds = (BitSet) disabledWorlds.clone();
+        commandAliases = List.copyOf(commandAliases);
+    }
+
+    /**
+     * Checks whether the command is disabled in a world
+     *
+     * @param worldIndex The {@link WorldIndex} of the world
+     * @return true if the command is disabled there
+     */
+    public boolean isWorldDisabled(final int worldIndex) { return this.disabledWorlds.get(worldIndex); }
+
+    /**
+     * Compiled chat messages
+     *
+     * @param suicide             Message sent to the player on suicide
+     * @param noPermission        Permission denial message
+     * @param reload              Reload confirmation message
+     * @param invalidSyntax       Command syntax error message
+     * @param disabledWorld       World restriction message
+     * @param cooldown            Cooldown notification message
+     * @param coords              Death location message
+     * @param broadcastFormat     Format used to render broadcasts
+     * @param broadcast           Possible legacy broadcast messages
+     * @param broadcastComponents Possible component broadcasts, empty in legacy format
+     * @param aggregation         Mass suicide aggregation settings
+     * @param scope               Broadcast audience settings
+     * @param stats               Statistics command messages
+     * @param heatmap             Heatmap export messages
+     * @param countdown           Confirmation countdown messages
+     */
+    public record MessageSettings(
+            MessageTemplate suicide,
+            MessageTemplate noPermission,
+            MessageTemplate reload,
+            MessageTemplate invalidSyntax,
+            MessageTemplate disabledWorld,
+            MessageTemplate cooldown,
+            MessageTemplate coords,
+            ComponentTemplate.Format broadcastFormat,
+            List<MessageTemplate> broadcast,
+            List<ComponentTemplate> broadcastComponents,
+            AggregationSettings aggregation,
+            ScopeSettings scope,
+            StatsMessages stats,
+            HeatmapMessages heatmap,
+            CountdownMessages countdown
+    ) {
+
+        public MessageSettings {
+            broadcast = List.copyOf(broadcast);
+            broadcastComponents = List.copyOf(broadcastComponents);
+        }
+    }
+
+    /**
+     * Broadcast aggregation settings for many suicides in a short time
+     *
+     * @param enabled           Whether broadcasts are aggregated
+     * @param windowTicks       Length of an aggregation window in ticks, at least 1
+     * @param threshold         Broadcasts sent as usual per window before the rest are aggregated
+     * @param mode              How the aggregated suicides are announced
+     * @param maxNames          Names listed at most in list mode, at least 1
+     * @param summary           Summary line filling {@code %count%}
+     * @param list              List line filling {@code %players%} and {@code %count%}
+     * @param summaryComponent  Summary component, null in legacy format
+     * @param listComponent     List component, null in legacy format
+     */
+    public record AggregationSettings(
+            boolean enabled,
+            int windowTicks,
+            int threshold,
+            Mode mode,
+            int maxNames,
+            MessageTemplate summary,
+            MessageTemplate list,
+            ComponentTemplate summaryComponent,
+            ComponentTemplate listComponent
+    ) {
+
+        /**
+         * Ways aggregated suicides are announced
+         */
+        public enum Mode {
+            /** A single line with the number of players */
+            SUMMARY,
+            /** A single line listing the players, capped at the configured amount */
+            LIST
+        }
+
+        public AggregationSettings {
+            windowTicks = Math.max(1, windowTicks);
+            threshold = Math.max(0, threshold);
+            maxNames = Math.max(1, maxNames);
+        }
+    }
+
+    /**
+     * Compiled statistics command messages
+     *
+     * @param header    Stats header filling {@code %player%}
+     * @param count     Suicide count line filling {@code %count%}
+     * @param first     First suicide line filling {@code %date%}
+     * @param last      Last suicide line filling {@code %date%}
+     * @param location  Last location line filling {@code %world%}, {@code %x%}, {@code %y%} and {@code %z%}
+     * @param none      Sent when a player has no stats, filling {@code %player%}
+     * @param topHeader Leaderboard header
+     * @param topEntry  Leaderboard line filling {@code %rank%}, {@code %player%} and {@code %count%}
+     * @param topEmpty  Sent when the leaderboard is empty
+     */
+    public record StatsMessages(
+            MessageTemplate header,
+            MessageTemplate count,
+            MessageTemplate first,
+            MessageTemplate last,
+            MessageTemplate location,
+            MessageTemplate none,
+            MessageTemplate topHeader,
+            MessageTemplate topEntry,
+            MessageTemplate topEmpty
+    ) {
+    }
+
+    /**
+     * Compiled heatmap export messages
+     *
+     * @param exporting Sent when an export starts, filling {@code %world%}
+     * @param exported  Sent when an export is written, filling {@code %file%}
+     * @param empty     Sent when a world has no suicides, filling {@code %world%}
+     * @param failed    Sent when an export could not be written
+     */
+    public record HeatmapMessages(
+            MessageTemplate exporting,
+            MessageTemplate exported,
+            MessageTemplate empty,
+            MessageTemplate failed
+    ) {
+    }
+
+    /**
+     * Compiled confirmation countdown messages
+     *
+     * @param start     Sent when a countdown starts, filling {@code %time%}
+     * @param second    Sent every second left, filling {@code %time%}
+     * @param cancelled Sent when the player moves or takes damage
+     * @param pending   Sent when the player runs the command again during a countdown
+     */
+    public record CountdownMessages(
+            MessageTemplate start,
+            MessageTemplate second,
+            MessageTemplate cancelled,
+            MessageTemplate pending
+    ) {
+    }
+
+    /**
+     * Broadcast audience settings
+     *
+     * @param mode       Which players receive broadcasts
+     * @param radius     Radius around the death in blocks for {@link Mode#RADIUS}, at least 1
+     * @param permission Permission recipients must have, empty for everyone
+     */
+    public record ScopeSettings(Mode mode, int radius, String permission) {
+
+        /**
+         * Broadcast audiences
+         */
+        public enum Mode {
+            /** Every online player */
+            SERVER,
+            /** Players in the world of the death */
+            WORLD,
+            /** Players within the radius of the death */
+            RADIUS
+        }
+
+        public ScopeSettings {
+            radius = Math.max(1, radius);
+            permission = permission == null ? "" : permission.trim();
+        }
+
+        /**
+         * Checks whether recipients must have a permission
+         *
+         * @return true if a permission is configured
+         */
+        public boolean hasPermission() { return !this.permission.isEmpty(); }
+    }
+
+    /**
+     * The effects of a suicide, for one world and permission tier
+     *
+     * @param broadcast Whether the suicide is broadcast
+     * @param message   Whether the suicide message is sent to the player
+     * @param coords    Whether the death location is shown
+     * @param firework  Firework effect settings
+     * @param sound     Sound effect settings
+     */
+    public record EffectSettings(
+            boolean broadcast,
+            boolean message,
+            boolean coords,
+            FireworkSettings firework,
+            SoundSettings sound
+    ) {
+    }
+
+    /**
+     * Firework settings, built and validated once on load
+     *
+     * @param enabled  Whether a firework is launched on suicide
+     * @param effect   The prebuilt firework effect
+     * @param power    Rocket power level (0-3)
+     * @param template Meta applied to every spawned firework, must not be modified
+     * @param limiter  Spawn budget settings
+     */
+    public record FireworkSettings(
+            boolean enabled,
+            FireworkEffect effect,
+            int power,
+            FireworkMeta template,
+            LimiterSettings limiter
+    ) {
+    }
+
+    /**
+     * Firework spawn budget settings
+     *
+     * @param enabled     Whether fireworks are limited
+     * @param windowTicks Length of a chunk budget window in ticks, at least 1
+     * @param perChunk    Rockets allowed per chunk per window, at least 1
+     * @param perTick     Rockets allowed across the server per tick, at least 1
+     */
+    public record LimiterSettings(boolean enabled, int windowTicks, int perChunk, int perTick) {
+
+        public LimiterSettings {
+            windowTicks = Math.max(1, windowTicks);
+            perChunk = Math.max(1, perChunk);
+            perTick = Math.max(1, perTick);
+        }
+    }
+
+    /**
+     * Sound effect settings, resolved once on load
+     *
+     * @param enabled Whether a sound is played on suicide
+     * @param sound   The resolved sound, null when the key is not in the registry
+     * @param key     The sound key played when no registry entry was found
+     * @param volume  Playback volume (0-1)
+     * @param pitch   Playback pitch (0.5-2)
+     */
+    public record SoundSettings(boolean enabled, Sound sound, String key, float volume, float pitch) {
+    }
+
+    /**
+     * Command cooldown settings
+     *
+     * @param enabled Whether the cooldown is active
+     * @param seconds Cooldown length in seconds, never negative
+     * @param sync    Cross-server cooldown sync settings
+     */
+    public record CooldownSettings(boolean enabled, long seconds, SyncSettings sync) {
+
+        public CooldownSettings {
+            seconds = Math.max(0L, seconds);
+        }
+    }
+
+    /**
+     * Confirmation countdown settings
+     *
+     * @param enabled Whether the suicide waits for a countdown the player can cancel
+     * @param seconds Countdown length in seconds, at least 1
+     */
+    public record CountdownSettings(boolean enabled, int seconds) {
+
+        public CountdownSettings {
+            seconds = Math.max(1, seconds);
+        }
+    }
+
+    /**
+     * Cross-server cooldown sync settings, applied on startup
+     *
+     * @param enabled       Whether cooldowns are shared with other servers
+     * @param directory     Shared directory used by the file transport
+     * @param serverId      Unique id of this server
+     * @param intervalTicks Ticks between two sync rounds, at least 1
+     */
+    public record SyncSettings(boolean enabled, String directory, String serverId, long intervalTicks) {
+
+        public SyncSettings {
+            intervalTicks = Math.max(1L, intervalTicks);
+        }
+    }
+
+    /**
+     * Operational metrics settings, applied on startup
+     *
+     * @param jmx            Whether the metrics are registered as a JMX MBean
+     * @param prometheus     Whether the Prometheus endpoint is served
+     * @param prometheusPort Port of the Prometheus endpoint on localhost
+     */
+    public record MonitoringSettings(boolean jmx, boolean prometheus, int prometheusPort) {
+
+        public MonitoringSettings {
+            prometheusPort = clamp(prometheusPort, 1, 65535);
+        }
+    }
+
+    /**
+     * bStats submission settings, applied on startup
+     *
+     * @param spool        Whether failed submissions are kept on disk and retried
+     * @param maxBytes     Disk space the spool may use, at least 1 KB
+     * @param maxAgeMillis Age after which a spooled submission is dropped, at least 1 minute
+     */
+    public record TelemetrySettings(boolean spool, long maxBytes, long maxAgeMillis) {
+
+        public TelemetrySettings {
+            maxBytes = Math.max(1024L, maxBytes);
+            maxAgeMillis = Math.max(60_000L, maxAgeMillis);
+        }
+    }
+
+    /**
+     * Clamps a value between the given bounds
+     */
+    private static int clamp(final int value, final int min, final int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,44 @@
+package me.prism3.suicide.utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+
+/**
+ * Assigns a small, stable integer to every world name seen by the plugin.
+ * Lets per-world settings be stored in arrays and bitsets instead of
+ * being looked up by name on every command.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class WorldIndex {
+
+    private static final Map<String, Integer> INDEXES = new ConcurrentHashMap<>();
+
+    private WorldIndex() {}
+
+    /**
+     * Gets the index of a world, assigning the next free one on first use
+     *
+     * @param worldName The world name
+     * @return The world index
+     */
+    public static int of(final String worldName) {
+        final Integer index = INDEXES.get(worldName);
+
+        if (index != null)
+            return index;
+
+        synchronized (INDEXES) {
+            return INDEXES.computeIfAbsent(worldName, name -> INDEXES.size());
+        }
+    }
+
+    /**
+     * Gets the number of indexes assigned so far
+     *
+     * @return Highest assigned index plus one
+     */
+    public static int size() { return INDEXES.size(); }
+}
@@ -0,0 +1,108 @@
+package me.prism3.suicide.cooldown;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * @author Prism3
+ * @since 1.5.2
+ */
+class CooldownStoreTest {
+
+    private static final long NOW = 1_000_000L;
+
+    @TempDir
+    File directory;
+
+    @Test
+    void reloadRestoresOnlyLiveCooldowns() throws IOException {
+        final CooldownTable table = new CooldownTable();
+        final CooldownStore store = new CooldownStore(this.directory, "cooldowns");
+        final List<UUID> live = new ArrayList<>();
+
+        store.open(table, NOW);
+
+        for (int i = 0; i < 1_000; i++) {
+            final UUID id = UUID.randomUUID();
+            final long expiry = i % 2 == 0 ? NOW + 60_000L : NOW + 10L;
+
+            table.merge(id, expiry);
+            store.append(id, expiry);
+            if (i % 2 == 0) live.add(id);
+        }
+        store.close();
+
+        final CooldownTable reloaded = new CooldownTable();
+        final int loaded = new CooldownStore(this.directory, "cooldowns").open(reloaded, NOW + 1_000L);
+
+        assertEquals(live.size(), loaded);
+        for (final UUID id : live)
+            assertEquals(NOW + 60_000L, reloaded.get(id));
+    }
+
+    @Test
+    void appendsOutliveCompactionAndGrowth() throws IOException {
+        final CooldownTable table = new CooldownTable();
+        final CooldownStore store = new CooldownStore(this.directory, "cooldowns");
+        final List<UUID> ids = new ArrayList<>();
+
+        store.open(table, NOW);
+
+        for (int i = 0; i < 100_000; i++) {
+            final UUID id = UUID.randomUUID();
+            ids.add(id);
+            table.merge(id, NOW + 60_000L);
+            store.append(id, NOW + 60_000L);
+
+            // What the sweeper does every 30 seconds
+            if (i % 10_000 == 0) {
+                store.reserve();
+                if (store.needsCompaction(table.size())) store.compact(table);
+            }
+        }
+
+        assertEquals(0L, store.getDropped());
+        store.compact(table);
+        store.close();
+
+        // Open wrote generation 0, the compaction switched to 1 and deleted it
+        assertArrayEquals(new String[] { "cooldowns-1.dat" }, this.directory.list());
+
+        final CooldownTable reloaded = new CooldownTable();
+        assertEquals(ids.size(), new CooldownStore(this.directory, "cooldowns").open(reloaded, NOW));
+        for (final UUID id : ids)
+            assertEquals(NOW + 60_000L, reloaded.get(id));
+    }
+
+    @Test
+    void incompleteGenerationFallsBackToThePreviousOne() throws IOException {
+        final CooldownTable table = new CooldownTable();
+        final CooldownStore store = new CooldownStore(this.directory, "cooldowns");
+        final UUID id = UUID.randomUUID();
+
+        store.open(table, NOW);
+        table.merge(id, NOW + 60_000L);
+        store.append(id, NOW + 60_000L);
+        store.close();
+
+        // A compaction cut short before writing its header
+        Files.write(new File(this.directory, "cooldowns-5.dat").toPath(), new byte[64]);
+
+        final CooldownTable reloaded = new CooldownTable();
+        assertEquals(1, new CooldownStore(this.directory, "cooldowns").open(reloaded, NOW));
+        assertEquals(NOW + 60_000L, reloaded.get(id));
+        assertTrue(new File(this.directory, "cooldowns-6.dat").exists());
+    }
+}
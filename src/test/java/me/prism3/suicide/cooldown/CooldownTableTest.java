@@ -0,0 +1,61 @@
+package me.prism3.suicide.cooldown;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * @author Prism3
+ * @since 1.5.2
+ */
+class CooldownTableTest {
+
+    @Test
+    void checkAndSetKeepsAnActiveCooldown() {
+        final CooldownTable table = new CooldownTable();
+        final UUID id = UUID.randomUUID();
+
+        assertEquals(0L, table.checkAndSet(id, 1_000L, 2_000L));
+        assertEquals(2_000L, table.checkAndSet(id, 1_500L, 3_000L));
+        assertEquals(0L, table.checkAndSet(id, 2_000L, 4_000L));
+        assertEquals(4_000L, table.get(id));
+    }
+
+    @Test
+    void mergeKeepsTheLaterExpiry() {
+        final CooldownTable table = new CooldownTable();
+        final UUID id = UUID.randomUUID();
+
+        table.merge(id, 5_000L);
+        table.merge(id, 4_000L);
+        assertEquals(5_000L, table.get(id));
+    }
+
+    @Test
+    void expireKeepsEveryLiveEntryReachable() {
+        final CooldownTable table = new CooldownTable();
+        final Random random = new Random(1L);
+        final List<UUID> live = new ArrayList<>();
+
+        // Several slices worth of entries, two thirds of them expired
+        for (int i = 0; i < 30_000; i++) {
+            final UUID id = new UUID(random.nextLong(), random.nextLong());
+            final boolean alive = i % 3 == 0;
+
+            table.merge(id, alive ? 2_000L : 1_000L);
+            if (alive) live.add(id);
+        }
+
+        assertEquals(20_000, table.expire(1_500L));
+        assertEquals(live.size(), table.size());
+
+        for (final UUID id : live)
+            assertEquals(2_000L, table.get(id));
+    }
+}
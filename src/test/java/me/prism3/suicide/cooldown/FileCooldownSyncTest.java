@@ -0,0 +1,79 @@
+package me.prism3.suicide.cooldown;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * @author Prism3
+ * @since 1.5.2
+ */
+class FileCooldownSyncTest {
+
+    @TempDir
+    File directory;
+
+    @Test
+    void readerKeepsUpAcrossRotationsAndRestarts() throws IOException {
+        FileCooldownSync writer = new FileCooldownSync(this.directory, "a");
+        final FileCooldownSync reader = new FileCooldownSync(this.directory, "b");
+        final Set<Long> received = new HashSet<>();
+        final List<CooldownUpdate> batch = new ArrayList<>();
+        long sequence = 0L;
+
+        writer.open();
+        reader.open();
+
+        // 1.2 MB per batch against a 4 MB log, polled every third batch
+        for (int round = 0; round < 24; round++) {
+            batch.clear();
+            for (int i = 0; i < 50_000; i++)
+                batch.add(new CooldownUpdate(0L, sequence++, 1L));
+
+            writer.publish(batch);
+
+            if (round % 3 == 2)
+                reader.poll(update -> received.add(update.least()));
+
+            if (round == 12) {
+                writer.close();
+                writer = new FileCooldownSync(this.directory, "a");
+                writer.open();
+            }
+        }
+
+        reader.poll(update -> received.add(update.least()));
+        writer.close();
+        reader.close();
+
+        assertEquals(sequence, received.size());
+    }
+
+    @Test
+    void rotationDeletesOldGenerations() throws IOException {
+        final FileCooldownSync writer = new FileCooldownSync(this.directory, "a");
+        final List<CooldownUpdate> batch = new ArrayList<>();
+
+        for (int i = 0; i < 100_000; i++)
+            batch.add(new CooldownUpdate(0L, i, 1L));
+
+        writer.open();
+        for (int round = 0; round < 10; round++)
+            writer.publish(batch);
+        writer.close();
+
+        final String[] logs = this.directory.list((dir, name) -> name.startsWith("a-"));
+
+        assertTrue(logs != null && logs.length <= 2, "Logs left: " + (logs == null ? 0 : logs.length));
+    }
+}
@@ -0,0 +1,64 @@
+package me.prism3.suicide.effects;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * @author Prism3
+ * @since 1.5.2
+ */
+class ProtectedFireworksTest {
+
+    private final AtomicInteger tick = new AtomicInteger();
+    private final ProtectedFireworks fireworks = new ProtectedFireworks(this.tick::get);
+
+    @Test
+    void releasedFireworkStaysProtectedForTheExplosionTick() {
+        this.fireworks.add(7);
+        this.fireworks.release(7);
+        assertTrue(this.fireworks.contains(7));
+
+        this.tick.set(1);
+        assertFalse(this.fireworks.contains(7));
+        assertEquals(0, this.fireworks.size());
+    }
+
+    @Test
+    void entriesExpireAfterTheirTimeToLive() {
+        this.fireworks.add(1);
+        this.tick.set(99);
+        assertTrue(this.fireworks.contains(1));
+
+        this.tick.set(100);
+        assertFalse(this.fireworks.contains(1));
+        assertEquals(0, this.fireworks.size());
+    }
+
+    @Test
+    void backwardShiftDeleteKeepsClustersReachable() {
+        // Dense sequential ids share probe runs, so deletes have to shift entries back
+        for (int id = 1; id <= 5_000; id++)
+            this.fireworks.add(id);
+
+        for (int id = 1; id <= 5_000; id += 2)
+            this.fireworks.release(id);
+
+        this.tick.set(1);
+        assertEquals(2_500, this.fireworks.size());
+
+        for (int id = 1; id <= 5_000; id++)
+            assertEquals(id % 2 == 0, this.fireworks.contains(id), "Firework " + id);
+
+        // Re-adding fills the freed slots without duplicating survivors
+        for (int id = 1; id <= 5_000; id++)
+            this.fireworks.add(id);
+
+        assertEquals(5_000, this.fireworks.size());
+    }
+}
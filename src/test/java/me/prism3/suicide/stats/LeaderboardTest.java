@@ -0,0 +1,65 @@
+package me.prism3.suicide.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+
+/**
+ * @author Prism3
+ * @since 1.5.2
+ */
+class LeaderboardTest {
+
+    private static PlayerStats player(final int slot) {
+        return new PlayerStats(new UUID(0L, slot + 1L), slot);
+    }
+
+    @Test
+    void ranksByCountDescending() {
+        final Leaderboard board = new Leaderboard(3);
+        final PlayerStats a = player(0);
+        final PlayerStats b = player(1);
+        final PlayerStats c = player(2);
+
+        board.update(a, 1);
+        board.update(b, 1);
+        board.update(c, 1);
+        board.update(c, 2);
+        board.update(b, 2);
+        board.update(b, 3);
+
+        assertArrayEquals(new PlayerStats[] { b, c, a }, board.ranked());
+    }
+
+    @Test
+    void fullBoardOnlyAdmitsAHigherCount() {
+        final Leaderboard board = new Leaderboard(2);
+        final PlayerStats a = player(0);
+        final PlayerStats b = player(1);
+        final PlayerStats c = player(2);
+
+        board.update(a, 3);
+        board.update(b, 2);
+
+        // Tying the last entry is not enough
+        board.update(c, 2);
+        assertArrayEquals(new PlayerStats[] { a, b }, board.ranked());
+
+        board.update(c, 3);
+        assertArrayEquals(new PlayerStats[] { a, c }, board.ranked());
+    }
+
+    @Test
+    void clearEmptiesTheBoard() {
+        final Leaderboard board = new Leaderboard(2);
+
+        board.update(player(0), 1);
+        board.clear();
+
+        assertEquals(0, board.ranked().length);
+    }
+}
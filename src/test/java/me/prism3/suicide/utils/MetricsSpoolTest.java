@@ -0,0 +1,97 @@
+package me.prism3.suicide.utils;
+
+import me.prism3.suicide.utils.Metrics.JsonObjectBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+
+/**
+ * @author Prism3
+ * @since 1.5.2
+ */
+class MetricsSpoolTest {
+
+    /**
+     * Nothing listens here, so a send that gets that far fails
+     */
+    private static final String UNREACHABLE_URL = "http://127.0.0.1:9/%s";
+
+    @TempDir
+    File directory;
+
+    private static JsonObjectBuilder.JsonObject payload(final int value) {
+        return new JsonObjectBuilder().appendField("value", value).build();
+    }
+
+    private static long gzippedSize(final JsonObjectBuilder.JsonObject data) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Metrics.MetricsBase.writeGzipped(data, out);
+        return out.size();
+    }
+
+    @Test
+    void sizeCapDropsTheOldestSubmissions() throws IOException {
+        final long payloadBytes = gzippedSize(payload(0));
+        final long maxBytes = payloadBytes * 2 + payloadBytes / 2;
+        final MetricsSpool spool = new MetricsSpool(this.directory, maxBytes, 60_000L);
+
+        spool.load();
+        for (int i = 0; i < 5; i++)
+            spool.offer(payload(i));
+
+        assertEquals(2, spool.size());
+        assertEquals(3L, spool.getDropped());
+        assertTrue(spool.getBytes() <= maxBytes);
+        assertEquals(2, this.directory.list().length);
+    }
+
+    @Test
+    void ageCapDropsStaleSubmissionsBeforeSending() throws IOException, InterruptedException {
+        final MetricsSpool spool = new MetricsSpool(this.directory, 1024 * 1024, 1L);
+
+        spool.load();
+        spool.offer(payload(0));
+        Thread.sleep(10L);
+
+        assertFalse(spool.sendOldest(UNREACHABLE_URL));
+        assertEquals(1L, spool.getDropped());
+        assertEquals(0, this.directory.list().length);
+    }
+
+    @Test
+    void loadKeepsSpooledSubmissionsAndDeletesPartialWrites() throws IOException {
+        final MetricsSpool spool = new MetricsSpool(this.directory, 1024 * 1024, 60_000L);
+
+        spool.load();
+        spool.offer(payload(1));
+        spool.offer(payload(2));
+        Files.createFile(new File(this.directory, "0000000000000-000000.json.gz.tmp").toPath());
+
+        final MetricsSpool restarted = new MetricsSpool(this.directory, 1024 * 1024, 60_000L);
+        restarted.load();
+
+        assertEquals(2, restarted.size());
+        assertEquals(2, this.directory.list().length);
+    }
+
+    @Test
+    void retryDelayBacksOffWithinBounds() {
+        final MetricsSpool spool = new MetricsSpool(this.directory, 1024 * 1024, 60_000L);
+
+        for (int attempt = 0; attempt < 8; attempt++) {
+            final long backoff = Math.min(30 * 60_000L, 60_000L << Math.min(attempt, 5));
+            final long delay = spool.nextRetryDelay();
+
+            assertTrue(delay >= backoff / 2 && delay <= backoff, "Delay " + delay + " for backoff " + backoff);
+        }
+    }
+}
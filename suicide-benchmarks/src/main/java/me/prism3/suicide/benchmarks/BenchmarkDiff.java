@@ -0,0 +1,130 @@
+package me.prism3.suicide.benchmarks;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+
+/**
+ * Compares two JMH JSON result files, typically the last release against
+ * the current build. Prints the change of every benchmark found in both
+ * and exits with status 1 when one got slower by more than the allowed
+ * percentage and by more than the combined error of both runs.
+ * <p>
+ * Usage: {@code BenchmarkDiff <baseline.json> <current.json> [max-regression-percent]}
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class BenchmarkDiff {
+
+    private static final double DEFAULT_MAX_REGRESSION = 10.0;
+
+    private BenchmarkDiff() {}
+
+    public static void main(final String[] args) throws IOException {
+
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: BenchmarkDiff <baseline.json> <current.json> [max-regression-percent]");
+            System.exit(2);
+            return;
+        }
+
+        final Map<String, Score> baseline = read(Path.of(args[0]));
+        final Map<String, Score> current = read(Path.of(args[1]));
+        final double maxRegression = args.length == 3 ? Double.parseDouble(args[2]) : DEFAULT_MAX_REGRESSION;
+
+        int regressions = 0;
+
+        for (final Map.Entry<String, Score> entry : current.entrySet()) {
+            final Score before = baseline.get(entry.getKey());
+            final Score after = entry.getValue();
+
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "NEW   %-70s %12.3f %s%n", entry.getKey(), after.score, after.unit);
+                continue;
+            }
+
+            final double change = (after.score - before.score) / before.score * 100.0;
+
+            // Throughput regresses when it drops, every other mode when it grows
+            final double slowdown = after.higherIsBetter ? -change : change;
+            final boolean significant = Math.abs(after.score - before.score) > before.error + after.error;
+            final boolean regressed = significant && slowdown > maxRegression;
+
+            if (regressed) regressions++;
+
+            System.out.printf(Locale.ROOT, "%-5s %-70s %12.3f -> %12.3f %s (%+.1f%%)%n",
+                    regressed ? "SLOW" : "OK", entry.getKey(), before.score, after.score, after.unit, change);
+        }
+
+        for (final String name : baseline.keySet()) {
+            if (!current.containsKey(name))
+                System.out.printf(Locale.ROOT, "GONE  %s%n", name);
+        }
+
+        if (regressions > 0) {
+            System.out.printf(Locale.ROOT, "%d benchmark(s) regressed by more than %.1f%%%n", regressions, maxRegression);
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Reads the primary scores of a result file, keyed by benchmark and parameters
+     */
+    private static Map<String, Score> read(final Path file) throws IOException {
+        final Map<String, Score> scores = new TreeMap<>();
+        final JsonArray results;
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            results = JsonParser.parseReader(reader).getAsJsonArray();
+        }
+
+        for (final JsonElement element : results) {
+            final JsonObject result = element.getAsJsonObject();
+            final JsonObject metric = result.getAsJsonObject("primaryMetric");
+            final String mode = result.get("mode").getAsString();
+
+            final StringBuilder key = new StringBuilder(result.get("benchmark").getAsString());
+            final JsonObject params = result.getAsJsonObject("params");
+
+            if (params != null) {
+                new TreeMap<>(params.asMap()).forEach((name, value) ->
+                        key.append(' ').append(name).append('=').append(value.getAsString()));
+            }
+
+            final JsonElement error = metric.get("scoreError");
+
+            scores.put(key.toString(), new Score(
+                    metric.get("score").getAsDouble(),
+                    error == null || !error.isJsonPrimitive() || !error.getAsJsonPrimitive().isNumber()
+                            ? 0.0
+                            : error.getAsDouble(),
+                    metric.get("scoreUnit").getAsString(),
+                    mode.equals("thrpt")
+            ));
+        }
+        return scores;
+    }
+
+    /**
+     * A primary score of one benchmark run
+     *
+     * @param score          The measured score
+     * @param error          Half width of the confidence interval, 0 when unknown
+     * @param unit           The score unit
+     * @param higherIsBetter Whether the mode measures throughput
+     */
+    private record Score(double score, double error, String unit, boolean higherIsBetter) {
+    }
+}
@@ -0,0 +1,54 @@
+package me.prism3.suicide.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+
+/**
+ * Entry point of benchmarks.jar.
+ * Takes the usual JMH arguments but writes JSON results to
+ * {@code jmh-result.json} unless told otherwise, so every run leaves a
+ * file that {@link BenchmarkDiff} can compare with an earlier release.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(final String[] args) throws IOException, RunnerException {
+        final CommandLineOptions options;
+
+        try {
+            options = new CommandLineOptions(args);
+        } catch (final CommandLineOptionException e) {
+            System.err.println("Error parsing command line: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+
+        // Listing and help output stays with JMH itself
+        if (options.shouldHelp() || options.shouldList() || options.shouldListWithParams()
+                || options.shouldListProfilers() || options.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        final ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+
+        // JMH names the file jmh-result.json when no -rff is given
+        if (!options.getResultFormat().hasValue())
+            builder.resultFormat(ResultFormatType.JSON);
+
+        new Runner(builder.build()).run();
+    }
+}
@@ -0,0 +1,78 @@
+package me.prism3.suicide.benchmarks;
+
+import me.prism3.suicide.utils.MessageTemplate;
+import me.prism3.suicide.utils.MessageTemplate.Placeholder;
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Random broadcast message selection and rendering.
+ * Compares shuffling the list, the random index over raw strings used in
+ * 1.5.1 and the random index over compiled templates used now.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BroadcastSelectionBenchmark {
+
+    private static final String PLAYER = "Prism3";
+
+    @Param({"3", "32"})
+    public int messageCount;
+
+    private List<String> raw;
+    private List<MessageTemplate> templates;
+
+    @Setup
+    public void setup() {
+        this.raw = new ArrayList<>(this.messageCount);
+
+        for (int i = 0; i < this.messageCount; i++)
+            this.raw.add("&c&l%player% has committed suicide! &7(#" + i + ")");
+
+        this.templates = this.raw.stream()
+                .map(message -> MessageTemplate.compile(message, Placeholder.PLAYER))
+                .toList();
+    }
+
+    @Benchmark
+    public String shuffle() {
+        final List<String> copy = new ArrayList<>(this.raw);
+        Collections.shuffle(copy);
+        return ChatColor.translateAlternateColorCodes('&', copy.get(0).replace("%player%", PLAYER));
+    }
+
+    @Benchmark
+    public String randomIndexLegacy() {
+        final String message = this.raw.get(ThreadLocalRandom.current().nextInt(this.raw.size()));
+        return ChatColor.translateAlternateColorCodes('&', message.replace("%player%", PLAYER));
+    }
+
+    @Benchmark
+    public String randomIndexTemplate() {
+        return this.templates.get(ThreadLocalRandom.current().nextInt(this.templates.size())).renderPlayer(PLAYER);
+    }
+}
@@ -0,0 +1,105 @@
+package me.prism3.suicide.benchmarks;
+
+import me.prism3.suicide.cooldown.CooldownTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Cooldown check and apply under contention.
+ * Three threads spam the command while a fourth reads remaining times, once
+ * against the {@link CooldownTable} and once against the 1.5.1 boxed map with
+ * its separate check and apply steps. A short cooldown makes most calls
+ * start a new cooldown, a long one makes most calls get denied.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Group)
+public class CooldownBenchmark {
+
+    private static final int PLAYERS = 1024;
+
+    @Param({"1", "60000"})
+    public long cooldownMillis;
+
+    private UUID[] players;
+    private CooldownTable table;
+    private Map<UUID, Long> map;
+
+    @Setup
+    public void setup() {
+        this.players = new UUID[PLAYERS];
+        this.table = new CooldownTable();
+        this.map = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < PLAYERS; i++)
+            this.players[i] = UUID.randomUUID();
+    }
+
+    @Benchmark
+    @Group("table")
+    @GroupThreads(3)
+    public long tableAcquire() {
+        final long now = System.currentTimeMillis();
+        return this.table.checkAndSet(this.player(), now, now + this.cooldownMillis);
+    }
+
+    @Benchmark
+    @Group("table")
+    @GroupThreads(1)
+    public long tableRemaining() {
+        return this.table.get(this.player()) - System.currentTimeMillis();
+    }
+
+    @Benchmark
+    @Group("map")
+    @GroupThreads(3)
+    public boolean mapAcquire() {
+        final UUID player = this.player();
+        final Long end = this.map.get(player);
+
+        if (end != null) {
+            if (end - System.currentTimeMillis() > 0)
+                return false;
+            this.map.remove(player, end);
+        }
+
+        this.map.put(player, System.currentTimeMillis() + this.cooldownMillis);
+        return true;
+    }
+
+    @Benchmark
+    @Group("map")
+    @GroupThreads(1)
+    public long mapRemaining() {
+        final Long end = this.map.get(this.player());
+        return end == null ? 0L : end - System.currentTimeMillis();
+    }
+
+    private UUID player() {
+        return this.players[ThreadLocalRandom.current().nextInt(PLAYERS)];
+    }
+}
@@ -0,0 +1,53 @@
+package me.prism3.suicide.benchmarks;
+
+import me.prism3.suicide.benchmarks.stub.StubConfigSource;
+import me.prism3.suicide.utils.Data;
+import me.prism3.suicide.utils.Settings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Building a settings snapshot from the bundled config, the work done on
+ * startup and on every {@code /suicide reload}. The YAML is parsed once in
+ * setup, so this measures validation and template compilation.
+ * The sound is disabled since its registry lookup needs a running server.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DataLoadBenchmark {
+
+    private Data data;
+
+    @Setup
+    public void setup() throws IOException {
+        final StubConfigSource source = StubConfigSource.create();
+        source.getConfig().set("Sound.Enabled", false);
+
+        this.data = new Data(source);
+    }
+
+    @Benchmark
+    public Settings load() {
+        this.data.load();
+        return this.data.getSettings();
+    }
+}
@@ -0,0 +1,69 @@
+package me.prism3.suicide.benchmarks;
+
+import me.prism3.suicide.benchmarks.stub.StubServer;
+import me.prism3.suicide.effects.ProtectedFireworks;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * The protected firework lookup run by {@code EntityDamage} for every
+ * entity damaged by an entity. Most damage is not caused by one of our
+ * fireworks, so the miss path matters as much as the hit path. The
+ * contended variant models region threads checking damage at once on Folia.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FireworkCheckBenchmark {
+
+    @Param({"8", "512"})
+    public int tracked;
+
+    private ProtectedFireworks fireworks;
+
+    @Setup
+    public void setup() {
+        StubServer.install();
+        this.fireworks = new ProtectedFireworks();
+
+        // Even ids are protected, odd ids are any other entity
+        for (int i = 0; i < this.tracked; i++)
+            this.fireworks.add(i << 1);
+    }
+
+    @Benchmark
+    public boolean hit() {
+        return this.fireworks.contains(ThreadLocalRandom.current().nextInt(this.tracked) << 1);
+    }
+
+    @Benchmark
+    public boolean miss() {
+        return this.fireworks.contains((ThreadLocalRandom.current().nextInt(this.tracked) << 1) | 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean missContended() {
+        return this.fireworks.contains((ThreadLocalRandom.current().nextInt(this.tracked) << 1) | 1);
+    }
+}
@@ -0,0 +1,102 @@
+package me.prism3.suicide.benchmarks;
+
+import me.prism3.suicide.utils.MessageTemplate;
+import me.prism3.suicide.utils.MessageTemplate.Placeholder;
+import org.bukkit.ChatColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Message rendering, comparing the precompiled {@link MessageTemplate} against
+ * the per-call colorize and replace path it replaced.
+ * The legacy methods mirror the 1.5.1 command code line for line.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageBenchmark {
+
+    private static final String COOLDOWN = "&6You must wait %time% second(s) to execute this command!";
+    private static final String SUICIDE = "&cYou have committed suicide.";
+    private static final String LEGACY_COORDS = "&fYou suicided at: &cX: %d Y: %d Z: %d";
+    private static final String COORDS = "&fYou suicided at: &cX: %x% Y: %y% Z: %z%";
+
+    private MessageTemplate cooldown;
+    private MessageTemplate suicide;
+    private MessageTemplate coords;
+
+    @Setup
+    public void setup() {
+        this.cooldown = MessageTemplate.compile(COOLDOWN, Placeholder.TIME);
+        this.suicide = MessageTemplate.compile(SUICIDE);
+        this.coords = MessageTemplate.compile(COORDS, Placeholder.X, Placeholder.Y, Placeholder.Z);
+    }
+
+    @Benchmark
+    public String cooldownLegacy() {
+        return colorize(COOLDOWN.replace("%time%", String.valueOf(seconds())));
+    }
+
+    @Benchmark
+    public String cooldownTemplate() {
+        return this.cooldown.renderTime(seconds());
+    }
+
+    @Benchmark
+    public String suicideLegacy() {
+        return colorize(SUICIDE);
+    }
+
+    @Benchmark
+    public String suicideTemplate() {
+        return this.suicide.render();
+    }
+
+    @Benchmark
+    public String coordsLegacy() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        return colorize(String.format(LEGACY_COORDS, random.nextInt(-30000, 30000), random.nextInt(-64, 320),
+                random.nextInt(-30000, 30000)));
+    }
+
+    @Benchmark
+    public String coordsTemplate() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        return this.coords.renderCoords(random.nextInt(-30000, 30000), random.nextInt(-64, 320),
+                random.nextInt(-30000, 30000));
+    }
+
+    @Benchmark
+    public MessageTemplate compile() {
+        return MessageTemplate.compile(COOLDOWN, Placeholder.TIME);
+    }
+
+    /**
+     * Remaining cooldown seconds, varied so the number is never constant folded
+     */
+    private static long seconds() {
+        return ThreadLocalRandom.current().nextInt(1, 60);
+    }
+
+    private static String colorize(final String text) {
+        return ChatColor.translateAlternateColorCodes('&', text);
+    }
+}
@@ -0,0 +1,120 @@
+package me.prism3.suicide.benchmarks;
+
+import me.prism3.suicide.utils.Metrics;
+import me.prism3.suicide.utils.Metrics.JsonObjectBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * Serialization and compression of the bStats payload.
+ * The payload has the same shape as the one {@code Metrics} submits, with
+ * a configurable number of simple charts. Compression calls the Metrics
+ * class itself so changes to it are measured directly, next to the 1.5.1
+ * path that gzipped the whole string into a byte array first.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsPayloadBenchmark {
+
+    @Param({"0", "8"})
+    public int charts;
+
+    private JsonObjectBuilder.JsonObject payload;
+
+    @Setup
+    public void setup() {
+        this.payload = this.build();
+    }
+
+    @Benchmark
+    public JsonObjectBuilder.JsonObject serialize() {
+        return this.build();
+    }
+
+    @Benchmark
+    public void gzipStreamed() throws IOException {
+        Metrics.MetricsBase.writeGzipped(this.payload, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public byte[] gzipLegacy() throws IOException {
+        return compress(this.payload.toString());
+    }
+
+    @Benchmark
+    public void serializeAndGzip() throws IOException {
+        Metrics.MetricsBase.writeGzipped(this.build(), OutputStream.nullOutputStream());
+    }
+
+    /**
+     * The 1.5.1 compression, kept for comparison
+     */
+    private static byte[] compress(final String str) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        try (GZIPOutputStream gzip = new GZIPOutputStream(outputStream)) {
+            gzip.write(str.getBytes(StandardCharsets.UTF_8));
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Builds the payload the way {@code MetricsBase.submitData} does
+     */
+    private JsonObjectBuilder.JsonObject build() {
+        final JsonObjectBuilder base = new JsonObjectBuilder()
+                .appendField("playerAmount", 137)
+                .appendField("onlineMode", 1)
+                .appendField("bukkitVersion", "git-Paper-232 (MC: 1.21.4)")
+                .appendField("bukkitName", "Paper")
+                .appendField("javaVersion", System.getProperty("java.version"))
+                .appendField("osName", System.getProperty("os.name"))
+                .appendField("osArch", System.getProperty("os.arch"))
+                .appendField("osVersion", System.getProperty("os.version"))
+                .appendField("coreCount", Runtime.getRuntime().availableProcessors());
+
+        final JsonObjectBuilder.JsonObject[] chartData = new JsonObjectBuilder.JsonObject[this.charts];
+
+        for (int i = 0; i < this.charts; i++) {
+            chartData[i] = new JsonObjectBuilder()
+                    .appendField("chartId", "chart_" + i)
+                    .appendField("data", new JsonObjectBuilder().appendField("value", "value \"" + i + '"').build())
+                    .build();
+        }
+
+        final JsonObjectBuilder service = new JsonObjectBuilder()
+                .appendField("pluginVersion", "1.5.2")
+                .appendField("id", 12345)
+                .appendField("customCharts", chartData);
+
+        return base
+                .appendField("service", service.build())
+                .appendField("serverUUID", "5d4f1b4e-8c1f-4a3c-9a53-3e5b0f4c2b1a")
+                .appendField("metricsVersion", Metrics.MetricsBase.METRICS_VERSION)
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+package me.prism3.suicide.benchmarks.stub;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.utils.ConfigSource;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Logger;
+
+
+/**
+ * Serves the bundled config.yml to {@link me.prism3.suicide.utils.Data}
+ * without a plugin instance or a data folder.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class StubConfigSource implements ConfigSource {
+
+    private final YamlConfiguration config;
+    private final Logger logger = Logger.getLogger("Suicide");
+
+    private StubConfigSource(final YamlConfiguration config) {
+        this.config = config;
+    }
+
+    /**
+     * Creates a source whose config is the bundled config.yml and installs the stub server
+     *
+     * @return The source, ready to be passed to {@code Data}
+     * @throws IOException If the config could not be read
+     */
+    public static StubConfigSource create() throws IOException {
+        StubServer.install();
+        return new StubConfigSource(loadBundledConfig());
+    }
+
+    /**
+     * The config is already loaded, there is no file to write
+     */
+    @Override
+    public void saveDefaultConfig() {}
+
+    @Override
+    public FileConfiguration getConfig() { return this.config; }
+
+    @Override
+    public Logger getLogger() { return this.logger; }
+
+    /**
+     * Loads the config.yml shipped in the plugin jar
+     */
+    private static YamlConfiguration loadBundledConfig() throws IOException {
+
+        try (InputStream in = Suicide.class.getResourceAsStream("/config.yml")) {
+
+            if (in == null)
+                throw new IOException("config.yml is missing from the plugin jar");
+
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                return YamlConfiguration.loadConfiguration(reader);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package me.prism3.suicide.benchmarks.stub;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.inventory.ItemFactory;
+import org.bukkit.inventory.meta.FireworkMeta;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+
+/**
+ * Headless stand-in for the Bukkit server.
+ * Every API call answers with an empty or zero value except the few the
+ * benchmarked code relies on, so the plugin classes run without a server.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class StubServer {
+
+    private static final Logger LOGGER = Logger.getLogger("StubServer");
+
+    private StubServer() {}
+
+    /**
+     * Installs the stub as the Bukkit server, does nothing if a server is already set
+     */
+    public static synchronized void install() {
+
+        if (Bukkit.getServer() != null)
+            return;
+
+        Bukkit.setServer(stub(Server.class, (proxy, method, args) -> switch (method.getName()) {
+            case "getName" -> "StubServer";
+            case "getVersion", "getBukkitVersion", "getMinecraftVersion" -> "1.21.4-R0.1-SNAPSHOT";
+            case "getLogger" -> LOGGER;
+            case "getItemFactory" -> itemFactory();
+            case "getOnlinePlayers" -> List.of();
+            default -> null;
+        }));
+    }
+
+    /**
+     * Item factory handing out firework metas that accept and ignore every change
+     */
+    private static ItemFactory itemFactory() {
+        return stub(ItemFactory.class, (proxy, method, args) -> method.getName().equals("getItemMeta")
+                ? stub(FireworkMeta.class, (meta, call, values) -> null)
+                : null);
+    }
+
+    /**
+     * Creates a proxy answering with the handler's result, or the type's empty value when it returns null
+     *
+     * @param type    The interface to implement
+     * @param handler Answers the calls the stub cares about
+     * @param <T>     The interface type
+     * @return The stub
+     */
+    public static <T> T stub(final Class<T> type, final InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName() + "Stub";
+                };
+            }
+
+            final Object result = handler.invoke(proxy, method, args);
+            return result != null ? result : emptyValue(method.getReturnType());
+        }));
+    }
+
+    /**
+     * Gets the value a stubbed method returns by default
+     */
+    private static Object emptyValue(final Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == char.class) return '\0';
+        if (type == byte.class) return (byte) 0;
+        if (type == short.class) return (short) 0;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == float.class) return 0f;
+        if (type == double.class) return 0d;
+        if (type == List.class) return Collections.emptyList();
+        if (type == Set.class) return Collections.emptySet();
+        if (type == Map.class) return Collections.emptyMap();
+        return null;
+    }
+}
@@ -0,0 +1,258 @@
+package me.prism3.suicide.loadtest;
+
+import me.prism3.suicide.Suicide;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.CommandExecutor;
+import org.bukkit.command.PluginCommand;
+import org.bukkit.damage.DamageSource;
+import org.bukkit.damage.DamageType;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Firework;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+import org.bukkit.event.entity.FireworkExplodeEvent;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+
+/**
+ * Calls into the plugin on behalf of the simulated players and measures it.
+ * Commands go straight to the suicide command executor, deaths follow from
+ * the mock server killing the player, and firework damage and explosions
+ * are fired as events so {@code EntityDamage} and {@code FireworkExplode}
+ * see the same traffic they would on a server.
+ * <p>
+ * All calls run on the main thread. Tick times include the mock server work
+ * the plugin triggers, such as the death event and message delivery.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class LoadDriver {
+
+    /**
+     * Ticks a firework flies before it is exploded
+     */
+    private static final int FLIGHT_TICKS = 30;
+
+    private static final String[] NO_ARGS = new String[0];
+
+    private final ServerMock server;
+    private final Suicide plugin;
+    private final List<PlayerMock> players;
+    private final World world;
+    private final PluginCommand command;
+    private final CommandExecutor executor;
+    private final com.sun.management.ThreadMXBean threads;
+
+    /**
+     * Tick each known firework was first seen in
+     */
+    private final Map<Integer, Integer> launched = new HashMap<>();
+
+    private int tick;
+    private long tickNanos;
+    private long commands;
+    private long commandBytes;
+    private long damageEvents;
+    private long reloads;
+    private long moves;
+
+    /**
+     * Initializes a driver for the joined players
+     *
+     * @param server  The mock server
+     * @param plugin  The loaded plugin
+     * @param players The simulated players
+     */
+    public LoadDriver(final ServerMock server, final Suicide plugin, final List<PlayerMock> players) {
+        this.server = server;
+        this.plugin = plugin;
+        this.players = List.copyOf(players);
+        this.world = players.get(0).getWorld();
+        this.command = plugin.getCommand("suicide");
+
+        if (this.command == null || this.command.getExecutor() == null)
+            throw new IllegalStateException("The suicide command is not registered");
+
+        this.executor = this.command.getExecutor();
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    /**
+     * Makes every player run the command
+     */
+    public void commandAll() {
+        for (final PlayerMock player : this.players)
+            this.command(player);
+    }
+
+    /**
+     * Makes random players run the command
+     *
+     * @param count Number of commands to run
+     */
+    public void commandRandom(final int count) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < count; i++)
+            this.command(this.players.get(random.nextInt(this.players.size())));
+    }
+
+    /**
+     * Makes one slice of the players run the command
+     *
+     * @param slice  The slice, from 0 to {@code slices - 1}
+     * @param slices Number of slices the players are split into
+     */
+    public void commandSlice(final int slice, final int slices) {
+        for (int i = slice; i < this.players.size(); i += slices)
+            this.command(this.players.get(i));
+    }
+
+    /**
+     * Moves random players a small step, most steps stay within the block
+     *
+     * @param count Number of players to move
+     */
+    public void walkRandom(final int count) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < count; i++) {
+            final PlayerMock player = this.players.get(random.nextInt(this.players.size()));
+            final Location to = player.getLocation().add(random.nextDouble(-0.3, 0.3), 0.0,
+                    random.nextDouble(-0.3, 0.3));
+            final long start = System.nanoTime();
+
+            player.simulatePlayerMove(to);
+            this.tickNanos += System.nanoTime() - start;
+            this.moves++;
+        }
+    }
+
+    /**
+     * Reloads the plugin config, as {@code /suicide reload} does
+     */
+    public void reload() {
+        final long start = System.nanoTime();
+        this.plugin.reload();
+        this.tickNanos += System.nanoTime() - start;
+        this.reloads++;
+    }
+
+    /**
+     * Runs the command for a player, measuring what it allocates
+     */
+    private void command(final PlayerMock player) {
+        final long bytes = this.threads.getCurrentThreadAllocatedBytes();
+        final long start = System.nanoTime();
+
+        this.executor.onCommand(player, this.command, "suicide", NO_ARGS);
+
+        this.tickNanos += System.nanoTime() - start;
+        this.commandBytes += this.threads.getCurrentThreadAllocatedBytes() - bytes;
+        this.commands++;
+    }
+
+    /**
+     * Prepares the tick, respawning the players who died in the last one
+     */
+    public void beginTick() {
+        final long start = System.nanoTime();
+
+        for (final PlayerMock player : this.players) {
+            if (player.isDead()) player.respawn();
+        }
+
+        this.tickNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Fires the tick's damage and explosions, runs the scheduler and drains
+     * the players' chat
+     *
+     * @param damage Damage events to fire
+     * @return Nanoseconds spent in the tick
+     */
+    public long endTick(final int damage) {
+        final List<Firework> fireworks = this.world.getEntitiesByClass(Firework.class).stream().toList();
+        final long start = System.nanoTime();
+
+        this.damage(damage, fireworks);
+        this.explode(fireworks);
+        this.server.getScheduler().performOneTick();
+
+        final long nanos = this.tickNanos + System.nanoTime() - start;
+
+        // Chat is kept by the mock players, drop it so memory stays flat
+        for (final PlayerMock player : this.players) {
+            while (player.nextMessage() != null) {
+                // Discarded
+            }
+        }
+
+        this.tickNanos = 0L;
+        this.tick++;
+        return nanos;
+    }
+
+    /**
+     * Damages random players, half of the time with a flying firework
+     */
+    @SuppressWarnings("UnstableApiUsage")
+    private void damage(final int count, final List<Firework> fireworks) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        for (int i = 0; i < count; i++) {
+            final PlayerMock victim = this.players.get(random.nextInt(this.players.size()));
+            final Entity damager = !fireworks.isEmpty() && random.nextBoolean()
+                    ? fireworks.get(random.nextInt(fireworks.size()))
+                    : this.players.get(random.nextInt(this.players.size()));
+
+            this.server.getPluginManager().callEvent(new EntityDamageByEntityEvent(damager, victim,
+                    EntityDamageEvent.DamageCause.ENTITY_EXPLOSION,
+                    DamageSource.builder(DamageType.FIREWORKS).withDirectEntity(damager).build(),
+                    4.0));
+            this.damageEvents++;
+        }
+    }
+
+    /**
+     * Explodes and removes the fireworks whose flight is over
+     */
+    private void explode(final List<Firework> fireworks) {
+        final List<Firework> exploded = new ArrayList<>();
+
+        for (final Firework firework : fireworks) {
+            final int first = this.launched.computeIfAbsent(firework.getEntityId(), id -> this.tick);
+
+            if (this.tick - first >= FLIGHT_TICKS)
+                exploded.add(firework);
+        }
+
+        for (final Firework firework : exploded) {
+            this.server.getPluginManager().callEvent(new FireworkExplodeEvent(firework));
+            this.launched.remove(firework.getEntityId());
+            firework.remove();
+        }
+    }
+
+    public long getCommands() { return this.commands; }
+
+    public long getCommandBytes() { return this.commandBytes; }
+
+    public long getDamageEvents() { return this.damageEvents; }
+
+    public long getReloads() { return this.reloads; }
+
+    public long getMoves() { return this.moves; }
+}
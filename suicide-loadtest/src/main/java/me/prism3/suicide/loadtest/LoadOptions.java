@@ -0,0 +1,98 @@
+package me.prism3.suicide.loadtest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Load test options, given as {@code key=value} arguments.
+ *
+ * @param players       Players joined before the scenarios start
+ * @param ticks         Ticks each scenario runs for
+ * @param burstInterval Ticks between two bursts
+ * @param rate          Commands per tick in the steady scenario
+ * @param damage        Damage events per tick, half of them caused by a firework when one is around
+ * @param spread        Side of the square players are spread over, in blocks
+ * @param cooldown      Cooldown in seconds, 0 turns it off
+ * @param countdown     Confirmation countdown in seconds, 0 turns it off
+ * @param fireworks     Whether suicides launch a firework
+ * @param scenarios     Scenarios to run, in order
+ * @author Prism3
+ * @since 1.5.2
+ */
+public record LoadOptions(
+        int players,
+        int ticks,
+        int burstInterval,
+        int rate,
+        int damage,
+        int spread,
+        long cooldown,
+        int countdown,
+        boolean fireworks,
+        List<Scenario> scenarios
+) {
+
+    public LoadOptions {
+        scenarios = List.copyOf(scenarios);
+    }
+
+    /**
+     * Parses the options, using the defaults for anything not given
+     *
+     * @param args Arguments such as {@code players=500 scenarios=burst,steady}
+     * @return The parsed options
+     * @throws IllegalArgumentException If an argument is malformed or unknown
+     */
+    public static LoadOptions parse(final String[] args) {
+        final Map<String, String> values = new HashMap<>();
+
+        for (final String arg : args) {
+            final int split = arg.indexOf('=');
+
+            if (split <= 0)
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+
+            values.put(arg.substring(0, split).toLowerCase(Locale.ROOT), arg.substring(split + 1));
+        }
+
+        final int players = Math.max(1, intOf(values, "players", 500));
+        final LoadOptions options = new LoadOptions(
+                players,
+                Math.max(1, intOf(values, "ticks", 200)),
+                Math.max(1, intOf(values, "burst-interval", 20)),
+                Math.max(1, intOf(values, "rate", Math.max(1, players / 4))),
+                Math.max(0, intOf(values, "damage", 50)),
+                Math.max(16, intOf(values, "spread", 512)),
+                Math.max(0L, Long.parseLong(values.getOrDefault("cooldown", "0"))),
+                Math.max(0, intOf(values, "countdown", 0)),
+                Boolean.parseBoolean(values.getOrDefault("fireworks", "true")),
+                scenariosOf(values.getOrDefault("scenarios", "burst,steady,reload"))
+        );
+
+        values.keySet().removeAll(List.of("players", "ticks", "burst-interval", "rate", "damage", "spread",
+                "cooldown", "countdown", "fireworks", "scenarios"));
+
+        if (!values.isEmpty())
+            throw new IllegalArgumentException("Unknown options " + values.keySet());
+
+        return options;
+    }
+
+    private static int intOf(final Map<String, String> values, final String key, final int defaultValue) {
+        final String value = values.get(key);
+        return value == null ? defaultValue : Integer.parseInt(value);
+    }
+
+    private static List<Scenario> scenariosOf(final String value) {
+        final List<Scenario> scenarios = new ArrayList<>();
+
+        for (final String name : value.split(","))
+            scenarios.add(Scenario.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+
+        return scenarios;
+    }
+}
@@ -0,0 +1,217 @@
+package me.prism3.suicide.loadtest;
+
+import me.prism3.suicide.Suicide;
+import me.prism3.suicide.effects.FireworkLimiter;
+import me.prism3.suicide.monitoring.PluginMetrics;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Headless load test running the plugin on a MockBukkit server.
+ * Joins the simulated players, spreads them over the world and runs each
+ * requested {@link Scenario}, printing a {@link PhaseReport} after each.
+ * <p>
+ * Usage: {@code java -jar loadtest.jar [players=500] [ticks=200] [scenarios=burst,steady,reload] ...},
+ * see {@link LoadOptions} for every option.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class LoadTest {
+
+    /**
+     * How long a single tick may run before the watchdog gives up on it
+     */
+    private static final long STALL_MILLIS = 30_000L;
+
+    /**
+     * Ticks run so far, watched for stalls
+     */
+    private static final AtomicLong PROGRESS = new AtomicLong();
+
+    private LoadTest() {}
+
+    public static void main(final String[] args) {
+        final LoadOptions options;
+
+        try {
+            options = LoadOptions.parse(args);
+        } catch (final IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: LoadTest [players=500] [ticks=200] [burst-interval=20] [rate=players/4]"
+                    + " [damage=50] [spread=512] [cooldown=0] [countdown=0] [fireworks=true]"
+                    + " [scenarios=burst,steady,reload,countdown]");
+            System.exit(2);
+            return;
+        }
+
+        final ServerMock server = MockBukkit.mock();
+        watch(Thread.currentThread());
+
+        try {
+            final Suicide plugin = MockBukkit.load(Suicide.class);
+            configure(plugin, options);
+
+            final LoadDriver driver = new LoadDriver(server, plugin, join(server, options));
+
+            for (final Scenario scenario : options.scenarios())
+                run(scenario, driver, plugin, options).print(System.out);
+        } finally {
+            MockBukkit.unmock();
+        }
+
+        // bStats and the update checker leave non-daemon threads behind
+        System.exit(0);
+    }
+
+    /**
+     * Dumps the main thread and exits if a tick stalls, so a deadlock in the
+     * plugin fails the run instead of hanging it
+     */
+    private static void watch(final Thread main) {
+        final Thread watchdog = new Thread(() -> {
+            long seen = -1L;
+
+            while (true) {
+                try {
+                    Thread.sleep(STALL_MILLIS);
+                } catch (final InterruptedException e) {
+                    return;
+                }
+
+                final long progress = PROGRESS.get();
+
+                if (progress == seen) {
+                    System.err.println("Tick " + progress + " stalled for over " + STALL_MILLIS / 1000
+                            + " s, main thread:");
+                    for (final StackTraceElement element : main.getStackTrace())
+                        System.err.println("\tat " + element);
+
+                    Runtime.getRuntime().halt(1);
+                }
+                seen = progress;
+            }
+        }, "LoadTest Watchdog");
+
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    /**
+     * Applies the options to the plugin config and reloads it
+     */
+    private static void configure(final Suicide plugin, final LoadOptions options) {
+        final FileConfiguration config = plugin.getConfig();
+
+        config.set("Cooldown.Enabled", options.cooldown() > 0);
+        config.set("Cooldown.Timer", options.cooldown());
+        config.set("Countdown.Enabled", options.countdown() > 0);
+        config.set("Countdown.Seconds", Math.max(1, options.countdown()));
+        config.set("Firework.Enabled", options.fireworks());
+
+        plugin.saveConfig();
+        plugin.reload();
+    }
+
+    /**
+     * Joins the players and spreads them over a square around the origin
+     */
+    private static List<PlayerMock> join(final ServerMock server, final LoadOptions options) {
+        final List<PlayerMock> players = new ArrayList<>(options.players());
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final int half = options.spread() / 2;
+
+        for (int i = 0; i < options.players(); i++) {
+            final PlayerMock player = server.addPlayer("Player" + i);
+            final World world = player.getWorld();
+
+            player.teleport(new Location(world, random.nextInt(-half, half), 64, random.nextInt(-half, half)));
+            players.add(player);
+        }
+        return players;
+    }
+
+    /**
+     * Runs a scenario and collects its report
+     */
+    private static PhaseReport run(final Scenario scenario, final LoadDriver driver, final Suicide plugin,
+                                   final LoadOptions options) {
+        final PluginMetrics metrics = plugin.getPluginMetrics();
+        final FireworkLimiter limiter = plugin.getFireworkLimiter();
+        final long[] fireworks = fireworks(limiter);
+        final long commands = driver.getCommands();
+        final long bytes = driver.getCommandBytes();
+        final long damage = driver.getDamageEvents();
+        final long reloads = driver.getReloads();
+        final long moves = driver.getMoves();
+        final long cancelled = metrics.getDenials(PluginMetrics.Denial.COUNTDOWN_CANCELLED);
+        final long suicides = metrics.getSuicides();
+        final long cooldowns = metrics.getDenials(PluginMetrics.Denial.COOLDOWN);
+        final long[] ticks = new long[options.ticks()];
+
+        for (int tick = 0; tick < ticks.length; tick++) {
+            driver.beginTick();
+            scenario.tick(driver, options, tick);
+            ticks[tick] = driver.endTick(options.damage());
+            PROGRESS.incrementAndGet();
+        }
+
+        final long[] fireworksAfter = fireworks(limiter);
+        for (int i = 0; i < fireworks.length; i++)
+            fireworksAfter[i] -= fireworks[i];
+
+        return new PhaseReport(
+                scenario,
+                options.players(),
+                ticks,
+                driver.getCommands() - commands,
+                driver.getCommandBytes() - bytes,
+                metrics.getSuicides() - suicides,
+                metrics.getDenials(PluginMetrics.Denial.COOLDOWN) - cooldowns,
+                metrics.getDenials(PluginMetrics.Denial.COUNTDOWN_CANCELLED) - cancelled,
+                driver.getDamageEvents() - damage,
+                driver.getReloads() - reloads,
+                driver.getMoves() - moves,
+                fireworksAfter,
+                sizes(plugin)
+        );
+    }
+
+    /**
+     * Reads the firework limiter counters
+     */
+    private static long[] fireworks(final FireworkLimiter limiter) {
+        return new long[] { limiter.getSpawned(), limiter.getChunkDropped(), limiter.getSuppressed() };
+    }
+
+    /**
+     * Reads the sizes of the plugin's internal maps
+     */
+    private static Map<String, Integer> sizes(final Suicide plugin) {
+        final Map<String, Integer> sizes = new LinkedHashMap<>();
+
+        sizes.put("cooldowns", plugin.getCooldowns().size());
+        sizes.put("sessions", plugin.getSessions().size());
+        sizes.put("countdowns", plugin.getCountdowns().size());
+        sizes.put("chunk-index", plugin.getSessions().getIndex().size());
+        sizes.put("tracked-suicides", plugin.getSuicides().size());
+        sizes.put("protected-fireworks", plugin.getProtectedFireworks().size());
+        sizes.put("stats", plugin.getStats().size());
+        sizes.put("stats-pending", plugin.getStats().getPendingCount());
+        sizes.put("heatmap-cells", plugin.getHeatmap().size());
+
+        return sizes;
+    }
+}
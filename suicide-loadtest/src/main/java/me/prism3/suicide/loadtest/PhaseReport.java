@@ -0,0 +1,97 @@
+package me.prism3.suicide.loadtest;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Results of one scenario run.
+ *
+ * @param scenario     The scenario that ran
+ * @param players      Simulated players
+ * @param tickNanos    Nanoseconds spent in each tick
+ * @param commands     Commands run
+ * @param commandBytes Bytes allocated while running them
+ * @param suicides     Commands that ended in a suicide
+ * @param cooldowns    Commands denied by the cooldown
+ * @param cancelled    Countdowns cancelled by moving or damage
+ * @param damage       Damage events fired
+ * @param reloads      Config reloads
+ * @param moves        Player moves simulated
+ * @param fireworks    Fireworks spawned, dropped by the per-chunk budget and dropped by the per-tick budget
+ * @param sizes        Internal map sizes at the end of the run
+ * @author Prism3
+ * @since 1.5.2
+ */
+public record PhaseReport(
+        Scenario scenario,
+        int players,
+        long[] tickNanos,
+        long commands,
+        long commandBytes,
+        long suicides,
+        long cooldowns,
+        long cancelled,
+        long damage,
+        long reloads,
+        long moves,
+        long[] fireworks,
+        Map<String, Integer> sizes
+) {
+
+    /**
+     * Tick budget of a server running at 20 TPS
+     */
+    private static final long TICK_BUDGET_NANOS = 50_000_000L;
+
+    public PhaseReport {
+        tickNanos = tickNanos.clone();
+        fireworks = fireworks.clone();
+        sizes = Map.copyOf(sizes);
+    }
+
+    /**
+     * Prints the report in a human readable form
+     *
+     * @param out Receives the report
+     */
+    public void print(final PrintStream out) {
+        final long[] sorted = this.tickNanos.clone();
+        Arrays.sort(sorted);
+
+        final long total = Arrays.stream(sorted).sum();
+        final long overBudget = Arrays.stream(sorted).filter(nanos -> nanos > TICK_BUDGET_NANOS).count();
+
+        out.printf(Locale.ROOT, "== %s (%d ticks, %d players)%n", this.scenario, sorted.length, this.players);
+        out.printf(Locale.ROOT, "tick time    mean %.3f ms, p50 %.3f ms, p99 %.3f ms, max %.3f ms, %d over 50 ms%n",
+                millis(total / Math.max(1, sorted.length)), millis(percentile(sorted, 0.5)),
+                millis(percentile(sorted, 0.99)), millis(sorted.length == 0 ? 0L : sorted[sorted.length - 1]),
+                overBudget);
+        out.printf(Locale.ROOT, "commands     %d (%d suicides, %d on cooldown, %d countdowns cancelled),"
+                        + " %d bytes allocated per command%n",
+                this.commands, this.suicides, this.cooldowns, this.cancelled,
+                this.commands == 0 ? 0L : this.commandBytes / this.commands);
+        out.printf(Locale.ROOT, "events       %d damage, %d reloads, %d moves%n", this.damage, this.reloads, this.moves);
+        out.printf(Locale.ROOT, "fireworks    %d spawned, %d dropped per chunk, %d dropped per tick%n",
+                this.fireworks[0], this.fireworks[1], this.fireworks[2]);
+
+        final StringBuilder line = new StringBuilder("sizes       ");
+        this.sizes.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> line.append(' ').append(entry.getKey()).append('=').append(entry.getValue()));
+
+        out.println(line);
+        out.println();
+    }
+
+    private static long percentile(final long[] sorted, final double quantile) {
+        if (sorted.length == 0) return 0L;
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1)];
+    }
+
+    private static double millis(final long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
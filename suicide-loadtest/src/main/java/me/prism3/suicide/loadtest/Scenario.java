@@ -0,0 +1,77 @@
+package me.prism3.suicide.loadtest;
+
+/**
+ * Scripted load patterns, each driving one tick at a time.
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public enum Scenario {
+
+    /**
+     * Every player runs the command in the same tick, once per burst interval
+     */
+    BURST {
+        @Override
+        void tick(final LoadDriver driver, final LoadOptions options, final int tick) {
+            if (tick % options.burstInterval() == 0)
+                driver.commandAll();
+        }
+    },
+
+    /**
+     * A constant stream of commands from random players, mostly spam
+     */
+    STEADY {
+        @Override
+        void tick(final LoadDriver driver, final LoadOptions options, final int tick) {
+            driver.commandRandom(options.rate());
+        }
+    },
+
+    /**
+     * Bursts spread over a few ticks with a config reload in the middle of each
+     */
+    RELOAD {
+        @Override
+        void tick(final LoadDriver driver, final LoadOptions options, final int tick) {
+            final int offset = tick % Math.max(options.burstInterval(), SPREAD_TICKS);
+
+            if (offset >= SPREAD_TICKS)
+                return;
+
+            if (offset == SPREAD_TICKS / 2)
+                driver.reload();
+
+            driver.commandSlice(offset, SPREAD_TICKS);
+        }
+    },
+
+    /**
+     * Bursts while random players walk around, run with {@code countdown=5} so
+     * most players wait in a countdown and the walkers leaving their block cancel theirs
+     */
+    COUNTDOWN {
+        @Override
+        void tick(final LoadDriver driver, final LoadOptions options, final int tick) {
+            if (tick % options.burstInterval() == 0)
+                driver.commandAll();
+
+            driver.walkRandom(options.rate());
+        }
+    };
+
+    /**
+     * Ticks a burst of the reload scenario is spread over
+     */
+    private static final int SPREAD_TICKS = 10;
+
+    /**
+     * Drives the plugin for one tick
+     *
+     * @param driver  The driver calling into the plugin
+     * @param options The load test options
+     * @param tick    Tick number within the scenario, starting at 0
+     */
+    abstract void tick(LoadDriver driver, LoadOptions options, int tick);
+}
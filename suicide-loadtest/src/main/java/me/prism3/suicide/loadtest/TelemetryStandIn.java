@@ -0,0 +1,355 @@
+package me.prism3.suicide.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import me.prism3.suicide.utils.Metrics;
+import me.prism3.suicide.utils.Metrics.JsonObjectBuilder;
+import me.prism3.suicide.utils.MetricsSpool;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+
+/**
+ * Local stand-in for the bStats endpoint.
+ * Accepts gzipped JSON posts on localhost and keeps what it received. Run
+ * on its own it prints every payload, so a server started with
+ * {@code -Dbstats.reporturl=http://127.0.0.1:<port>/%s} can be watched;
+ * typing {@code down} and {@code up} takes it offline and back, answering
+ * 503 meanwhile, to watch the plugin spool and retry. With {@code check} it
+ * posts a payload through {@code Metrics} itself and verifies the round trip,
+ * with {@code spool-check} it goes down and up under a {@link MetricsSpool}
+ * and verifies the retry, the dropping of rejected payloads and the size and
+ * age caps.
+ * <p>
+ * Usage: {@code java -cp loadtest.jar me.prism3.suicide.loadtest.TelemetryStandIn [port=8765] [check|spool-check]}
+ *
+ * @author Prism3
+ * @since 1.5.2
+ */
+public final class TelemetryStandIn implements AutoCloseable {
+
+    private final HttpServer server;
+    private final List<String> received = new ArrayList<>();
+    private final boolean print;
+
+    /**
+     * Status answered to every post, 200 while up
+     */
+    private volatile int status = 200;
+
+    /**
+     * Starts the stand-in
+     *
+     * @param port  Port on localhost, 0 for any free port
+     * @param print Whether received payloads are printed
+     * @throws IOException If the port could not be bound
+     */
+    public TelemetryStandIn(final int port, final boolean print) throws IOException {
+        this.print = print;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext("/", this::handle);
+        this.server.start();
+    }
+
+    public static void main(final String[] args) throws Exception {
+        int port = 8765;
+        String check = null;
+
+        for (final String arg : args) {
+            if (arg.equals("check") || arg.equals("spool-check")) check = arg;
+            else if (arg.startsWith("port=")) port = Integer.parseInt(arg.substring(5));
+            else throw new IllegalArgumentException("Unknown option " + arg);
+        }
+
+        if (check == null) {
+            listen(port);
+            return;
+        }
+
+        try (TelemetryStandIn standIn = new TelemetryStandIn(0, false)) {
+            if (check.equals("check")) checkRoundTrip(standIn);
+            else checkSpool(standIn);
+        }
+    }
+
+    /**
+     * Serves until stdin closes, toggling on {@code up} and {@code down} lines
+     */
+    private static void listen(final int port) throws IOException {
+        try (TelemetryStandIn standIn = new TelemetryStandIn(port, true);
+             BufferedReader input = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))) {
+            System.out.println("Listening on " + standIn.getReportUrl() + ", type down or up to toggle");
+
+            String line;
+            while ((line = input.readLine()) != null) {
+                switch (line.trim()) {
+                    case "up" -> standIn.setUp(true);
+                    case "down" -> standIn.setUp(false);
+                    default -> {
+                        continue;
+                    }
+                }
+                System.out.println(standIn.isUp() ? "Up" : "Down, answering 503");
+            }
+        }
+    }
+
+    /**
+     * Posts a payload and checks it arrives unchanged
+     */
+    private static void checkRoundTrip(final TelemetryStandIn standIn) throws IOException {
+        final JsonObjectBuilder.JsonObject payload = samplePayload(42);
+        Metrics.MetricsBase.post(String.format(standIn.getReportUrl(), "bukkit"), payload);
+
+        check(List.of(payload.toString()).equals(standIn.getReceived()), "Payload mismatch: " + standIn.getReceived());
+        System.out.println("Round trip OK, " + payload.toString().length() + " chars");
+    }
+
+    /**
+     * Spools payloads while the stand-in is down and checks they arrive in
+     * order once it is up, and that the spool stays within its caps
+     */
+    private static void checkSpool(final TelemetryStandIn standIn) throws IOException, InterruptedException {
+        final String url = String.format(standIn.getReportUrl(), "bukkit");
+        final File directory = Files.createTempDirectory("suicide-spool").toFile();
+
+        try {
+            final MetricsSpool spool = new MetricsSpool(directory, 1024 * 1024, 60_000L);
+            final List<String> expected = new ArrayList<>();
+            spool.load();
+
+            standIn.setUp(false);
+            for (int i = 0; i < 3; i++) {
+                final JsonObjectBuilder.JsonObject payload = samplePayload(i);
+                spool.offer(payload);
+                expected.add(payload.toString());
+            }
+
+            check(!sends(spool, url), "Send succeeded while the stand-in was down");
+            check(spool.size() == 3, "Spooled " + spool.size() + " of 3");
+
+            long previous = 0L;
+            for (int attempt = 0; attempt < 8; attempt++) {
+                final long delay = spool.nextRetryDelay();
+                final long backoff = Math.min(30 * 60_000L, 60_000L << Math.min(attempt, 5));
+
+                check(delay >= backoff / 2 && delay <= backoff, "Delay " + delay + " outside the backoff " + backoff);
+                System.out.printf("retry %d after %.1f s%n", attempt + 1, delay / 1000.0);
+                previous = delay;
+            }
+
+            // A restart picks the spool up, a partial write is dropped
+            Files.createFile(new File(directory, "0000000000000-000000.json.gz.tmp").toPath());
+            final MetricsSpool restarted = new MetricsSpool(directory, 1024 * 1024, 60_000L);
+            restarted.load();
+            check(restarted.size() == 3, "Reloaded " + restarted.size() + " of 3");
+            check(fileCount(directory) == 3, "Partial write left behind");
+
+            standIn.setUp(true);
+            check(drain(restarted, url) == 3, "Not every spooled payload was sent");
+            check(expected.equals(standIn.getReceived()), "Payloads out of order: " + standIn.getReceived());
+            check(restarted.isEmpty() && fileCount(directory) == 0, "Sent payloads left on disk");
+
+            final long sendDelay = restarted.nextSendDelay();
+            check(sendDelay >= 30 * 60_000L, "Spooled payloads sent " + sendDelay + " ms apart");
+            System.out.println("Spool retry OK, 3 payloads delivered in order after the outage, last delay "
+                    + previous + " ms, " + sendDelay / 1000 + " s apart once up");
+
+            // A rejected payload is dropped instead of blocking the ones behind it
+            restarted.offer(samplePayload(7));
+            restarted.offer(samplePayload(8));
+            standIn.clear();
+            standIn.setStatus(400);
+            check(rejects(restarted, url), "A 400 was not reported as a rejection");
+            check(restarted.size() == 1 && restarted.getRejected() == 1, "Rejected payload kept");
+            standIn.setStatus(429);
+            check(!sends(restarted, url) && restarted.size() == 1, "A rate limited payload was dropped");
+            standIn.setUp(true);
+            check(restarted.sendOldest(url) && standIn.getReceived().equals(List.of(samplePayload(8).toString())),
+                    "Payload behind the rejected one not sent");
+            System.out.println("Spool rejection OK, a 400 drops the payload, a 429 keeps it");
+
+            // Size cap keeps the newest payloads
+            final long payloadBytes = gzippedSize(samplePayload(0));
+            final MetricsSpool small = new MetricsSpool(directory, payloadBytes * 2 + payloadBytes / 2, 60_000L);
+            small.load();
+            for (int i = 0; i < 5; i++) small.offer(samplePayload(i));
+
+            check(small.size() == 2 && small.getDropped() == 3, "Size cap kept " + small.size());
+            check(small.getBytes() <= payloadBytes * 2 + payloadBytes / 2, "Spool over its size: " + small.getBytes());
+            standIn.clear();
+            drain(small, url);
+            check(standIn.getReceived().equals(List.of(samplePayload(3).toString(), samplePayload(4).toString())),
+                    "Size cap dropped the newest payloads");
+
+            // Age cap drops stale payloads before sending
+            final MetricsSpool shortLived = new MetricsSpool(directory, 1024 * 1024, 1L);
+            shortLived.load();
+            shortLived.offer(samplePayload(0));
+            Thread.sleep(10L);
+            standIn.clear();
+            check(!shortLived.sendOldest(url) && shortLived.getDropped() == 1, "Stale payload was sent");
+            check(standIn.getReceived().isEmpty() && fileCount(directory) == 0, "Stale payload left behind");
+
+            System.out.println("Spool caps OK, " + small.getDropped() + " dropped for size, "
+                    + shortLived.getDropped() + " for age");
+        } finally {
+            try (Stream<Path> files = Files.walk(directory.toPath())) {
+                files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+            }
+        }
+    }
+
+    private static boolean sends(final MetricsSpool spool, final String url) {
+        try {
+            return spool.sendOldest(url);
+        } catch (final IOException e) {
+            return false;
+        }
+    }
+
+    private static boolean rejects(final MetricsSpool spool, final String url) throws IOException {
+        try {
+            spool.sendOldest(url);
+            return false;
+        } catch (final Metrics.MetricsBase.RejectedException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Sends every spooled payload back to back, which only the check does
+     */
+    private static int drain(final MetricsSpool spool, final String url) throws IOException {
+        int sent = 0;
+        while (spool.sendOldest(url)) sent++;
+        return sent;
+    }
+
+    private static long gzippedSize(final JsonObjectBuilder.JsonObject payload) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Metrics.MetricsBase.writeGzipped(payload, out);
+        return out.size();
+    }
+
+    private static int fileCount(final File directory) {
+        final String[] names = directory.list();
+        return names == null ? 0 : names.length;
+    }
+
+    private static void check(final boolean condition, final String message) {
+        if (!condition) throw new IllegalStateException(message);
+    }
+
+    /**
+     * Gets the report url format to pass as {@code bstats.reporturl}
+     *
+     * @return The url with a {@code %s} platform placeholder
+     */
+    public String getReportUrl() {
+        return "http://127.0.0.1:" + this.server.getAddress().getPort() + "/%s";
+    }
+
+    /**
+     * Gets the payloads received so far
+     *
+     * @return Decoded payloads in arrival order
+     */
+    public synchronized List<String> getReceived() { return List.copyOf(this.received); }
+
+    /**
+     * Forgets the payloads received so far
+     */
+    public synchronized void clear() { this.received.clear(); }
+
+    /**
+     * Takes the stand-in offline or back, it answers 503 while down
+     *
+     * @param up Whether payloads are accepted
+     */
+    public void setUp(final boolean up) { this.status = up ? 200 : 503; }
+
+    public boolean isUp() { return this.status == 200; }
+
+    /**
+     * Sets the status answered to every post
+     *
+     * @param status An HTTP status, payloads are only kept with 200
+     */
+    public void setStatus(final int status) { this.status = status; }
+
+    @Override
+    public void close() {
+        this.server.stop(0);
+    }
+
+    private void handle(final HttpExchange exchange) throws IOException {
+        try (exchange) {
+            final String body;
+
+            try (InputStream in = new GZIPInputStream(exchange.getRequestBody())) {
+                body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            }
+
+            final int status = this.status;
+
+            if (status != 200) {
+                if (this.print) System.out.println(exchange.getRequestURI() + " refused with " + status);
+                exchange.sendResponseHeaders(status, -1);
+                return;
+            }
+
+            synchronized (this) {
+                this.received.add(body);
+            }
+
+            if (this.print)
+                System.out.println(exchange.getRequestURI() + " " + body);
+
+            final byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        }
+    }
+
+    /**
+     * Builds a payload with every chart type and characters needing escapes
+     *
+     * @param suicides Value of the suicides chart, telling payloads apart
+     */
+    private static JsonObjectBuilder.JsonObject samplePayload(final int suicides) {
+        final JsonObjectBuilder.JsonObject[] charts = {
+                new JsonObjectBuilder().appendField("chartId", "suicides")
+                        .appendField("data", new JsonObjectBuilder().appendField("value", suicides).build()).build(),
+                new JsonObjectBuilder().appendField("chartId", "features")
+                        .appendField("data", new JsonObjectBuilder().appendField("values",
+                                new JsonObjectBuilder().appendField("Broadcast", 1).appendField("Cooldown", 1).build())
+                                .build()).build()
+        };
+
+        return new JsonObjectBuilder()
+                .appendField("bukkitVersion", "Stand-in \"1.21.4\" \\ é")
+                .appendField("service", new JsonObjectBuilder().appendField("id", 11664)
+                        .appendField("customCharts", charts).build())
+                .build();
+    }
+}